@@ -0,0 +1,55 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.base.BaseDateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and latency percentiles of the Gregorian accessors of BadiDate.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessorBenchmark {
+
+	@Benchmark
+	public Calendar getCalendar(final HolydayBenchmark.Dates dates) {
+		return dates.dates[dates.next()].getCalendar();
+	}
+
+	@Benchmark
+	public BaseDateTime getDateTime(final HolydayBenchmark.Dates dates) {
+		return dates.dates[dates.next()].getDateTime();
+	}
+
+	@Benchmark
+	public LocalDate toLocalDate(final HolydayBenchmark.Dates dates) {
+		return dates.dates[dates.next()].toLocalDate();
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiDate;
+import de.pezeshki.bahaiCalendarLibrary.BadiDateCodec;
+import de.pezeshki.bahaiCalendarLibrary.PackedBadiDate;
+
+/**
+ * Throughput of encoding and decoding ConversionBenchmark.SAMPLES dates per
+ * operation to and from a direct buffer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+	@State(Scope.Thread)
+	public static class Dates {
+		final BadiDate[] dates = new BadiDate[ConversionBenchmark.SAMPLES];
+		final int[] packedDates = new int[ConversionBenchmark.SAMPLES];
+		final ByteBuffer buffer = ByteBuffer
+				.allocateDirect(ConversionBenchmark.SAMPLES
+						* BadiDateCodec.ENCODED_SIZE);
+
+		@Setup
+		public void setUp() {
+			final Random random = new Random(42);
+			for (int i = 0; i < dates.length; i++) {
+				dates[i] = BadiDate.createFromBadiYearAndDayOfYear(
+						1 + random.nextInt(BadiDate.UPPER_YEAR_LIMIT_BADI),
+						1 + random.nextInt(365));
+				packedDates[i] = PackedBadiDate.fromBadiDate(dates[i]);
+			}
+			BadiDateCodec.writeAll(dates, 0, dates.length, buffer);
+		}
+	}
+
+	@Benchmark
+	public ByteBuffer writeAll(final Dates dates) {
+		dates.buffer.clear();
+		BadiDateCodec.writeAll(dates.dates, 0, dates.dates.length,
+				dates.buffer);
+		return dates.buffer;
+	}
+
+	@Benchmark
+	public BadiDate[] readAll(final Dates dates) {
+		dates.buffer.clear();
+		BadiDateCodec.readAll(dates.buffer, dates.dates, 0,
+				dates.dates.length);
+		return dates.dates;
+	}
+
+	@Benchmark
+	public int[] readAllPacked(final Dates dates) {
+		dates.buffer.clear();
+		BadiDateCodec.readAllPacked(dates.buffer, dates.packedDates, 0,
+				dates.packedDates.length);
+		return dates.packedDates;
+	}
+}
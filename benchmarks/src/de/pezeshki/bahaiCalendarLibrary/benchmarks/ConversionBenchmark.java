@@ -0,0 +1,179 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiDate;
+import de.pezeshki.bahaiCalendarLibrary.BahaiHolyday;
+import de.pezeshki.bahaiCalendarLibrary.PackedBadiDate;
+
+/**
+ * Throughput and latency percentiles of the BadiDate factory methods. Every
+ * invocation converts the next date of a random sample of the supported
+ * range.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+	static final int SAMPLES = 1024;
+
+	@State(Scope.Thread)
+	public static class Dates {
+		final int[] badiYears = new int[SAMPLES];
+		final int[] badiMonths = new int[SAMPLES];
+		final int[] badiDays = new int[SAMPLES];
+		final int[] badiDoys = new int[SAMPLES];
+		final int[] years = new int[SAMPLES];
+		final int[] months = new int[SAMPLES];
+		final int[] days = new int[SAMPLES];
+		final long[] epochDays = new long[SAMPLES];
+		final LocalDate[] localDates = new LocalDate[SAMPLES];
+		final Calendar[] calendars = new Calendar[SAMPLES];
+		final DateTime[] dateTimes = new DateTime[SAMPLES];
+		final long[] epochMillis = new long[SAMPLES];
+		final double[] latitudes = new double[SAMPLES];
+		final double[] longitudes = new double[SAMPLES];
+		int next;
+
+		@Setup
+		public void setUp() {
+			final Random random = new Random(42);
+			final long first = LocalDate.of(1844, 1, 1).toEpochDay();
+			final long last = LocalDate.of(
+					BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR
+							+ BahaiHolyday.UPPER_YEAR_LIMIT_BADI, 12, 30)
+					.toEpochDay();
+			for (int i = 0; i < SAMPLES; i++) {
+				final LocalDate date = LocalDate.ofEpochDay(first
+						+ (long) (random.nextDouble() * (last - first)));
+				final BadiDate badiDate = BadiDate.createFromLocalDate(date);
+				badiYears[i] = badiDate.getBadiYear();
+				badiMonths[i] = badiDate.getBadiMonth();
+				badiDays[i] = badiDate.getBadiDay();
+				badiDoys[i] = badiDate.getBadiDayOfYear();
+				years[i] = date.getYear();
+				months[i] = date.getMonthValue();
+				days[i] = date.getDayOfMonth();
+				epochDays[i] = date.toEpochDay();
+				localDates[i] = date;
+				calendars[i] = new GregorianCalendar(date.getYear(),
+						date.getMonthValue() - 1, date.getDayOfMonth());
+				dateTimes[i] = new DateTime(date.getYear(),
+						date.getMonthValue(), date.getDayOfMonth(), 12, 0);
+				// a few dozen locations, as for clustered users
+				final int location = random.nextInt(64);
+				epochMillis[i] = date.toEpochDay() * 86400000L
+						+ random.nextInt(86400000);
+				latitudes[i] = location % 8 * 15 - 55;
+				longitudes[i] = location / 8 * 45 - 175;
+			}
+		}
+
+		int next() {
+			next = next + 1 & SAMPLES - 1;
+			return next;
+		}
+	}
+
+	@Benchmark
+	public BadiDate createFromBadiDate(final Dates dates) {
+		final int i = dates.next();
+		return BadiDate.createFromBadiDate(dates.badiYears[i],
+				dates.badiMonths[i], dates.badiDays[i]);
+	}
+
+	@Benchmark
+	public BadiDate createFromBadiYearAndDayOfYear(final Dates dates) {
+		final int i = dates.next();
+		return BadiDate.createFromBadiYearAndDayOfYear(dates.badiYears[i],
+				dates.badiDoys[i]);
+	}
+
+	@Benchmark
+	public BadiDate createFromGregorianCalendar(final Dates dates) {
+		return BadiDate.createFromGregorianCalendar(dates.calendars[dates
+				.next()]);
+	}
+
+	@Benchmark
+	public BadiDate createFromGregorianCalendarWithSunset(final Dates dates) {
+		return BadiDate.createFromGregorianCalendarWithSunset(
+				dates.calendars[dates.next()], true);
+	}
+
+	@Benchmark
+	public BadiDate createFromDateTime(final Dates dates) {
+		return BadiDate.createFromDateTime(dates.dateTimes[dates.next()]);
+	}
+
+	@Benchmark
+	public BadiDate createFromDateTimeWithSunset(final Dates dates) {
+		return BadiDate.createFromDateTimeWithSunset(
+				dates.dateTimes[dates.next()], true);
+	}
+
+	@Benchmark
+	public BadiDate createFromLocalDate(final Dates dates) {
+		return BadiDate.createFromLocalDate(dates.localDates[dates.next()]);
+	}
+
+	@Benchmark
+	public BadiDate createFromEpochDay(final Dates dates) {
+		return BadiDate.createFromEpochDay(dates.epochDays[dates.next()]);
+	}
+
+	@Benchmark
+	public BadiDate createFromGregorian(final Dates dates) {
+		final int i = dates.next();
+		return BadiDate.createFromGregorian(dates.years[i], dates.months[i],
+				dates.days[i]);
+	}
+
+	@Benchmark
+	public BadiDate createFromInstant(final Dates dates) {
+		final int i = dates.next();
+		return BadiDate.createFromInstant(dates.epochMillis[i],
+				dates.latitudes[i], dates.longitudes[i]);
+	}
+
+	@Benchmark
+	public int packedFromGregorian(final Dates dates) {
+		final int i = dates.next();
+		return PackedBadiDate.fromGregorian(dates.years[i], dates.months[i],
+				dates.days[i]);
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.text.ParsePosition;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiDate;
+import de.pezeshki.bahaiCalendarLibrary.BadiDateFormat;
+import de.pezeshki.bahaiCalendarLibrary.PackedBadiDate;
+
+/**
+ * Throughput and latency percentiles of formatting and parsing.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatBenchmark {
+
+	private static final BadiDateFormat NUMERIC = BadiDateFormat
+			.ofPattern("yyy-MM-dd");
+	private static final BadiDateFormat NAMES = BadiDateFormat
+			.ofPattern("d MMM y (V/v)");
+
+	@State(Scope.Thread)
+	public static class Dates {
+		final BadiDate[] dates = new BadiDate[ConversionBenchmark.SAMPLES];
+		final int[] packedDates = new int[ConversionBenchmark.SAMPLES];
+		final String[] texts = new String[ConversionBenchmark.SAMPLES];
+		final StringBuilder builder = new StringBuilder(64);
+		final ParsePosition position = new ParsePosition(0);
+		int next;
+
+		@Setup
+		public void setUp() {
+			final Random random = new Random(42);
+			for (int i = 0; i < dates.length; i++) {
+				dates[i] = BadiDate.createFromBadiYearAndDayOfYear(
+						1 + random.nextInt(BadiDate.UPPER_YEAR_LIMIT_BADI),
+						1 + random.nextInt(365));
+				packedDates[i] = PackedBadiDate.fromBadiDate(dates[i]);
+				texts[i] = NUMERIC.format(dates[i]);
+			}
+		}
+
+		int next() {
+			next = next + 1 & ConversionBenchmark.SAMPLES - 1;
+			return next;
+		}
+	}
+
+	@Benchmark
+	public StringBuilder formatNumeric(final Dates dates) {
+		dates.builder.setLength(0);
+		return NUMERIC.format(dates.dates[dates.next()], dates.builder);
+	}
+
+	@Benchmark
+	public StringBuilder formatNames(final Dates dates) {
+		dates.builder.setLength(0);
+		return NAMES.format(dates.dates[dates.next()], dates.builder);
+	}
+
+	@Benchmark
+	public StringBuilder formatPacked(final Dates dates) {
+		dates.builder.setLength(0);
+		return NUMERIC.formatPacked(dates.packedDates[dates.next()],
+				dates.builder);
+	}
+
+	@Benchmark
+	public String formatToString(final Dates dates) {
+		return NUMERIC.format(dates.dates[dates.next()]);
+	}
+
+	@Benchmark
+	public int parse(final Dates dates) {
+		dates.position.setIndex(0);
+		return NUMERIC.parse(dates.texts[dates.next()], dates.position);
+	}
+}
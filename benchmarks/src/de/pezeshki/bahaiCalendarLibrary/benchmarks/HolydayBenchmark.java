@@ -0,0 +1,102 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiDate;
+import de.pezeshki.bahaiCalendarLibrary.BadiYearInfo;
+import de.pezeshki.bahaiCalendarLibrary.BahaiHolyday;
+
+/**
+ * Throughput and latency percentiles of the holyday and feast lookups.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HolydayBenchmark {
+
+	@State(Scope.Thread)
+	public static class Dates {
+		final BadiDate[] dates = new BadiDate[ConversionBenchmark.SAMPLES];
+		final int[] holydayIndexes = new int[ConversionBenchmark.SAMPLES];
+		int next;
+
+		@Setup
+		public void setUp() {
+			final Random random = new Random(42);
+			for (int i = 0; i < dates.length; i++) {
+				dates[i] = BadiDate.createFromBadiYearAndDayOfYear(
+						1 + random.nextInt(BahaiHolyday.UPPER_YEAR_LIMIT_BADI - 1),
+						1 + random.nextInt(342));
+				holydayIndexes[i] = random.nextInt(11);
+			}
+		}
+
+		int next() {
+			next = next + 1 & ConversionBenchmark.SAMPLES - 1;
+			return next;
+		}
+	}
+
+	@Benchmark
+	public BadiDate getNextHolydayDate(final Dates dates) {
+		return dates.dates[dates.next()].getNextHolydayDate();
+	}
+
+	@Benchmark
+	public BadiDate getNextFeastDate(final Dates dates) {
+		return dates.dates[dates.next()].getNextFeastDate();
+	}
+
+	@Benchmark
+	public BahaiHolyday getHolyday(final Dates dates) {
+		final BadiDate date = dates.dates[dates.next()];
+		return BahaiHolyday.getHolyday(date.getBadiDayOfYear(),
+				date.getBadiYear());
+	}
+
+	@Benchmark
+	public int getDayOfYear(final Dates dates) {
+		final int i = dates.next();
+		return BahaiHolyday.getDayOfYear(dates.dates[i].getBadiYear(),
+				dates.holydayIndexes[i]);
+	}
+
+	@Benchmark
+	public void yearInfoFeastsAndHolydays(final Dates dates,
+			final Blackhole blackhole) {
+		final BadiYearInfo info = BadiYearInfo.of(dates.dates[dates.next()]
+				.getBadiYear());
+		blackhole.consume(info.getFeastEpochDays());
+		blackhole.consume(info.getHolydayEpochDays());
+	}
+}
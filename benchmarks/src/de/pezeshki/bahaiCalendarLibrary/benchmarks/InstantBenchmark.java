@@ -0,0 +1,99 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiDate;
+import de.pezeshki.bahaiCalendarLibrary.BadiInstantConverter;
+
+/**
+ * Throughput of converting ConversionBenchmark.SAMPLES sorted timestamps of
+ * about a month, as in an audit log, per operation. The Calendar benchmark is
+ * the per-event conversion the converter replaces.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstantBenchmark {
+
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+	@State(Scope.Thread)
+	public static class Instants {
+		final long[] epochMillis = new long[ConversionBenchmark.SAMPLES];
+		final long[] shuffledEpochMillis = new long[ConversionBenchmark.SAMPLES];
+		final BadiDate[] badiDates = new BadiDate[ConversionBenchmark.SAMPLES];
+		final BadiInstantConverter converter = BadiInstantConverter
+				.forZone(ZONE);
+
+		@Setup
+		public void setUp() {
+			final Random random = new Random(42);
+			final long start = LocalDate.of(2017, 3, 1).toEpochDay() * 86400000L;
+			for (int i = 0; i < epochMillis.length; i++) {
+				epochMillis[i] = start + (long) i * 30L * 86400000L
+						/ epochMillis.length;
+				shuffledEpochMillis[i] = start
+						+ (long) (random.nextDouble() * 200L * 365 * 86400000L);
+			}
+		}
+	}
+
+	@Benchmark
+	public BadiDate[] convertSorted(final Instants instants) {
+		instants.converter.convert(instants.epochMillis, instants.badiDates);
+		return instants.badiDates;
+	}
+
+	@Benchmark
+	public BadiDate[] convertShuffled(final Instants instants) {
+		instants.converter.convert(instants.shuffledEpochMillis,
+				instants.badiDates);
+		return instants.badiDates;
+	}
+
+	@Benchmark
+	public BadiDate[] convertWithCalendar(final Instants instants) {
+		for (int i = 0; i < instants.epochMillis.length; i++) {
+			final Calendar calendar = new GregorianCalendar(
+					TimeZone.getTimeZone(ZONE));
+			calendar.setTimeInMillis(instants.epochMillis[i]);
+			instants.badiDates[i] = BadiDate
+					.createFromGregorianCalendar(calendar);
+		}
+		return instants.badiDates;
+	}
+}
@@ -0,0 +1,150 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiDate;
+import de.pezeshki.bahaiCalendarLibrary.PackedBadiDate;
+
+/**
+ * Stress and throughput harness for concurrent conversions. For 1, 2, 4, ...
+ * threads up to the number of cores every thread converts random epoch days
+ * with BadiDate and PackedBadiDate for a fixed time and verifies every
+ * result. The throughput, the speedup over one thread and the efficiency
+ * (speedup / threads) are printed per thread count.
+ *
+ * Usage: ScalingHarness [maxThreads] [secondsPerRun]
+ */
+public final class ScalingHarness {
+
+	private static final int SAMPLES = 1 << 16;
+
+	private ScalingHarness() {
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+				: Runtime.getRuntime().availableProcessors();
+		final long seconds = args.length > 1 ? Long.parseLong(args[1]) : 3;
+
+		final int[] epochDays = new int[SAMPLES];
+		final Random random = new Random(42);
+		final int first = (int) LocalDate.of(1844, 1, 1).toEpochDay();
+		final int last = (int) LocalDate.of(BadiDate.UPPER_YEAR_LIMIT, 12, 31)
+				.toEpochDay();
+		for (int i = 0; i < SAMPLES; i++) {
+			epochDays[i] = first + random.nextInt(last - first + 1);
+		}
+
+		// warm up the JIT and the caches
+		run(epochDays, maxThreads, 1);
+
+		System.out.println("threads      ops/s  speedup  efficiency");
+		double single = 0;
+		for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(
+				threads, maxThreads)) {
+			final double opsPerSecond = run(epochDays, threads, seconds);
+			if (threads == 1) {
+				single = opsPerSecond;
+			}
+			final double speedup = opsPerSecond / single;
+			System.out.printf("%7d %10.0f %8.2f %10.2f%n", threads,
+					opsPerSecond, speedup, speedup / threads);
+		}
+	}
+
+	private static int nextThreadCount(final int threads, final int maxThreads) {
+		if (threads == maxThreads) {
+			return maxThreads + 1;
+		}
+		return Math.min(threads * 2, maxThreads);
+	}
+
+	/**
+	 * Runs the conversions with the number of threads and returns the
+	 * conversions per second.
+	 */
+	private static double run(final int[] epochDays, final int threads,
+			final long seconds) throws Exception {
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+		final long[] counts = new long[threads];
+		final List<Thread> workers = new ArrayList<Thread>();
+		final Throwable[] failure = new Throwable[1];
+		for (int i = 0; i < threads; i++) {
+			final int worker = i;
+			final Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						barrier.await();
+						counts[worker] = convert(epochDays, worker * 4099,
+								running);
+					} catch (final Throwable e) {
+						failure[0] = e;
+					}
+				}
+			});
+			thread.start();
+			workers.add(thread);
+		}
+		barrier.await();
+		final long start = System.nanoTime();
+		Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+		running.set(false);
+		for (final Thread thread : workers) {
+			thread.join();
+		}
+		final long elapsed = System.nanoTime() - start;
+		if (failure[0] != null) {
+			throw new IllegalStateException("Conversion failed", failure[0]);
+		}
+		long total = 0;
+		for (final long count : counts) {
+			total += count;
+		}
+		return total * 1e9 / elapsed;
+	}
+
+	private static long convert(final int[] epochDays, final int offset,
+			final AtomicBoolean running) {
+		long count = 0;
+		int index = offset;
+		while (running.get()) {
+			for (int i = 0; i < 1024; i++) {
+				index = index + 1 & SAMPLES - 1;
+				final int epochDay = epochDays[index];
+				final BadiDate date = BadiDate.createFromEpochDay(epochDay);
+				final int packed = PackedBadiDate.fromEpochDay(epochDay);
+				if (date.toEpochDay() != epochDay
+						|| PackedBadiDate.getBadiDayOfYear(packed) != date
+								.getBadiDayOfYear()) {
+					throw new IllegalStateException("Wrong conversion of "
+							+ epochDay);
+				}
+			}
+			count += 2048;
+		}
+		return count;
+	}
+}
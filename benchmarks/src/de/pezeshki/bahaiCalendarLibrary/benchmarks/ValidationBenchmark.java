@@ -0,0 +1,103 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiDate;
+import de.pezeshki.bahaiCalendarLibrary.BadiDateValidation;
+
+/**
+ * Throughput of converting ConversionBenchmark.SAMPLES Gregorian dates per
+ * operation of which the given percentage is invalid, with the throwing and
+ * the non-throwing factory and with the batch validator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+	@State(Scope.Thread)
+	public static class Dates {
+		@Param({ "0", "10", "50" })
+		int invalidPercent;
+
+		final int[] years = new int[ConversionBenchmark.SAMPLES];
+		final int[] months = new int[ConversionBenchmark.SAMPLES];
+		final int[] days = new int[ConversionBenchmark.SAMPLES];
+		final byte[] statuses = new byte[ConversionBenchmark.SAMPLES];
+
+		@Setup
+		public void setUp() {
+			final Random random = new Random(42);
+			for (int i = 0; i < years.length; i++) {
+				years[i] = 1844 + random.nextInt(BadiDate.UPPER_YEAR_LIMIT - 1844);
+				months[i] = 1 + random.nextInt(12);
+				days[i] = 1 + random.nextInt(28);
+				if (random.nextInt(100) < invalidPercent) {
+					days[i] = 32;
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public int createFromGregorian(final Dates dates) {
+		int invalid = 0;
+		for (int i = 0; i < dates.years.length; i++) {
+			try {
+				BadiDate.createFromGregorian(dates.years[i], dates.months[i],
+						dates.days[i]);
+			} catch (final IllegalArgumentException e) {
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+
+	@Benchmark
+	public int tryCreateFromGregorian(final Dates dates) {
+		int invalid = 0;
+		for (int i = 0; i < dates.years.length; i++) {
+			if (BadiDate.tryCreateFromGregorian(dates.years[i],
+					dates.months[i], dates.days[i]) == null) {
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+
+	@Benchmark
+	public int validateGregorian(final Dates dates) {
+		return BadiDateValidation.validateGregorian(dates.years, dates.months,
+				dates.days, dates.statuses);
+	}
+}
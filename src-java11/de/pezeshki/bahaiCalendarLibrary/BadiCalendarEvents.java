@@ -0,0 +1,154 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder events of the library (Java 11 and later). All events are
+ * disabled until a recording enables them, e.g.
+ * recording.enable(CONVERSION).withThreshold(Duration.ofMillis(1)); while
+ * disabled an event costs a check of its enabled flag. Slow conversions are
+ * only committed above the threshold of the recording (default 100 us).
+ */
+final class BadiCalendarEvents {
+
+	static final String CONVERSION = "de.pezeshki.bahaiCalendarLibrary.Conversion";
+	static final String VALIDATION_FAILURE = "de.pezeshki.bahaiCalendarLibrary.ValidationFailure";
+	static final String CACHE_REBUILD = "de.pezeshki.bahaiCalendarLibrary.CacheRebuild";
+
+	private static final String CATEGORY = "Bahai Calendar Library";
+
+	private BadiCalendarEvents() {
+	}
+
+	/**
+	 * Starts timing a conversion and returns the event to pass to
+	 * endConversion.
+	 */
+	static Object beginConversion() {
+		final ConversionEvent event = new ConversionEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the conversion event of the factory and returns the date.
+	 */
+	static BadiDate endConversion(final Object event, final Counter factory,
+			final BadiDate badiDate) {
+		final ConversionEvent conversion = (ConversionEvent) event;
+		conversion.end();
+		if (conversion.shouldCommit()) {
+			conversion.factory = factory.getName();
+			conversion.badiYear = badiDate.getBadiYear();
+			conversion.badiDayOfYear = badiDate.getBadiDayOfYear();
+			conversion.commit();
+		}
+		return badiDate;
+	}
+
+	/**
+	 * Records the rejected value of the validation rule.
+	 */
+	static void validationFailed(final Counter rule, final long value,
+			final String message) {
+		final ValidationFailureEvent event = new ValidationFailureEvent();
+		if (event.isEnabled()) {
+			event.rule = rule.getName();
+			event.value = value;
+			event.message = message;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Starts timing the rebuild of a cache entry and returns the event to pass
+	 * to endCacheRebuild.
+	 */
+	static Object beginCacheRebuild() {
+		final CacheRebuildEvent event = new CacheRebuildEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the rebuild event of the cache entry.
+	 */
+	static void endCacheRebuild(final Object event, final String cache,
+			final String key) {
+		final CacheRebuildEvent rebuild = (CacheRebuildEvent) event;
+		rebuild.end();
+		if (rebuild.shouldCommit()) {
+			rebuild.cache = cache;
+			rebuild.key = key;
+			rebuild.commit();
+		}
+	}
+
+	@Name(CONVERSION)
+	@Label("Badi Date Conversion")
+	@Description("A BadiDate factory call slower than the threshold")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@Threshold("100 us")
+	@StackTrace(true)
+	static final class ConversionEvent extends Event {
+		@Label("Factory")
+		String factory;
+		@Label("Badi Year")
+		int badiYear;
+		@Label("Badi Day of Year")
+		int badiDayOfYear;
+	}
+
+	@Name(VALIDATION_FAILURE)
+	@Label("Badi Validation Failure")
+	@Description("An argument rejected with an IllegalArgumentException")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(true)
+	static final class ValidationFailureEvent extends Event {
+		@Label("Rule")
+		String rule;
+		@Label("Value")
+		@Description("The rejected year, month, day or day of the year")
+		long value;
+		@Label("Message")
+		String message;
+	}
+
+	@Name(CACHE_REBUILD)
+	@Label("Badi Cache Rebuild")
+	@Description("An entry of an internal cache has been computed")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class CacheRebuildEvent extends Event {
+		@Label("Cache")
+		String cache;
+		@Label("Key")
+		String key;
+	}
+}
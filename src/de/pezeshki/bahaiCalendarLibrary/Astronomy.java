@@ -0,0 +1,246 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+/**
+ * Astronomical algorithms after Jean Meeus, Astronomical Algorithms (2nd
+ * edition). The longitude of the sun uses the truncated VSOP87 series of
+ * appendix III, which puts the equinox within a few seconds; new moons are
+ * accurate to well under a minute.
+ */
+final class Astronomy {
+
+	private static final double J2000 = 2451545.0;
+	private static final double JULIAN_DAY_OF_EPOCH = 2440587.5;
+	private static final double SECONDS_PER_DAY = 86400;
+
+	// VSOP87 heliocentric longitude of the earth: amplitude (1e-8 rad), phase,
+	// frequency per Julian millennium
+	private static final double[][] L0 = { { 175347046, 0, 0 },
+			{ 3341656, 4.6692568, 6283.07585 }, { 34894, 4.6261, 12566.1517 },
+			{ 3497, 2.7441, 5753.3849 }, { 3418, 2.8289, 3.5231 },
+			{ 3136, 3.6277, 77713.7715 }, { 2676, 4.4181, 7860.4194 },
+			{ 2343, 6.1352, 3930.2097 }, { 1324, 0.7425, 11506.7698 },
+			{ 1273, 2.0371, 529.691 }, { 1199, 1.1096, 1577.3435 },
+			{ 990, 5.233, 5884.927 }, { 902, 2.045, 26.298 },
+			{ 857, 3.508, 398.149 }, { 780, 1.179, 5223.694 },
+			{ 753, 2.533, 5507.553 }, { 505, 4.583, 18849.228 },
+			{ 492, 4.205, 775.523 }, { 357, 2.92, 0.067 },
+			{ 317, 5.849, 11790.629 }, { 284, 1.899, 796.298 },
+			{ 271, 0.315, 10977.079 }, { 243, 0.345, 5486.778 },
+			{ 206, 4.806, 2544.314 }, { 205, 1.869, 5573.143 },
+			{ 202, 2.458, 6069.777 }, { 156, 0.833, 213.299 },
+			{ 132, 3.411, 2942.463 }, { 126, 1.083, 20.775 },
+			{ 115, 0.645, 0.98 }, { 103, 0.636, 4694.003 },
+			{ 102, 0.976, 15720.839 }, { 102, 4.267, 7.114 },
+			{ 99, 6.21, 2146.17 }, { 98, 0.68, 155.42 },
+			{ 86, 5.98, 161000.69 }, { 85, 1.3, 6275.96 },
+			{ 85, 3.67, 71430.7 }, { 80, 1.81, 17260.15 },
+			{ 79, 3.04, 12036.46 }, { 75, 1.76, 5088.63 },
+			{ 74, 3.5, 3154.69 }, { 74, 4.68, 801.82 }, { 70, 0.83, 9437.76 },
+			{ 62, 3.98, 8827.39 }, { 61, 1.82, 7084.9 }, { 57, 2.78, 6286.6 },
+			{ 56, 4.39, 14143.5 }, { 56, 3.47, 6279.55 },
+			{ 52, 0.19, 12139.55 }, { 52, 1.33, 1748.02 },
+			{ 51, 0.28, 5856.48 }, { 49, 0.49, 1194.45 },
+			{ 41, 5.37, 8429.24 }, { 41, 2.4, 19651.05 },
+			{ 39, 6.17, 10447.39 }, { 37, 6.04, 10213.29 },
+			{ 37, 2.57, 1059.38 }, { 36, 1.71, 2352.87 },
+			{ 36, 1.78, 6812.77 }, { 33, 0.59, 17789.85 },
+			{ 30, 0.44, 83996.85 }, { 30, 2.74, 1349.87 },
+			{ 25, 3.16, 4690.48 } };
+	private static final double[][] L1 = { { 628331966747.0, 0, 0 },
+			{ 206059, 2.678235, 6283.07585 }, { 4303, 2.6351, 12566.1517 },
+			{ 425, 1.59, 3.523 }, { 119, 5.796, 26.298 },
+			{ 109, 2.966, 1577.344 }, { 93, 2.59, 18849.23 },
+			{ 72, 1.14, 529.69 }, { 68, 1.87, 398.15 }, { 67, 4.41, 5507.55 },
+			{ 59, 2.89, 5223.69 }, { 56, 2.17, 155.42 }, { 45, 0.4, 796.3 },
+			{ 36, 0.47, 775.52 }, { 29, 2.65, 7.11 }, { 21, 5.34, 0.98 },
+			{ 19, 1.85, 5486.78 }, { 19, 4.97, 213.3 }, { 17, 2.99, 6275.96 },
+			{ 16, 0.03, 2544.31 }, { 16, 1.43, 2146.17 },
+			{ 15, 1.21, 10977.08 }, { 12, 2.83, 1748.02 },
+			{ 12, 3.26, 5088.63 }, { 12, 5.27, 1194.45 }, { 12, 2.08, 4694 },
+			{ 11, 0.77, 553.57 }, { 10, 1.3, 6286.6 }, { 10, 4.24, 1349.87 },
+			{ 9, 2.7, 242.73 }, { 9, 5.64, 951.72 }, { 8, 5.3, 2352.87 },
+			{ 6, 2.65, 9437.76 }, { 6, 4.67, 4690.48 } };
+	private static final double[][] L2 = { { 52919, 0, 0 },
+			{ 8720, 1.0721, 6283.0758 }, { 309, 0.867, 12566.152 },
+			{ 27, 0.05, 3.52 }, { 16, 5.19, 26.3 }, { 16, 3.68, 155.42 },
+			{ 10, 0.76, 18849.23 }, { 9, 2.06, 77713.77 },
+			{ 7, 0.83, 775.52 }, { 5, 4.66, 1577.34 }, { 4, 1.03, 7.11 },
+			{ 4, 3.44, 5573.14 }, { 3, 5.14, 796.3 }, { 3, 6.05, 5507.55 },
+			{ 3, 1.19, 242.73 }, { 3, 6.12, 529.69 }, { 3, 0.31, 398.15 },
+			{ 3, 2.28, 553.57 }, { 2, 4.38, 5223.69 }, { 2, 3.75, 0.98 } };
+	private static final double[][] L3 = { { 289, 5.844, 6283.076 },
+			{ 35, 0, 0 }, { 17, 5.49, 12566.15 }, { 3, 5.2, 155.42 },
+			{ 1, 4.72, 3.52 }, { 1, 5.3, 18849.23 }, { 1, 5.97, 242.73 } };
+	private static final double[][] L4 = { { 114, 3.142, 0 },
+			{ 8, 4.13, 6283.08 }, { 1, 3.84, 12566.15 } };
+	private static final double[][] L5 = { { 1, 3.14, 0 } };
+	private static final double[][][] LONGITUDE = { L0, L1, L2, L3, L4, L5 };
+
+	// VSOP87 radius vector of the earth (1e-8 AU), main terms only
+	private static final double[][] R0 = { { 100013989, 0, 0 },
+			{ 1670700, 3.0984635, 6283.07585 },
+			{ 13956, 3.05525, 12566.1517 }, { 3084, 5.1985, 77713.7715 },
+			{ 1628, 1.1739, 5753.3849 }, { 1576, 2.8469, 7860.4194 } };
+	private static final double[][] R1 = { { 103019, 1.10749, 6283.07585 },
+			{ 1721, 1.0644, 12566.1517 } };
+	private static final double[][][] RADIUS = { R0, R1 };
+
+	private static final double LUNATIONS_PER_YEAR = 12.3685;
+
+	// additional corrections of the new moon: amplitude (days), argument
+	// (degrees) and its change per lunation
+	private static final double[][] PLANETARY_ARGUMENTS = {
+			{ 0.000325, 299.77, 0.107408 }, { 0.000165, 251.88, 0.016321 },
+			{ 0.000164, 251.83, 26.651886 }, { 0.000126, 349.42, 36.412478 },
+			{ 0.000110, 84.66, 18.206239 }, { 0.000062, 141.74, 53.303771 },
+			{ 0.000060, 207.14, 2.453732 }, { 0.000056, 154.84, 7.306860 },
+			{ 0.000047, 34.52, 27.261239 }, { 0.000042, 207.19, 0.121824 },
+			{ 0.000040, 291.34, 1.844379 }, { 0.000037, 161.72, 24.198154 },
+			{ 0.000035, 239.56, 25.513099 }, { 0.000023, 331.55, 3.592518 } };
+
+	private Astronomy() {
+	}
+
+	/**
+	 * Returns the March equinox of the Gregorian year in milliseconds since
+	 * 1970-01-01T00:00Z.
+	 */
+	static long marchEquinox(final int year) {
+		// mean equinox (chapter 27) refined with the apparent longitude
+		final double y = (year - 2000) / 1000.0;
+		double jde = 2451623.80984 + y
+				* (365242.37404 + y * (0.05169 + y * (-0.00411 - y * 0.00057)));
+		for (int i = 0; i < 4; i++) {
+			jde += 58 * Math.sin(-apparentSolarLongitude(jde));
+		}
+		return epochMillis(jde - deltaT(year + 0.2) / SECONDS_PER_DAY);
+	}
+
+	/**
+	 * Returns the number of the last lunation (0 is the new moon of January
+	 * 6th, 2000) that starts at least a month before the decimal year.
+	 */
+	static int lunationBefore(final double year) {
+		return (int) Math.floor((year - 2000) * LUNATIONS_PER_YEAR) - 1;
+	}
+
+	/**
+	 * Returns the new moon of the lunation (chapter 49) in milliseconds since
+	 * 1970-01-01T00:00Z.
+	 */
+	static long newMoon(final int lunation) {
+		final double k = lunation;
+		final double t = k / 1236.85;
+		final double t2 = t * t;
+		final double jde = 2451550.09766 + 29.530588861 * k + t2
+				* (0.00015437 + t * (-0.000000150 + t * 0.00000000073));
+		final double e = 1 - t * (0.002516 + t * 0.0000074);
+		final double m = Math.toRadians(2.5534 + 29.10535670 * k - t2
+				* (0.0000014 + t * 0.00000011));
+		final double mm = Math.toRadians(201.5643 + 385.81693528 * k + t2
+				* (0.0107582 + t * (0.00001238 - t * 0.000000058)));
+		final double f = Math.toRadians(160.7108 + 390.67050284 * k + t2
+				* (-0.0016118 + t * (-0.00000227 + t * 0.000000011)));
+		final double omega = Math.toRadians(124.7746 - 1.56375588 * k + t2
+				* (0.0020672 + t * 0.00000215));
+		double correction = -0.40720 * Math.sin(mm) + 0.17241 * e
+				* Math.sin(m) + 0.01608 * Math.sin(2 * mm) + 0.01039
+				* Math.sin(2 * f) + 0.00739 * e * Math.sin(mm - m) - 0.00514
+				* e * Math.sin(mm + m) + 0.00208 * e * e * Math.sin(2 * m)
+				- 0.00111 * Math.sin(mm - 2 * f) - 0.00057
+				* Math.sin(mm + 2 * f) + 0.00056 * e * Math.sin(2 * mm + m)
+				- 0.00042 * Math.sin(3 * mm) + 0.00042 * e
+				* Math.sin(m + 2 * f) + 0.00038 * e * Math.sin(m - 2 * f)
+				- 0.00024 * e * Math.sin(2 * mm - m) - 0.00017
+				* Math.sin(omega) - 0.00007 * Math.sin(mm + 2 * m) + 0.00004
+				* Math.sin(2 * mm - 2 * f) + 0.00004 * Math.sin(3 * m)
+				+ 0.00003 * Math.sin(mm + m - 2 * f) + 0.00003
+				* Math.sin(2 * mm + 2 * f) - 0.00003
+				* Math.sin(mm + m + 2 * f) + 0.00003
+				* Math.sin(mm - m + 2 * f) - 0.00002
+				* Math.sin(mm - m - 2 * f) - 0.00002 * Math.sin(3 * mm + m)
+				+ 0.00002 * Math.sin(4 * mm);
+		for (int i = 0; i < PLANETARY_ARGUMENTS.length; i++) {
+			final double[] argument = PLANETARY_ARGUMENTS[i];
+			final double angle = argument[1] + argument[2] * k
+					+ (i == 0 ? -0.009173 * t2 : 0);
+			correction += argument[0] * Math.sin(Math.toRadians(angle));
+		}
+		final double year = 2000 + k / LUNATIONS_PER_YEAR;
+		return epochMillis(jde + correction - deltaT(year) / SECONDS_PER_DAY);
+	}
+
+	/**
+	 * Returns the apparent geocentric longitude of the sun (radians) at the
+	 * Julian ephemeris day.
+	 */
+	static double apparentSolarLongitude(final double jde) {
+		final double tau = (jde - J2000) / 365250;
+		final double t = tau * 10;
+		final double omega = Math.toRadians(125.04452 - 1934.136261 * t);
+		final double sunLongitude = Math.toRadians(280.4665 + 36000.7698 * t);
+		final double moonLongitude = Math
+				.toRadians(218.3165 + 481267.8813 * t);
+		// nutation in longitude, FK5 correction and aberration in arc seconds
+		final double nutation = -17.20 * Math.sin(omega) - 1.32
+				* Math.sin(2 * sunLongitude) - 0.23
+				* Math.sin(2 * moonLongitude) + 0.21 * Math.sin(2 * omega);
+		final double corrections = nutation - 0.09033 - 20.4898
+				/ series(RADIUS, tau);
+		return series(LONGITUDE, tau) + Math.PI
+				+ Math.toRadians(corrections / 3600);
+	}
+
+	/**
+	 * Returns the difference between terrestrial and universal time in
+	 * seconds (polynomials of Espenak and Meeus from 2005 on).
+	 */
+	static double deltaT(final double year) {
+		if (year < 2050) {
+			final double t = year - 2000;
+			return 62.92 + 0.32217 * t + 0.005589 * t * t;
+		}
+		final double u = (year - 1820) / 100;
+		if (year < 2150) {
+			return -20 + 32 * u * u - 0.5628 * (2150 - year);
+		}
+		return -20 + 32 * u * u;
+	}
+
+	/**
+	 * Returns the milliseconds since 1970-01-01T00:00Z of the Julian day.
+	 */
+	static long epochMillis(final double julianDay) {
+		return Math.round((julianDay - JULIAN_DAY_OF_EPOCH) * SECONDS_PER_DAY
+				* 1000);
+	}
+
+	private static double series(final double[][][] series, final double tau) {
+		double result = 0;
+		double power = 1;
+		for (final double[][] terms : series) {
+			double sum = 0;
+			for (final double[] term : terms) {
+				sum += term[0] * Math.cos(term[1] + term[2] * tau);
+			}
+			result += sum * power;
+			power *= tau;
+		}
+		return result / 1e8;
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
+
+/**
+ * Flight recorder events of the library. Java 8 has no flight recorder API,
+ * so this version records nothing; on Java 11 and later the multi-release jar
+ * replaces it with the version in src-java11, which commits jdk.jfr events.
+ * Both versions have to keep the same names and methods.
+ */
+final class BadiCalendarEvents {
+
+	static final String CONVERSION = "de.pezeshki.bahaiCalendarLibrary.Conversion";
+	static final String VALIDATION_FAILURE = "de.pezeshki.bahaiCalendarLibrary.ValidationFailure";
+	static final String CACHE_REBUILD = "de.pezeshki.bahaiCalendarLibrary.CacheRebuild";
+
+	private BadiCalendarEvents() {
+	}
+
+	/**
+	 * Starts timing a conversion and returns the event to pass to
+	 * endConversion.
+	 */
+	static Object beginConversion() {
+		return null;
+	}
+
+	/**
+	 * Ends the conversion event of the factory and returns the date.
+	 */
+	static BadiDate endConversion(final Object event, final Counter factory,
+			final BadiDate badiDate) {
+		return badiDate;
+	}
+
+	/**
+	 * Records the rejected value of the validation rule.
+	 */
+	static void validationFailed(final Counter rule, final long value,
+			final String message) {
+	}
+
+	/**
+	 * Starts timing the rebuild of a cache entry and returns the event to pass
+	 * to endCacheRebuild.
+	 */
+	static Object beginCacheRebuild() {
+		return null;
+	}
+
+	/**
+	 * Ends the rebuild event of the cache entry.
+	 */
+	static void endCacheRebuild(final Object event, final String cache,
+			final String key) {
+	}
+}
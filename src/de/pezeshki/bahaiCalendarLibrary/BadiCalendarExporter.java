@@ -0,0 +1,256 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Writes the Nineteen Day Feasts, the holydays and optionally Ayyam'i'Ha of
+ * a range of Badi years as iCalendar (RFC 5545) VEVENTs. Events are all-day
+ * events on the Gregorian day, or with atSunset() timed events from the
+ * sunset of the evening before to the sunset of the day (UTC, minute
+ * precision). The events of a year are rendered once per exporter and
+ * written from then on as they are, so an exporter should be kept and
+ * shared; it is immutable and thread safe. The UID of an event only depends
+ * on the Badi year and the event, so subscribed calendars update their
+ * entries instead of duplicating them.
+ */
+public final class BadiCalendarExporter {
+
+	private static final String CRLF = "\r\n";
+
+	private static final String UID_DOMAIN = "@bahaiCalendarLibrary.pezeshki.de";
+
+	/**
+	 * Kinds of events, in the order of events on the same day.
+	 */
+	private static final int HOLYDAY = 0;
+	private static final int FEAST = 1;
+	private static final int AYYAM_I_HA = 2;
+
+	private final boolean _ayyamIHa;
+	private final boolean _sunset;
+	private final double _latitude;
+	private final double _longitude;
+	private final String _timestamp;
+	private final AtomicReferenceArray<String> _years = new AtomicReferenceArray<String>(
+			BadiDate.UPPER_YEAR_LIMIT_BADI + 1);
+
+	private BadiCalendarExporter(final boolean ayyamIHa, final boolean sunset,
+			final double latitude, final double longitude) {
+		_ayyamIHa = ayyamIHa;
+		_sunset = sunset;
+		_latitude = latitude;
+		_longitude = longitude;
+		final StringBuilder timestamp = new StringBuilder(16);
+		appendDateTime(timestamp, System.currentTimeMillis());
+		_timestamp = timestamp.toString();
+	}
+
+	/**
+	 * Returns an exporter of the feasts and holydays as all-day events.
+	 */
+	public static BadiCalendarExporter feastsAndHolydays() {
+		return new BadiCalendarExporter(false, false, 0, 0);
+	}
+
+	/**
+	 * Returns a copy of the exporter that also writes Ayyam'i'Ha as one
+	 * event of 4 or 5 days.
+	 */
+	public BadiCalendarExporter withAyyamIHa() {
+		return new BadiCalendarExporter(true, _sunset, _latitude, _longitude);
+	}
+
+	/**
+	 * Returns a copy of the exporter whose events start at the sunset at the
+	 * location, see SunsetCalculator.
+	 *
+	 * @param latitude
+	 *            the latitude in degrees, north positive
+	 * @param longitude
+	 *            the longitude in degrees, east positive
+	 * @throws IllegalArgumentException
+	 *             latitude or longitude are out of bound
+	 */
+	public BadiCalendarExporter atSunset(final double latitude,
+			final double longitude) throws IllegalArgumentException {
+		SunsetCalculator.checkLocationForValidity(latitude, longitude);
+		return new BadiCalendarExporter(_ayyamIHa, true, latitude, longitude);
+	}
+
+	/**
+	 * Writes a VCALENDAR with the events of the Badi years from the first to
+	 * the last year (both inclusive). The writer is not closed.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is out of bound or toBadiYear is less than fromBadiYear
+	 */
+	public void export(final int fromBadiYear, final int toBadiYear,
+			final Writer out) throws IOException, IllegalArgumentException {
+		BadiDate.checkBadiYearForValidity(fromBadiYear);
+		BadiDate.checkBadiYearForValidity(toBadiYear);
+		if (toBadiYear < fromBadiYear) {
+			throw new IllegalArgumentException(
+					"Last year has to be greater than or equal to the first year.");
+		}
+		out.write("BEGIN:VCALENDAR" + CRLF + "VERSION:2.0" + CRLF
+				+ "PRODID:-//pezeshki.de//BahaiCalendarLibrary 2.0//EN" + CRLF
+				+ "CALSCALE:GREGORIAN" + CRLF);
+		for (int badiYear = fromBadiYear; badiYear <= toBadiYear; badiYear++) {
+			out.write(year(badiYear));
+		}
+		out.write("END:VCALENDAR" + CRLF);
+	}
+
+	/**
+	 * Writes the VCALENDAR in UTF-8 to the stream, see export(int, int,
+	 * Writer). The stream is flushed, not closed.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is out of bound or toBadiYear is less than fromBadiYear
+	 */
+	public void export(final int fromBadiYear, final int toBadiYear,
+			final OutputStream out) throws IOException,
+			IllegalArgumentException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(out,
+				StandardCharsets.UTF_8), 1 << 16);
+		export(fromBadiYear, toBadiYear, writer);
+		writer.flush();
+	}
+
+	/**
+	 * Returns the rendered events of the year.
+	 */
+	private String year(final int badiYear) {
+		final String events = _years.get(badiYear);
+		if (events != null) {
+			return events;
+		}
+		final Object event = BadiCalendarEvents.beginCacheRebuild();
+		_years.compareAndSet(badiYear, null, renderYear(badiYear));
+		BadiCalendarEvents.endCacheRebuild(event, "BadiCalendarExporter",
+				Integer.toString(badiYear));
+		return _years.get(badiYear);
+	}
+
+	private String renderYear(final int badiYear) {
+		final BadiYearInfo info = BadiYearInfo.get(badiYear);
+		final BahaiHolyday[] holydays = BahaiHolyday.values();
+		// day of the year << 16 | kind << 8 | holyday index or month
+		final int[] entries = new int[holydays.length
+				+ BadiYearInfo.FEASTS_IN_YEAR + 1];
+		int size = 0;
+		for (final BahaiHolyday holyday : holydays) {
+			entries[size++] = info.getHolydayDayOfYear(holyday) << 16
+					| HOLYDAY << 8 | holyday.getIndex();
+		}
+		for (int month = 1; month <= 20; month++) {
+			if (month != 19) {
+				entries[size++] = info.getBadiDayOfYear(month, 1) << 16
+						| FEAST << 8 | month;
+			} else if (_ayyamIHa) {
+				entries[size++] = info.getBadiDayOfYear(month, 1) << 16
+						| AYYAM_I_HA << 8 | month;
+			}
+		}
+		Arrays.sort(entries, 0, size);
+		final StringBuilder out = new StringBuilder(size * 200);
+		for (int i = 0; i < size; i++) {
+			final int doy = entries[i] >>> 16;
+			final int kind = entries[i] >>> 8 & 0xFF;
+			final int code = entries[i] & 0xFF;
+			final int epochDay = info.getNawRuzEpochDay() + doy - 1;
+			final int days = kind == AYYAM_I_HA ? info.getAyyamIHaDays() : 1;
+			out.append("BEGIN:VEVENT").append(CRLF);
+			out.append("UID:").append(badiYear).append('-');
+			if (kind == HOLYDAY) {
+				out.append("holyday-").append(code);
+			} else {
+				out.append(kind == FEAST ? "feast-" : "ayyamiha-").append(code);
+			}
+			out.append(UID_DOMAIN).append(CRLF);
+			out.append("DTSTAMP:").append(_timestamp).append(CRLF);
+			if (_sunset) {
+				out.append("DTSTART:");
+				appendDateTime(out, SunsetCalculator.getSunset(epochDay - 1,
+						_latitude, _longitude));
+				out.append(CRLF).append("DTEND:");
+				appendDateTime(out, SunsetCalculator.getSunset(epochDay + days
+						- 1, _latitude, _longitude));
+			} else {
+				out.append("DTSTART;VALUE=DATE:");
+				appendDate(out, epochDay);
+				out.append(CRLF).append("DTEND;VALUE=DATE:");
+				appendDate(out, epochDay + days);
+			}
+			out.append(CRLF).append("SUMMARY:");
+			if (kind == HOLYDAY) {
+				out.append(BahaiHolyday.fromIndex(code).asString());
+			} else if (kind == FEAST) {
+				out.append("Feast of ").append(
+						BadiDateFormat.getMonthName(code));
+			} else {
+				out.append("Ayyam'i'Ha");
+			}
+			out.append(CRLF).append("DESCRIPTION:")
+					.append(info.getBadiDay(doy)).append(' ')
+					.append(BadiDateFormat.getMonthName(info.getBadiMonth(doy)))
+					.append(' ').append(badiYear).append(" B.E.").append(CRLF);
+			out.append("TRANSP:TRANSPARENT").append(CRLF);
+			out.append("END:VEVENT").append(CRLF);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Appends the epoch day as yyyyMMdd.
+	 */
+	private static void appendDate(final StringBuilder out, final int epochDay) {
+		appendNumber(out, BadiConversionTables.gregorianYearFromEpochDay(epochDay), 4);
+		appendNumber(out, BadiConversionTables.gregorianMonthFromEpochDay(epochDay), 2);
+		appendNumber(out, BadiConversionTables.gregorianDayFromEpochDay(epochDay), 2);
+	}
+
+	/**
+	 * Appends the instant as UTC date and time yyyyMMdd'T'HHmm00'Z'.
+	 */
+	private static void appendDateTime(final StringBuilder out,
+			final long epochMillis) {
+		final long epochMinute = Math.floorDiv(epochMillis, 60000L);
+		final int minuteOfDay = (int) Math.floorMod(epochMinute, 1440L);
+		appendDate(out, (int) Math.floorDiv(epochMinute, 1440L));
+		out.append('T');
+		appendNumber(out, minuteOfDay / 60, 2);
+		appendNumber(out, minuteOfDay % 60, 2);
+		out.append("00Z");
+	}
+
+	private static void appendNumber(final StringBuilder out,
+			final int number, final int width) {
+		for (int digits = Integer.toString(number).length(); digits < width; digits++) {
+			out.append('0');
+		}
+		out.append(number);
+	}
+}
@@ -0,0 +1,224 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts conversions, validation failures, holyday lookups and cache
+ * accesses of the library. Counting is off by default; while it is off a
+ * count costs one read of a volatile flag. The counters are LongAdders, so
+ * threads counting concurrently do not contend. register() enables counting
+ * and publishes the counts as the MXBean OBJECT_NAME on the platform MBean
+ * server.
+ */
+public final class BadiCalendarMetrics implements BadiCalendarMetricsMXBean {
+
+	/**
+	 * Name of the MXBean on the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "de.pezeshki.bahaiCalendarLibrary:type=BadiCalendarMetrics";
+
+	private static final BadiCalendarMetrics INSTANCE = new BadiCalendarMetrics();
+
+	private static volatile boolean enabled;
+
+	/**
+	 * The counted events, grouped by the map of the MXBean they appear in.
+	 */
+	enum Counter {
+		CREATE_FROM_BADI_DATE(Group.FACTORY, "createFromBadiDate"),
+		CREATE_FROM_BADI_YEAR_AND_DAY_OF_YEAR(Group.FACTORY, "createFromBadiYearAndDayOfYear"),
+		CREATE_FROM_GREGORIAN_CALENDAR(Group.FACTORY, "createFromGregorianCalendar"),
+		CREATE_FROM_DATE_TIME(Group.FACTORY, "createFromDateTime"),
+		CREATE_FROM_LOCAL_DATE(Group.FACTORY, "createFromLocalDate"),
+		CREATE_FROM_EPOCH_DAY(Group.FACTORY, "createFromEpochDay"),
+		CREATE_FROM_GREGORIAN(Group.FACTORY, "createFromGregorian"),
+		CREATE_FROM_INSTANT(Group.FACTORY, "createFromInstant"),
+		CREATE_FROM_GREGORIAN_CALENDAR_WITH_SUNSET(Group.FACTORY, "createFromGregorianCalendarWithSunset"),
+		CREATE_FROM_DATE_TIME_WITH_SUNSET(Group.FACTORY, "createFromDateTimeWithSunset"),
+		BADI_DAY_AND_MONTH(Group.VALIDATION, "checkBadiDayAndMonthForValidity"),
+		DAY_OF_YEAR(Group.VALIDATION, "checkDoyForValidity"),
+		BADI_YEAR(Group.VALIDATION, "checkBadiYearForValidity"),
+		GREGORIAN_YEAR(Group.VALIDATION, "checkGregorianYearForValidity"),
+		GREGORIAN_MONTH_AND_DAY(Group.VALIDATION, "checkGregorianMonthAndDayForValidity"),
+		LOCATION(Group.VALIDATION, "checkLocationForValidity"),
+		NAW_RUZ(Group.VALIDATION, "nawRuzParameter"),
+		HOLYDAY_LOOKUP(Group.HOLYDAY, "holydayLookup"),
+		DATE_CACHE_HIT(Group.CACHE, "BadiDateCache.hits"),
+		DATE_CACHE_MISS(Group.CACHE, "BadiDateCache.misses"),
+		YEAR_INFO_HIT(Group.CACHE, "BadiYearInfo.hits"),
+		YEAR_INFO_MISS(Group.CACHE, "BadiYearInfo.misses"),
+		SUNSET_LOCATION_HIT(Group.CACHE, "SunsetCalculator.hits"),
+		SUNSET_LOCATION_MISS(Group.CACHE, "SunsetCalculator.misses"),
+		SUNSET_LOCATION_EVICTION(Group.CACHE, "SunsetCalculator.evictions"),
+		INSTANT_DAY_HIT(Group.CACHE, "BadiInstantConverter.hits"),
+		INSTANT_DAY_MISS(Group.CACHE, "BadiInstantConverter.misses");
+
+		private final Group _group;
+		private final String _name;
+		private final LongAdder _count = new LongAdder();
+
+		private Counter(final Group group, final String name) {
+			_group = group;
+			_name = name;
+		}
+
+		String getName() {
+			return _name;
+		}
+	}
+
+	private enum Group {
+		FACTORY, VALIDATION, HOLYDAY, CACHE
+	}
+
+	private BadiCalendarMetrics() {
+	}
+
+	/**
+	 * Returns the metrics of the library.
+	 */
+	public static BadiCalendarMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Enables counting and registers the metrics on the platform MBean server.
+	 * Registering again has no effect.
+	 *
+	 * @throws IllegalStateException
+	 *             the MBean server refused the registration
+	 */
+	public static void register() throws IllegalStateException {
+		enabled = true;
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+		} catch (final InstanceAlreadyExistsException e) {
+			// registered before
+		} catch (final JMException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Disables counting and removes the metrics from the platform MBean
+	 * server.
+	 *
+	 * @throws IllegalStateException
+	 *             the MBean server refused the removal
+	 */
+	public static void unregister() throws IllegalStateException {
+		enabled = false;
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			server.unregisterMBean(new ObjectName(OBJECT_NAME));
+		} catch (final InstanceNotFoundException e) {
+			// not registered
+		} catch (final JMException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Counts the event if counting is enabled.
+	 */
+	static void count(final Counter counter) {
+		if (enabled) {
+			counter._count.increment();
+		}
+	}
+
+	/**
+	 * Adds the number of events if counting is enabled.
+	 */
+	static void add(final Counter counter, final long events) {
+		if (enabled) {
+			counter._count.add(events);
+		}
+	}
+
+	/**
+	 * Counts the failed validation, records it as flight recorder event and
+	 * returns the exception to throw.
+	 *
+	 * @param value
+	 *            the rejected year, month, day or day of the year
+	 */
+	static IllegalArgumentException invalid(final Counter rule,
+			final long value, final String message) {
+		count(rule);
+		BadiCalendarEvents.validationFailed(rule, value, message);
+		return new IllegalArgumentException(message);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(final boolean enable) {
+		enabled = enable;
+	}
+
+	@Override
+	public Map<String, Long> getFactoryCounts() {
+		return counts(Group.FACTORY);
+	}
+
+	@Override
+	public Map<String, Long> getValidationFailureCounts() {
+		return counts(Group.VALIDATION);
+	}
+
+	@Override
+	public long getHolydayLookupCount() {
+		return Counter.HOLYDAY_LOOKUP._count.sum();
+	}
+
+	@Override
+	public Map<String, Long> getCacheCounts() {
+		return counts(Group.CACHE);
+	}
+
+	@Override
+	public void reset() {
+		for (final Counter counter : Counter.values()) {
+			counter._count.reset();
+		}
+	}
+
+	private static Map<String, Long> counts(final Group group) {
+		final Map<String, Long> counts = new LinkedHashMap<String, Long>();
+		for (final Counter counter : Counter.values()) {
+			if (counter._group == group) {
+				counts.put(counter._name, Long.valueOf(counter._count.sum()));
+			}
+		}
+		return counts;
+	}
+}
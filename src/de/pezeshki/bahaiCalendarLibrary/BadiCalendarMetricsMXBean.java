@@ -0,0 +1,54 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Map;
+
+/**
+ * Management interface of BadiCalendarMetrics. The maps are keyed by the
+ * name of the factory method, validation rule or cache counter.
+ */
+public interface BadiCalendarMetricsMXBean {
+
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	/**
+	 * Returns the number of dates created per BadiDate factory method.
+	 */
+	Map<String, Long> getFactoryCounts();
+
+	/**
+	 * Returns the number of rejected arguments per validation rule.
+	 */
+	Map<String, Long> getValidationFailureCounts();
+
+	/**
+	 * Returns the number of holyday lookups of BahaiHolyday.
+	 */
+	long getHolydayLookupCount();
+
+	/**
+	 * Returns the hits, misses and evictions of the internal caches.
+	 */
+	Map<String, Long> getCacheCounts();
+
+	/**
+	 * Sets all counts to 0.
+	 */
+	void reset();
+}
@@ -0,0 +1,339 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Arrays;
+
+/**
+ * Table driven conversion between epoch days (days since 1970-01-01), the
+ * Gregorian calendar and the Badi calendar. The epoch day of every Naw-Ruz is
+ * computed once, so all conversions are O(1) array lookups and integer
+ * arithmetic without any Calendar. The facts derived from Naw-Ruz, like the
+ * length of Ayyam'i'Ha, are read from BadiYearInfo.
+ */
+final class BadiConversionTables {
+
+	/**
+	 * Days of the 18 months from Baha to Mulk.
+	 */
+	static final int DAYS_BEFORE_AYYAMIHA = 18 * BadiDate.DAYS_IN_BADI_MONTH;
+
+	private static final int DAYS_PER_400_YEARS = 146097;
+
+	/**
+	 * Reference location of Tehran, the birthplace of Baha'u'llah
+	 * (35 41'46"N 51 25'23"E). Naw-Ruz is the day (from sunset to sunset in
+	 * Tehran) in which the March equinox occurs.
+	 */
+	static final double TEHRAN_LATITUDE = 35.696111;
+	static final double TEHRAN_LONGITUDE = 51.423056;
+
+	/**
+	 * Uncertainty of the time between the computed March equinox and the
+	 * computed sunset in Tehran until 2064. The refraction at the horizon
+	 * varies by about 0.2 degrees around the standard 34', which moves the
+	 * sunset at the latitude of Tehran by up to a minute; the truncated VSOP87
+	 * series and delta T add a few seconds.
+	 */
+	static final long SUNSET_UNCERTAINTY_MILLIS = 60000;
+
+	/**
+	 * The last Badi year whose Naw-Ruz is known. It is needed for the length
+	 * of the year UPPER_YEAR_LIMIT_BADI.
+	 */
+	private static final int LAST_NAW_RUZ_BADI = BadiDate.UPPER_YEAR_LIMIT_BADI + 1;
+
+	private static final int TABLE_GROWTH = 32;
+
+	/**
+	 * Epoch day of Naw-Ruz indexed by the Badi year. Index 0 is the year
+	 * before the Bab's declaration, which is needed for the dates between
+	 * January 1st and Naw-Ruz 1844. The table starts with the published dates
+	 * until 2064 and grows on demand with computed years. A grown table
+	 * replaces the previous one, so readers never lock.
+	 */
+	private static volatile int[] nawRuzEpochDays = publishedNawRuzEpochDays();
+
+	/**
+	 * The first epoch day that can be converted (Naw-Ruz 1843).
+	 */
+	static final int FIRST_EPOCH_DAY = nawRuzEpochDays[0];
+
+	/**
+	 * The first and last epoch day of the valid Gregorian years (1844-01-01
+	 * and UPPER_YEAR_LIMIT-12-31).
+	 */
+	static final int MIN_EPOCH_DAY = epochDayFromGregorian(
+			BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR + 1, 1, 1);
+	static final int MAX_EPOCH_DAY = epochDayFromGregorian(
+			BadiDate.UPPER_YEAR_LIMIT, 12, 31);
+
+	private BadiConversionTables() {
+	}
+
+	private static int[] publishedNawRuzEpochDays() {
+		final int[] table = new int[BadiDate.LAST_PUBLISHED_YEAR_BADI + 1];
+		for (int badiYear = 0; badiYear < table.length; badiYear++) {
+			table[badiYear] = epochDayFromGregorian(badiYear
+					+ BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR, 3,
+					20 + BadiDate.nawRuzParameter(badiYear - 171));
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the epoch day of Naw-Ruz of the Badi year.
+	 */
+	static int nawRuzEpochDay(final int badiYear) {
+		final int[] table = nawRuzEpochDays;
+		if (badiYear < table.length) {
+			return table[badiYear];
+		}
+		return growNawRuzEpochDays(badiYear)[badiYear];
+	}
+
+	/**
+	 * Computes the missing years until the Badi year (at least TABLE_GROWTH
+	 * years) and publishes the grown table.
+	 */
+	private static synchronized int[] growNawRuzEpochDays(final int badiYear) {
+		if (badiYear > LAST_NAW_RUZ_BADI) {
+			throw new IllegalArgumentException("Naw-Ruz only defined until "
+					+ (LAST_NAW_RUZ_BADI + BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR));
+		}
+		final int[] table = nawRuzEpochDays;
+		if (badiYear < table.length) {
+			return table;
+		}
+		final int length = Math.min(LAST_NAW_RUZ_BADI + 1,
+				Math.max(badiYear + 1, table.length + TABLE_GROWTH));
+		final int[] grown = Arrays.copyOf(table, length);
+		for (int year = table.length; year < length; year++) {
+			grown[year] = computeNawRuzEpochDay(year);
+		}
+		nawRuzEpochDays = grown;
+		return grown;
+	}
+
+	/**
+	 * Returns the epoch day of Naw-Ruz of the Badi year from the March
+	 * equinox and the sunset in Tehran. The day is only certain if the
+	 * equinox is more than SUNSET_UNCERTAINTY_MILLIS away from the sunset.
+	 * This is a known limit of the computation: of the published years it
+	 * fails for 2026 (equinox and sunset within a second), which is why the
+	 * published dates are used until 2064. Every later equinox until
+	 * UPPER_YEAR_LIMIT is more than 10 minutes away from the sunset, which
+	 * leaves room for the growing uncertainty of the extrapolated delta T.
+	 */
+	static int computeNawRuzEpochDay(final int badiYear) {
+		return tehranBadiEpochDay(Astronomy.marchEquinox(badiYear
+				+ BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR));
+	}
+
+	/**
+	 * Returns the epoch day whose Badi date is the Badi date of the instant
+	 * in Tehran. The sunset is computed without the cache of
+	 * SunsetCalculator.
+	 */
+	static int tehranBadiEpochDay(final long epochMillis) {
+		final long day = SunsetCalculator.localEpochDay(epochMillis,
+				TEHRAN_LONGITUDE);
+		final long sunset = day
+				* SunsetCalculator.MILLIS_PER_DAY
+				+ 1000L
+				* SunsetCalculator.computeSunsetSeconds(day, TEHRAN_LATITUDE,
+						TEHRAN_LONGITUDE);
+		return (int) (epochMillis < sunset ? day : day + 1);
+	}
+
+	/**
+	 * Returns the number of days of the Badi year (365 or 366).
+	 */
+	static int daysInYear(final int badiYear) {
+		return BadiYearInfo.get(badiYear).getDaysInYear();
+	}
+
+	/**
+	 * Returns the number of days of Ayyam'i'Ha (4 or 5).
+	 */
+	static int ayyamIHaDays(final int badiYear) {
+		return BadiYearInfo.get(badiYear).getAyyamIHaDays();
+	}
+
+	/**
+	 * Returns the number of days of the Badi month (Ayyam'i'Ha=19).
+	 */
+	static int daysInMonth(final int badiYear, final int badiMonth) {
+		return BadiYearInfo.get(badiYear).getDaysInMonth(badiMonth);
+	}
+
+	/**
+	 * Returns the epoch day of the Badi year and day of the year.
+	 */
+	static int epochDayFromBadi(final int badiYear, final int badiDoy) {
+		return nawRuzEpochDay(badiYear) + badiDoy - 1;
+	}
+
+	/**
+	 * Returns the Badi year of the epoch day.
+	 */
+	static int badiYearFromEpochDay(final int epochDay) {
+		int badiYear = (int) ((epochDay - FIRST_EPOCH_DAY) * 400L / DAYS_PER_400_YEARS);
+		// The estimate is off by at most one year
+		if (badiYear >= LAST_NAW_RUZ_BADI) {
+			badiYear = LAST_NAW_RUZ_BADI - 1;
+		}
+		if (epochDay < nawRuzEpochDay(badiYear)) {
+			badiYear--;
+		} else if (epochDay >= nawRuzEpochDay(badiYear + 1)) {
+			badiYear++;
+		}
+		return badiYear;
+	}
+
+	/**
+	 * Returns the day of the Badi year of the epoch day.
+	 */
+	static int badiDoyFromEpochDay(final int epochDay, final int badiYear) {
+		return epochDay - nawRuzEpochDay(badiYear) + 1;
+	}
+
+	/**
+	 * Returns the day of the Badi year from Badi month and day.
+	 */
+	static int badiDoyFromMonthAndDay(final int badiYear, final int badiMonth,
+			final int badiDay) {
+		return BadiYearInfo.get(badiYear).getBadiDayOfYear(badiMonth, badiDay);
+	}
+
+	/**
+	 * Returns the Badi month of a normalized day of the Badi year.
+	 */
+	static int badiMonthFromDoy(final int badiYear, final int badiDoy) {
+		return BadiYearInfo.get(badiYear).getBadiMonth(badiDoy);
+	}
+
+	/**
+	 * Returns the Badi day of the month of a normalized day of the Badi year.
+	 */
+	static int badiDayFromDoy(final int badiYear, final int badiDoy) {
+		return BadiYearInfo.get(badiYear).getBadiDay(badiDoy);
+	}
+
+	/**
+	 * Returns the epoch day of the proleptic Gregorian date.
+	 */
+	static int epochDayFromGregorian(final int year, final int month,
+			final int day) {
+		final int y = month <= 2 ? year - 1 : year;
+		final int era = Math.floorDiv(y, 400);
+		final int yearOfEra = y - era * 400;
+		final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2)
+				/ 5 + day - 1;
+		final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+				+ dayOfYear;
+		return era * DAYS_PER_400_YEARS + dayOfEra - 719468;
+	}
+
+	/**
+	 * Returns the epoch day of the day of the Gregorian year.
+	 */
+	static int epochDayFromGregorianDoy(final int year, final int doy) {
+		return epochDayFromGregorian(year, 1, 1) + doy - 1;
+	}
+
+	/**
+	 * Returns the number of days of the Gregorian month.
+	 */
+	static int gregorianDaysInMonth(final int year, final int month) {
+		if (month == 2) {
+			return 28 + isLeapYear(year);
+		}
+		return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+	}
+
+	/**
+	 * Returns the Gregorian year of the epoch day.
+	 */
+	static int gregorianYearFromEpochDay(final int epochDay) {
+		final int shifted = epochDay + 719468;
+		final int era = Math.floorDiv(shifted, DAYS_PER_400_YEARS);
+		final int dayOfEra = shifted - era * DAYS_PER_400_YEARS;
+		final int yearOfEra = yearOfEra(dayOfEra);
+		final int marchBasedMonth = marchBasedMonth(dayOfEra, yearOfEra);
+		return yearOfEra + era * 400 + (marchBasedMonth >= 10 ? 1 : 0);
+	}
+
+	/**
+	 * Returns the Gregorian month (January=1) of the epoch day.
+	 */
+	static int gregorianMonthFromEpochDay(final int epochDay) {
+		final int dayOfEra = dayOfEra(epochDay);
+		final int marchBasedMonth = marchBasedMonth(dayOfEra,
+				yearOfEra(dayOfEra));
+		return marchBasedMonth < 10 ? marchBasedMonth + 3
+				: marchBasedMonth - 9;
+	}
+
+	/**
+	 * Returns the Gregorian day of the month of the epoch day.
+	 */
+	static int gregorianDayFromEpochDay(final int epochDay) {
+		final int dayOfEra = dayOfEra(epochDay);
+		final int dayOfMarchBasedYear = dayOfMarchBasedYear(dayOfEra,
+				yearOfEra(dayOfEra));
+		final int marchBasedMonth = (5 * dayOfMarchBasedYear + 2) / 153;
+		return dayOfMarchBasedYear - (153 * marchBasedMonth + 2) / 5 + 1;
+	}
+
+	/**
+	 * Returns the Gregorian day of the year of the epoch day.
+	 */
+	static int gregorianDoyFromEpochDay(final int epochDay) {
+		return epochDay
+				- epochDayFromGregorian(gregorianYearFromEpochDay(epochDay),
+						1, 1) + 1;
+	}
+
+	/**
+	 * Returns a 1 if the Gregorian year is a leap year, otherwise 0.
+	 */
+	static int isLeapYear(final int year) {
+		final boolean isleapyear = year % 4 == 0 && year % 100 != 0
+				|| year % 400 == 0;
+		return isleapyear ? 1 : 0;
+	}
+
+	private static int dayOfEra(final int epochDay) {
+		final int shifted = epochDay + 719468;
+		return shifted - Math.floorDiv(shifted, DAYS_PER_400_YEARS)
+				* DAYS_PER_400_YEARS;
+	}
+
+	private static int yearOfEra(final int dayOfEra) {
+		return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra
+				/ (DAYS_PER_400_YEARS - 1)) / 365;
+	}
+
+	private static int dayOfMarchBasedYear(final int dayOfEra,
+			final int yearOfEra) {
+		return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+	}
+
+	private static int marchBasedMonth(final int dayOfEra, final int yearOfEra) {
+		return (5 * dayOfMarchBasedYear(dayOfEra, yearOfEra) + 2) / 153;
+	}
+}
@@ -15,63 +15,72 @@
  */
 package de.pezeshki.bahaiCalendarLibrary;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 
 import org.joda.time.DateTime;
 import org.joda.time.base.BaseDateTime;
 
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
+
 /**
- * The Badi and Gregorian date converter (from 1900-2064). Initial author
+ * The Badi and Gregorian date converter (from 1844-2343). Initial author
  * Soroosh Pezeshki 2015
+ *
+ * BadiDate is immutable. The factory methods return one shared instance per
+ * day, so two dates of the same day are identical. An instance only holds the
+ * epoch day and the Badi year, day of the year, month and day; the Gregorian
+ * fields, Calendar, DateTime, holyday and vahid are derived on demand.
+ *
+ * Dates are equal and ordered by their day. BadiDate is serialized as the 4
+ * bytes of BadiDateCodec and deserialized to the shared instance of the day.
  */
-public class BadiDate implements BaseBadiDate {
+public class BadiDate implements BaseBadiDate, Comparable<BadiDate>,
+		Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private static final byte[] NAW_RUZ_OFFSET = { 1, 1, 0, 0, 1, 1, 0, 0, 1,
 			1, 0, 0, 1, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0,
 			0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
-	public static final int UPPER_YEAR_LIMIT = 2014 + NAW_RUZ_OFFSET.length - 1;
-	public static final int UPPER_YEAR_LIMIT_BADI = 171 + NAW_RUZ_OFFSET.length - 1;
 	public static final int ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR = 1843;
+	public static final int UPPER_YEAR_LIMIT_BADI = 500;
+	/**
+	 * The last supported Gregorian year. Naw-Ruz and the Twin Holy Birthdays
+	 * after 2064 are not published and computed from the equinox, the new
+	 * moons and the sunset in Tehran. The computed time between equinox and
+	 * sunset is uncertain by about a minute and more for the far future, so
+	 * a future year whose equinox falls that close to sunset could be
+	 * published one day apart; no such year is known until UPPER_YEAR_LIMIT,
+	 * but the published dates are authoritative.
+	 */
+	public static final int UPPER_YEAR_LIMIT = ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR
+			+ UPPER_YEAR_LIMIT_BADI;
+	/**
+	 * The last Badi year of the published Naw-Ruz dates. The later years are
+	 * computed from the March equinox.
+	 */
+	static final int LAST_PUBLISHED_YEAR_BADI = 171 + NAW_RUZ_OFFSET.length - 1;
 	public static final int DAYS_IN_BADI_MONTH = 19;
 	public static final int DAYS_BETWEEN_NAWRUZ_AND_AYYAMIHA_START = 18 * DAYS_IN_BADI_MONTH;
 
-	private final int _badiDay;
-	private final int _badiMonth;
-	private final int _badiYear;
-	private final int _badiDoy;
-	private final Calendar _gregDate;
-	private final int _yearIndex;
-	private final int _yearInVahid;
-	private final int _vahid;
-	private final int _kullIShay;
-	private final int _gregorianYear;
-	private final int _gregorianMonth;
-	private final int _gregorianDay;
-	private final BahaiHolyday _holyday;
-
-	private BadiDate(final int badiDay, final int badiMonth,
-			final int badiYear, final int badiDoy, final Calendar gregDate,
-			final int yearIndex) {
-		
-		_badiDay = badiDay;
-		_badiMonth = badiMonth;
-		_badiYear = badiYear;
-		_badiDoy = badiDoy;
-		_gregDate = gregDate;
-		_yearIndex = yearIndex;
-		_yearInVahid = badiYear % 19 == 0 ? 19 : badiYear % 19;
-		_vahid = (badiYear - _yearInVahid) / 19 + 1;
-		final int tmpkull = badiYear % 361;
-		// Uncomment if data is available
-		//		if (tmpkull == 0) {
-		//			tmpkull = 361;
-		//		}
-		_kullIShay = (badiYear - tmpkull) / 361 + 1;
-		_gregorianDay = _gregDate.get(Calendar.DAY_OF_MONTH);
-		_gregorianMonth = _gregDate.get(Calendar.MONTH) + 1;
-		_gregorianYear = _gregDate.get(Calendar.YEAR);
-		_holyday = BahaiHolyday.getHolyday(_badiDoy, _badiYear);
+	private final int _epochDay;
+	private final short _badiYear;
+	private final short _badiDoy;
+	private final byte _badiMonth;
+	private final byte _badiDay;
+
+	private BadiDate(final BadiYearInfo yearInfo, final int badiDoy) {
+		_epochDay = yearInfo.getNawRuzEpochDay() + badiDoy - 1;
+		_badiYear = (short) yearInfo.getBadiYear();
+		_badiDoy = (short) badiDoy;
+		_badiMonth = (byte) yearInfo.getBadiMonth(badiDoy);
+		_badiDay = (byte) yearInfo.getBadiDay(badiDoy);
 	}
 
 	/**
@@ -90,15 +99,14 @@ public class BadiDate implements BaseBadiDate {
 	public static BadiDate createFromBadiDate(final int badiYear,
 			final int badiMonth, final int badiDay)
 			throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_BADI_DATE);
 		checkBadiDayAndMonthForValidity(badiDay, badiMonth);
 		checkBadiYearForValidity(badiYear);
-		final int yearIndex = badiYear - 171;
-		final int badiDoy = getBadiDayOfTheYearFromMonthAndDay(badiMonth,
-				badiDay, yearIndex);
-		final Calendar gregorianDate = gregorianDateFromBadiDoyAndYear(
-				badiYear, badiDoy);
-		return new BadiDate(badiDay, badiMonth, badiYear, badiDoy,
-				gregorianDate, yearIndex);
+		final int badiDoy = BadiYearInfo.get(badiYear).getBadiDayOfYear(
+				badiMonth, badiDay);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_BADI_DATE,
+				createFromBadiDoyAndYear(badiYear, badiDoy));
 	}
 
 	/**
@@ -114,15 +122,12 @@ public class BadiDate implements BaseBadiDate {
 	 */
 	public static BadiDate createFromBadiYearAndDayOfYear(final int badiYear,
 			final int badiDayOfYear) throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_BADI_YEAR_AND_DAY_OF_YEAR);
 		checkDoyForValidity(badiDayOfYear);
 		checkBadiYearForValidity(badiYear);
-		final int yearIndex = badiYear - 171;
-		final int[] badiDayAndMonth = getBadiDayAndMonth(badiDayOfYear,
-				yearIndex);
-		final Calendar gregorianDate = gregorianDateFromBadiDoyAndYear(
-				badiYear, badiDayOfYear);
-		return new BadiDate(badiDayAndMonth[0], badiDayAndMonth[1], badiYear,
-				badiDayOfYear, gregorianDate, yearIndex);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_BADI_YEAR_AND_DAY_OF_YEAR,
+				createFromBadiDoyAndYear(badiYear, badiDayOfYear));
 	}
 
 	/**
@@ -136,10 +141,13 @@ public class BadiDate implements BaseBadiDate {
 	 */
 	public static BadiDate createFromGregorianCalendar(final Calendar calendar)
 			throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_GREGORIAN_CALENDAR);
 		final int year = calendar.get(Calendar.YEAR);
 		final int doy = calendar.get(Calendar.DAY_OF_YEAR);
 		checkGregorianYearForValidity(year);
-		return createFromGregorianDoyAndYear(year, doy);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_GREGORIAN_CALENDAR,
+				createFromGregorianDoyAndYear(year, doy));
 	}
 
 	/**
@@ -153,10 +161,239 @@ public class BadiDate implements BaseBadiDate {
 	 */
 	public static BadiDate createFromDateTime(final BaseDateTime gregorianDate)
 			throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_DATE_TIME);
 		final int year = gregorianDate.getYear();
 		checkGregorianYearForValidity(year);
 		final int doy = gregorianDate.getDayOfYear();
-		return createFromGregorianDoyAndYear(year, doy);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_DATE_TIME,
+				createFromGregorianDoyAndYear(year, doy));
+	}
+
+	/**
+	 * Creates a BadiDate from a java.time LocalDate.
+	 *
+	 * @param localDate
+	 *            the Gregorian date
+	 * @return The Badi date
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public static BadiDate createFromLocalDate(final LocalDate localDate)
+			throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_LOCAL_DATE);
+		checkGregorianYearForValidity(localDate.getYear());
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_LOCAL_DATE,
+				createFromEpochDayUnchecked((int) localDate.toEpochDay()));
+	}
+
+	/**
+	 * Creates a BadiDate from the epoch day (days since 1970-01-01).
+	 *
+	 * @param epochDay
+	 *            the epoch day
+	 * @return The Badi date
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public static BadiDate createFromEpochDay(final long epochDay)
+			throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_EPOCH_DAY);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_EPOCH_DAY,
+				createFromValidEpochDay(epochDay));
+	}
+
+	/**
+	 * Creates a BadiDate from the epoch day without counting a factory call.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	static BadiDate createFromValidEpochDay(final long epochDay)
+			throws IllegalArgumentException {
+		checkEpochDayForValidity(epochDay);
+		return createFromEpochDayUnchecked((int) epochDay);
+	}
+
+	/**
+	 * Creates a BadiDate from Gregorian year, month and day.
+	 *
+	 * @param year
+	 *            the Gregorian year
+	 * @param month
+	 *            the Gregorian month. January=1; December=12;
+	 * @param day
+	 *            the Gregorian day of the month
+	 * @return The Badi date
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT or
+	 *             month or day are out of bound
+	 */
+	public static BadiDate createFromGregorian(final int year,
+			final int month, final int day) throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_GREGORIAN);
+		checkGregorianYearForValidity(year);
+		checkGregorianMonthAndDayForValidity(year, month, day);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_GREGORIAN,
+				createFromEpochDayUnchecked(BadiConversionTables
+						.epochDayFromGregorian(year, month, day)));
+	}
+
+	/**
+	 * Like createFromBadiDate, but returns null instead of throwing if the
+	 * arguments are out of bound (see BadiDateValidation.validateBadiDate).
+	 */
+	public static BadiDate tryCreateFromBadiDate(final int badiYear,
+			final int badiMonth, final int badiDay) {
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_BADI_DATE);
+		if (BadiDateValidation.validateBadiDate(badiYear, badiMonth, badiDay) != BadiDateValidation.VALID) {
+			return null;
+		}
+		final Object event = BadiCalendarEvents.beginConversion();
+		final int badiDoy = BadiYearInfo.get(badiYear).getBadiDayOfYear(
+				badiMonth, badiDay);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_BADI_DATE,
+				createFromBadiDoyAndYear(badiYear, badiDoy));
+	}
+
+	/**
+	 * Like createFromBadiYearAndDayOfYear, but returns null instead of
+	 * throwing if year or day of the year are out of bound.
+	 */
+	public static BadiDate tryCreateFromBadiYearAndDayOfYear(
+			final int badiYear, final int badiDayOfYear) {
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_BADI_YEAR_AND_DAY_OF_YEAR);
+		if (BadiDateValidation.validateBadiYearAndDayOfYear(badiYear,
+				badiDayOfYear) != BadiDateValidation.VALID) {
+			return null;
+		}
+		final Object event = BadiCalendarEvents.beginConversion();
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_BADI_YEAR_AND_DAY_OF_YEAR,
+				createFromBadiDoyAndYear(badiYear, badiDayOfYear));
+	}
+
+	/**
+	 * Like createFromGregorianCalendar, but returns null instead of throwing
+	 * if the year is out of bound.
+	 */
+	public static BadiDate tryCreateFromGregorianCalendar(
+			final Calendar calendar) {
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_GREGORIAN_CALENDAR);
+		final int year = calendar.get(Calendar.YEAR);
+		if (BadiDateValidation.counted(BadiDateValidation.gregorianYearStatus(year)) != BadiDateValidation.VALID) {
+			return null;
+		}
+		final Object event = BadiCalendarEvents.beginConversion();
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_GREGORIAN_CALENDAR,
+				createFromGregorianDoyAndYear(year, calendar.get(Calendar.DAY_OF_YEAR)));
+	}
+
+	/**
+	 * Like createFromDateTime, but returns null instead of throwing if the
+	 * year is out of bound.
+	 */
+	public static BadiDate tryCreateFromDateTime(
+			final BaseDateTime gregorianDate) {
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_DATE_TIME);
+		final int year = gregorianDate.getYear();
+		if (BadiDateValidation.counted(BadiDateValidation.gregorianYearStatus(year)) != BadiDateValidation.VALID) {
+			return null;
+		}
+		final Object event = BadiCalendarEvents.beginConversion();
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_DATE_TIME,
+				createFromGregorianDoyAndYear(year, gregorianDate.getDayOfYear()));
+	}
+
+	/**
+	 * Like createFromLocalDate, but returns null instead of throwing if the
+	 * year is out of bound.
+	 */
+	public static BadiDate tryCreateFromLocalDate(final LocalDate localDate) {
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_LOCAL_DATE);
+		if (BadiDateValidation.counted(BadiDateValidation
+				.gregorianYearStatus(localDate.getYear())) != BadiDateValidation.VALID) {
+			return null;
+		}
+		final Object event = BadiCalendarEvents.beginConversion();
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_LOCAL_DATE,
+				createFromEpochDayUnchecked((int) localDate.toEpochDay()));
+	}
+
+	/**
+	 * Like createFromEpochDay, but returns null instead of throwing if the
+	 * year is out of bound.
+	 */
+	public static BadiDate tryCreateFromEpochDay(final long epochDay) {
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_EPOCH_DAY);
+		if (BadiDateValidation.validateEpochDay(epochDay) != BadiDateValidation.VALID) {
+			return null;
+		}
+		final Object event = BadiCalendarEvents.beginConversion();
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_EPOCH_DAY,
+				createFromEpochDayUnchecked((int) epochDay));
+	}
+
+	/**
+	 * Like createFromGregorian, but returns null instead of throwing if year,
+	 * month or day are out of bound (see
+	 * BadiDateValidation.validateGregorian).
+	 */
+	public static BadiDate tryCreateFromGregorian(final int year,
+			final int month, final int day) {
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_GREGORIAN);
+		if (BadiDateValidation.validateGregorian(year, month, day) != BadiDateValidation.VALID) {
+			return null;
+		}
+		final Object event = BadiCalendarEvents.beginConversion();
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_GREGORIAN,
+				createFromEpochDayUnchecked(BadiConversionTables
+						.epochDayFromGregorian(year, month, day)));
+	}
+
+	/**
+	 * Creates the BadiDate of an instant at a location. The Badi day starts
+	 * at the local sunset, see SunsetCalculator.
+	 *
+	 * @param epochMillis
+	 *            milliseconds since 1970-01-01T00:00Z
+	 * @param latitude
+	 *            the latitude in degrees, north positive
+	 * @param longitude
+	 *            the longitude in degrees, east positive
+	 * @return The Badi date
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT or
+	 *             latitude or longitude are out of bound
+	 */
+	public static BadiDate createFromInstant(final long epochMillis,
+			final double latitude, final double longitude)
+			throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_INSTANT);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_INSTANT,
+				createFromValidEpochDay(SunsetCalculator.getBadiEpochDay(
+						epochMillis, latitude, longitude)));
+	}
+
+	/**
+	 * Creates the BadiDate of the local day of an instant in the time zone.
+	 * For many instants use BadiInstantConverter directly.
+	 *
+	 * @param epochMillis
+	 *            milliseconds since 1970-01-01T00:00Z
+	 * @return The Badi date
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public static BadiDate createFromInstant(final long epochMillis,
+			final ZoneId zone) throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_INSTANT);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_INSTANT,
+				BadiInstantConverter.forZone(zone).convert(epochMillis));
 	}
 
 	@Override
@@ -181,120 +418,219 @@ public class BadiDate implements BaseBadiDate {
 
 	@Override
 	public int getGregorianDay() {
-		return _gregorianDay;
+		return BadiConversionTables.gregorianDayFromEpochDay(_epochDay);
 	}
 
 	@Override
 	public int getGregorianMonth() {
-		return _gregorianMonth;
+		return BadiConversionTables.gregorianMonthFromEpochDay(_epochDay);
 	}
 
 	@Override
 	public int getGregorianYear() {
-		return _gregorianYear;
+		return BadiConversionTables.gregorianYearFromEpochDay(_epochDay);
 	}
 
 	@Override
 	public int getGregorianDayOfYear() {
-		return _gregDate.get(Calendar.DAY_OF_YEAR);
+		return BadiConversionTables.gregorianDoyFromEpochDay(_epochDay);
 	}
 
 	@Override
 	public Calendar getCalendar() {
-		return (Calendar) _gregDate.clone();
+		return new GregorianCalendar(getGregorianYear(),
+				getGregorianMonth() - 1, getGregorianDay());
 	}
 
 	@Override
 	public BaseDateTime getDateTime() {
-		return new DateTime(_gregorianYear, _gregorianMonth, _gregorianDay, 0,
-				0);
+		return new DateTime(getGregorianYear(), getGregorianMonth(),
+				getGregorianDay(), 0, 0);
+	}
+
+	@Override
+	public LocalDate toLocalDate() {
+		return LocalDate.ofEpochDay(_epochDay);
+	}
+
+	@Override
+	public long toEpochDay() {
+		return _epochDay;
 	}
 
 	@Override
 	public BahaiHolyday getHolyday() {
-		return _holyday;
+		return BahaiHolyday.getHolyday(_badiDoy, _badiYear);
 	}
 
 	@Override
 	public int getVahid() {
-		return _vahid;
+		return vahid(_badiYear);
 	}
 
 	@Override
 	public int getYearInVahid() {
-		return _yearInVahid;
+		return yearInVahid(_badiYear);
 	}
 
 	@Override
 	public int getKullIShay() {
-		return _kullIShay;
+		return kullIShay(_badiYear);
+	}
+
+	/**
+	 * Returns the Badi year of the year in the Vahid of the Kull'i'Shay.
+	 */
+	static int badiYear(final int kullIShay, final int vahid,
+			final int yearInVahid) {
+		return (kullIShay - 1) * 361 + (vahid - 1) * 19 + yearInVahid;
+	}
+
+	/**
+	 * Returns the Vahid (1-19) of the Badi year within its Kull'i'Shay.
+	 */
+	static int vahid(final int badiYear) {
+		final int yearInKullIShay = badiYear - (kullIShay(badiYear) - 1) * 361;
+		return (yearInKullIShay - yearInVahid(badiYear)) / 19 + 1;
+	}
+
+	/**
+	 * Returns the year (1-19) of the Badi year within its Vahid.
+	 */
+	static int yearInVahid(final int badiYear) {
+		return badiYear % 19 == 0 ? 19 : badiYear % 19;
 	}
 
-	private static void checkBadiDayAndMonthForValidity(final int badiDay,
+	/**
+	 * Returns the Kull'i'Shay of the Badi year.
+	 */
+	static int kullIShay(final int badiYear) {
+		int tmpkull = badiYear % 361;
+		if (tmpkull == 0) {
+			tmpkull = 361;
+		}
+		return (badiYear - tmpkull) / 361 + 1;
+	}
+
+	static void checkBadiDayAndMonthForValidity(final int badiDay,
 			final int badiMonth) throws IllegalArgumentException {
 		if (badiDay < 1) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.BADI_DAY_AND_MONTH, badiDay,
 					"Badi day has to be greater than or equal to 1.");
 		}
 		if (badiDay > 19) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.BADI_DAY_AND_MONTH, badiDay,
 					"Badi day has to be less than or equal to  19.");
 		}
 		if (badiMonth < 1) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.BADI_DAY_AND_MONTH, badiMonth,
 					"Badi month has to be greater than or equal to 1.");
 		}
 		if (badiMonth > 20) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.BADI_DAY_AND_MONTH, badiMonth,
 					"Badi month has to be less than or equal to  20.");
 		}
 	}
 
-	private static void checkDoyForValidity(final int badiDoy)
+	static void checkDoyForValidity(final int badiDoy)
 			throws IllegalArgumentException {
 		if (badiDoy < 1) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.DAY_OF_YEAR, badiDoy,
 					"Day of the year has to be greater than or equal to 1.");
 		}
 		if (badiDoy > 366) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.DAY_OF_YEAR, badiDoy,
 					"Day of the year has to be less than or equal to  367.");
 		}
 
 	}
 
-	private static void checkBadiYearForValidity(final int badiYear)
+	static void checkBadiYearForValidity(final int badiYear)
 			throws IllegalArgumentException {
 		if (badiYear < 1) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.BADI_YEAR, badiYear,
 					"Badi year has to be greater than or equal to 1.");
 		}
 		if (badiYear > UPPER_YEAR_LIMIT_BADI) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.BADI_YEAR, badiYear,
 					"Badi year has to be less than  " + UPPER_YEAR_LIMIT_BADI);
 		}
 
 	}
 
-	private static void checkGregorianYearForValidity(final int year)
+	static void checkGregorianYearForValidity(final int year)
 			throws IllegalArgumentException {
 		if (year <= ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR) {
-			throw new IllegalArgumentException(
+			throw BadiCalendarMetrics.invalid(Counter.GREGORIAN_YEAR, year,
 					"Year has to be greater than or equal to 1844.");
 		}
 		if (year > UPPER_YEAR_LIMIT) {
-			throw new IllegalArgumentException("Year has to be less than  "
-					+ UPPER_YEAR_LIMIT);
+			throw BadiCalendarMetrics.invalid(Counter.GREGORIAN_YEAR, year,
+					"Year has to be less than  " + UPPER_YEAR_LIMIT);
+		}
+
+	}
+
+	static void checkEpochDayForValidity(final long epochDay)
+			throws IllegalArgumentException {
+		final int year;
+		if (epochDay < BadiConversionTables.FIRST_EPOCH_DAY) {
+			year = ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR;
+		} else if (epochDay > Integer.MAX_VALUE / 2) {
+			year = Integer.MAX_VALUE;
+		} else {
+			year = BadiConversionTables.gregorianYearFromEpochDay((int) epochDay);
 		}
+		checkGregorianYearForValidity(year);
+	}
 
+	static void checkGregorianMonthAndDayForValidity(final int year,
+			final int month, final int day) throws IllegalArgumentException {
+		if (month < 1) {
+			throw BadiCalendarMetrics.invalid(Counter.GREGORIAN_MONTH_AND_DAY, month,
+					"Gregorian month has to be greater than or equal to 1.");
+		}
+		if (month > 12) {
+			throw BadiCalendarMetrics.invalid(Counter.GREGORIAN_MONTH_AND_DAY, month,
+					"Gregorian month has to be less than or equal to  12.");
+		}
+		if (day < 1) {
+			throw BadiCalendarMetrics.invalid(Counter.GREGORIAN_MONTH_AND_DAY, day,
+					"Gregorian day has to be greater than or equal to 1.");
+		}
+		final int daysInMonth = BadiConversionTables.gregorianDaysInMonth(year,
+				month);
+		if (day > daysInMonth) {
+			throw BadiCalendarMetrics.invalid(Counter.GREGORIAN_MONTH_AND_DAY, day,
+					"Gregorian day has to be less than or equal to  "
+							+ daysInMonth + ".");
+		}
+	}
+
+	@Override
+	public int compareTo(final BadiDate other) {
+		return Integer.compare(_epochDay, other._epochDay);
+	}
+
+	@Override
+	public boolean equals(final Object object) {
+		return this == object || object instanceof BadiDate
+				&& ((BadiDate) object)._epochDay == _epochDay;
+	}
+
+	@Override
+	public int hashCode() {
+		return _epochDay;
 	}
 
 	@Override
 	public BadiDate getNextFeastDate() {
 		if (_badiMonth == 20) {
-			return createFromBadiDate(_badiYear + 1, 1, 1);
+			checkBadiYearForValidity(_badiYear + 1);
+			return createFromBadiDoyAndYear(_badiYear + 1, 1);
 		}
-		return createFromBadiDate(_badiYear, _badiMonth + 1, 1);
+		return createFromBadiDoyAndYear(_badiYear, BadiYearInfo.get(_badiYear)
+				.getBadiDayOfYear(_badiMonth + 1, 1));
 	}
 
 	@Override
@@ -302,58 +638,74 @@ public class BadiDate implements BaseBadiDate {
 		return BahaiHolyday.getNextHolydayDate(this);
 	}
 
-	/**
-	 * Returns the day in March that is Naw-Ruz.
-	 */
-	int nawRuzDayOfMarch() {
-		if (_yearIndex < 0) {
-			return 21; // Use the western date for Naw-Ruz prior to 2014
+	@Override
+	public BadiDate plusDays(final int days) {
+		if (days == 0) {
+			return this;
 		}
-		return 20 + nawRuzParameter(_yearIndex);
+		return createFromValidEpochDay((long) _epochDay + days);
+	}
+
+	@Override
+	public BadiDate minusDays(final int days) {
+		return plusDays(-days);
+	}
+
+	@Override
+	public BadiDate plusMonths(final int months) {
+		if (months == 0) {
+			return this;
+		}
+		final long monthOrdinal = _badiYear * 20L + _badiMonth - 1 + months;
+		return createFromBadiDateWithinMonth(Math.floorDiv(monthOrdinal, 20),
+				(int) Math.floorMod(monthOrdinal, 20) + 1, _badiDay);
+	}
+
+	@Override
+	public BadiDate plusYears(final int years) {
+		if (years == 0) {
+			return this;
+		}
+		return createFromBadiDateWithinMonth((long) _badiYear + years,
+				_badiMonth, _badiDay);
 	}
 
 	/**
-	 * Returns the day of the Badi year from Badi month and day.
+	 * Returns the number of days from the start date to the end date,
+	 * negative if the end date is before the start date.
 	 */
-	private static int getBadiDayOfTheYearFromMonthAndDay(final int badiMonth,
-			final int badiDay, final int yearIndex) {
-		final int bdoy;
-		final int nawRuz = nawRuzParameter(yearIndex);
-		// special case Month of Ala after Ayyam'i'Ha
-		if (badiMonth == 20) {
-			bdoy = 346 + nawRuzParameter(yearIndex + 1) * (1 - nawRuz)
-					+ badiDay;
-		} else {
-			bdoy = (badiMonth - 1) * 19 + badiDay;
-		}
-		return bdoy;
+	public static int daysBetween(final BaseBadiDate start,
+			final BaseBadiDate end) {
+		return (int) (end.toEpochDay() - start.toEpochDay());
 	}
 
 	/**
-	 * Returns the day of the Badi year from Badi month and day.
+	 * Creates the date of the Badi year, month and day. A day beyond the last
+	 * day of Ayyam'i'Ha is moved to its last day. In the year 0 only the
+	 * dates from 1844-01-01 on are valid.
 	 */
-	private static int[] getBadiDayAndMonth(final int badiDoy,
-			final int yearIndex) {
-		final int nawRuz = nawRuzParameter(yearIndex);
-		final int nawRuzLastYear = nawRuzParameter(yearIndex - 1);
-		// Month of Ala (19th month; after Ayyam'i'Ha)
-		// Bug will occur in Ala 216!
-		if (badiDoy > 346 + nawRuz * (1 - nawRuzLastYear)) {
-			final int badiDay = badiDoy - 346 - nawRuz * (1 - nawRuzLastYear);
-			return new int[] { badiDay, 20 };
+	private static BadiDate createFromBadiDateWithinMonth(final long badiYear,
+			final int badiMonth, final int badiDay) {
+		if (badiYear != 0) {
+			checkBadiYearForValidity((int) Math.max(Integer.MIN_VALUE,
+					Math.min(badiYear, Integer.MAX_VALUE)));
+		}
+		final BadiYearInfo yearInfo = BadiYearInfo.get((int) badiYear);
+		final int day = Math.min(badiDay, yearInfo.getDaysInMonth(badiMonth));
+		final int badiDoy = yearInfo.getBadiDayOfYear(badiMonth, day);
+		if (badiYear == 0) {
+			checkEpochDayForValidity(BadiConversionTables.epochDayFromBadi(0,
+					badiDoy));
 		}
-		final int t = badiDoy % 19 == 0 ? 19 : badiDoy % 19;
-		final int m = (badiDoy - t) / 19 + 1;
-		return new int[] { t, m };
+		return createFromBadiDoyAndYear(yearInfo.getBadiYear(), badiDoy);
 	}
 
 	/**
-	 * Returns a 1 if the Gregorian year is a leap year, otherwise 0.
+	 * Returns the day in March that is Naw-Ruz.
 	 */
-	private static int isLeapYear(final int year) {
-		final boolean isleapyear = year % 4 == 0 && year % 100 != 0
-				|| year % 400 == 0;
-		return isleapyear ? 1 : 0;
+	int nawRuzDayOfMarch() {
+		return BadiConversionTables.gregorianDayFromEpochDay(BadiYearInfo.get(
+				_badiYear).getNawRuzEpochDay());
 	}
 
 	/**
@@ -365,66 +717,48 @@ public class BadiDate implements BaseBadiDate {
 			return 1; // Use the western date for Naw-Ruz prior to 172
 		}
 		if (yearIndex >= NAW_RUZ_OFFSET.length) {
-			throw new IllegalArgumentException("Naw-Ruz only defined until "
-					+ (2014 + NAW_RUZ_OFFSET.length - 1));
+			throw BadiCalendarMetrics.invalid(Counter.NAW_RUZ, 2014 + yearIndex,
+					"Naw-Ruz only defined until "
+							+ (2014 + NAW_RUZ_OFFSET.length - 1));
 		}
 		return NAW_RUZ_OFFSET[yearIndex];
 	}
 
 	/**
-	 * Returns the Gregorian Calendar calculated from the Badi year and day of
-	 * the year.
-	 *
-	 * @param badiYear
-	 * @param bdoy
-	 * @return
+	 * Returns the canonical BadiDate of the Badi year and day of the year. A
+	 * day of the year beyond the end of the Badi year continues in the next
+	 * year.
 	 */
-	private static Calendar gregorianDateFromBadiDoyAndYear(final int badiYear,
-			final int bdoy) {
-		int gregorianYear = badiYear + 1843;
-		final int yearIndex = badiYear - 171;
-		final int nawRuz = nawRuzParameter(yearIndex);
-		final int leapYear = isLeapYear(gregorianYear);
-		int doy;
-		doy = bdoy + 78 + leapYear + nawRuz;
-		if (doy > 365 + leapYear) {
-			doy = bdoy - 287 + nawRuz;
-			gregorianYear = badiYear + 1844;
+	static BadiDate createFromBadiDoyAndYear(final int badiYear,
+			final int badiDoy) {
+		if (badiDoy > BadiConversionTables.DAYS_BEFORE_AYYAMIHA) {
+			final int daysInYear = BadiConversionTables.daysInYear(badiYear);
+			if (badiDoy > daysInYear) {
+				return createFromBadiDoyAndYear(badiYear + 1, badiDoy
+						- daysInYear);
+			}
 		}
-
-		final Calendar calendar = new GregorianCalendar();
-		calendar.set(Calendar.YEAR, gregorianYear);
-		calendar.set(Calendar.DAY_OF_YEAR, doy);
-
-		return calendar;
+		final BadiDate cached = BadiDateCache.get(badiYear, badiDoy);
+		if (cached != null) {
+			BadiCalendarMetrics.count(Counter.DATE_CACHE_HIT);
+			return cached;
+		}
+		BadiCalendarMetrics.count(Counter.DATE_CACHE_MISS);
+		return BadiDateCache.intern(new BadiDate(BadiYearInfo.get(badiYear),
+				badiDoy));
 	}
 
 	private static BadiDate createFromGregorianDoyAndYear(final int year,
 			final int doy) {
-		final int yearIndex = year - 2014;
-		final Calendar calendar = new GregorianCalendar();
-		calendar.set(Calendar.YEAR, year);
-		calendar.set(Calendar.DAY_OF_YEAR, doy);
-		final int leapyear = isLeapYear(year);
-		final int nawRuz = nawRuzParameter(yearIndex);
-		final int nawRuzLastYear = nawRuzParameter(yearIndex - 1);
-
-		final int badiYear;
-		final int badiDayOfYear;
-		// Calculate day number of the Badi Year
-		if (doy < 79 + leapyear + nawRuz) {
-			badiDayOfYear = doy + 287 - nawRuzLastYear;
-			badiYear = year - 1844;
-		} else {
-			badiDayOfYear = doy - 78 - leapyear - nawRuz;
-			badiYear = year - 1843;
-		}
-		final int[] badiDayAndMonth = getBadiDayAndMonth(badiDayOfYear,
-				yearIndex);
-		return new BadiDate(badiDayAndMonth[0], badiDayAndMonth[1], badiYear,
-				badiDayOfYear, calendar, yearIndex);
+		return createFromEpochDayUnchecked(BadiConversionTables
+				.epochDayFromGregorianDoy(year, doy));
+	}
+
+	private static BadiDate createFromEpochDayUnchecked(final int epochDay) {
+		final int badiYear = BadiConversionTables.badiYearFromEpochDay(epochDay);
+		return createFromBadiDoyAndYear(badiYear,
+				BadiConversionTables.badiDoyFromEpochDay(epochDay, badiYear));
 	}
-	
 
 	/**
 	 * Creates a BadiDate from a Gregorian Calendar and considers if the sun has set.
@@ -439,11 +773,13 @@ public class BadiDate implements BaseBadiDate {
 	 */
 	public static BadiDate createFromGregorianCalendarWithSunset(final Calendar calendar, 
 			final boolean sunset) throws IllegalArgumentException {
-		
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_GREGORIAN_CALENDAR_WITH_SUNSET);
 		final int year = calendar.get(Calendar.YEAR);
 		final int doy = calendar.get(Calendar.DAY_OF_YEAR) + (sunset==true ? 1 : 0);
 		checkGregorianYearForValidity(year);
-		return createFromGregorianDoyAndYear(year, doy);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_GREGORIAN_CALENDAR_WITH_SUNSET,
+				createFromGregorianDoyAndYear(year, doy));
 	}
 
 	/**
@@ -459,10 +795,23 @@ public class BadiDate implements BaseBadiDate {
 	 */
 	public static BadiDate createFromDateTimeWithSunset(final BaseDateTime gregorianDate,
 			final boolean sunset) throws IllegalArgumentException {
+		final Object event = BadiCalendarEvents.beginConversion();
+		BadiCalendarMetrics.count(Counter.CREATE_FROM_DATE_TIME_WITH_SUNSET);
 		final int year = gregorianDate.getYear();
 		checkGregorianYearForValidity(year);
 		final int doy = gregorianDate.getDayOfYear() + (sunset==true ? 1 : 0);
-		return createFromGregorianDoyAndYear(year, doy);
+		return BadiCalendarEvents.endConversion(event, Counter.CREATE_FROM_DATE_TIME_WITH_SUNSET,
+				createFromGregorianDoyAndYear(year, doy));
+	}
+
+	private Object writeReplace() {
+		return new BadiDateSerializedForm(this);
+	}
+
+	private void readObject(final ObjectInputStream stream)
+			throws InvalidObjectException {
+		throw new InvalidObjectException(
+				"BadiDate is deserialized from BadiDateSerializedForm.");
 	}
 
 }
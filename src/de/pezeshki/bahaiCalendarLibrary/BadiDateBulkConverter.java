@@ -0,0 +1,195 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts whole columns of Gregorian dates into Badi dates. The results are
+ * written into caller supplied arrays; no object is created per row. Inputs
+ * with at least PARALLEL_THRESHOLD rows are split across the common fork-join
+ * pool. The same validation rules and year limits as for BadiDate apply; the
+ * first invalid row aborts the conversion with an IllegalArgumentException.
+ */
+public final class BadiDateBulkConverter {
+
+	/**
+	 * Number of rows from which the conversion runs in parallel.
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 14;
+
+	private static final int SEQUENTIAL_CHUNK = 1 << 12;
+
+	private BadiDateBulkConverter() {
+	}
+
+	/**
+	 * Converts epoch days (days since 1970-01-01) into packed Badi dates (see
+	 * PackedBadiDate).
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public static void toPacked(final int[] epochDays, final int[] packedDates)
+			throws IllegalArgumentException {
+		checkLength(epochDays.length, packedDates);
+		run(new ConversionTask(null, null, null, epochDays, packedDates, null,
+				null, null, null, 0, epochDays.length));
+	}
+
+	/**
+	 * Converts epoch days (days since 1970-01-01) into Badi year, month, day
+	 * and holyday columns. The holyday column holds the index of the holyday
+	 * or -1 and may be null.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public static void convertEpochDays(final int[] epochDays,
+			final int[] badiYears, final int[] badiMonths,
+			final int[] badiDays, final byte[] holydays)
+			throws IllegalArgumentException {
+		checkColumns(epochDays.length, badiYears, badiMonths, badiDays,
+				holydays);
+		run(new ConversionTask(null, null, null, epochDays, null, badiYears,
+				badiMonths, badiDays, holydays, 0, epochDays.length));
+	}
+
+	/**
+	 * Converts Gregorian year, month (January=1) and day columns into Badi
+	 * year, month, day and holyday columns. The holyday column holds the index
+	 * of the holyday or -1 and may be null.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is less than 1844 or greater than UPPER_YEAR_LIMIT or
+	 *             a month or day is out of bound
+	 */
+	public static void convertGregorian(final int[] years, final int[] months,
+			final int[] days, final int[] badiYears, final int[] badiMonths,
+			final int[] badiDays, final byte[] holydays)
+			throws IllegalArgumentException {
+		checkLength(years.length, months);
+		checkLength(years.length, days);
+		checkColumns(years.length, badiYears, badiMonths, badiDays, holydays);
+		run(new ConversionTask(years, months, days, null, null, badiYears,
+				badiMonths, badiDays, holydays, 0, years.length));
+	}
+
+	private static void run(final ConversionTask task) {
+		if (task._to - task._from < PARALLEL_THRESHOLD) {
+			task.convert();
+		} else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+	}
+
+	private static void checkColumns(final int length, final int[] badiYears,
+			final int[] badiMonths, final int[] badiDays, final byte[] holydays) {
+		checkLength(length, badiYears);
+		checkLength(length, badiMonths);
+		checkLength(length, badiDays);
+		if (holydays != null && holydays.length < length) {
+			throw new IllegalArgumentException(
+					"Output arrays have to be at least as long as the input.");
+		}
+	}
+
+	private static void checkLength(final int length, final int[] array) {
+		if (array.length < length) {
+			throw new IllegalArgumentException(
+					"Output arrays have to be at least as long as the input.");
+		}
+	}
+
+	private static final class ConversionTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] _years;
+		private final int[] _months;
+		private final int[] _days;
+		private final int[] _epochDays;
+		private final int[] _packedDates;
+		private final int[] _badiYears;
+		private final int[] _badiMonths;
+		private final int[] _badiDays;
+		private final byte[] _holydays;
+		private final int _from;
+		private final int _to;
+
+		ConversionTask(final int[] years, final int[] months,
+				final int[] days, final int[] epochDays,
+				final int[] packedDates, final int[] badiYears,
+				final int[] badiMonths, final int[] badiDays,
+				final byte[] holydays, final int from, final int to) {
+			_years = years;
+			_months = months;
+			_days = days;
+			_epochDays = epochDays;
+			_packedDates = packedDates;
+			_badiYears = badiYears;
+			_badiMonths = badiMonths;
+			_badiDays = badiDays;
+			_holydays = holydays;
+			_from = from;
+			_to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (_to - _from <= SEQUENTIAL_CHUNK) {
+				convert();
+				return;
+			}
+			final int middle = (_from + _to) >>> 1;
+			invokeAll(split(_from, middle), split(middle, _to));
+		}
+
+		private ConversionTask split(final int from, final int to) {
+			return new ConversionTask(_years, _months, _days, _epochDays,
+					_packedDates, _badiYears, _badiMonths, _badiDays,
+					_holydays, from, to);
+		}
+
+		void convert() {
+			for (int i = _from; i < _to; i++) {
+				final int epochDay;
+				if (_epochDays != null) {
+					epochDay = _epochDays[i];
+					BadiDate.checkEpochDayForValidity(epochDay);
+				} else {
+					BadiDate.checkGregorianYearForValidity(_years[i]);
+					BadiDate.checkGregorianMonthAndDayForValidity(_years[i],
+							_months[i], _days[i]);
+					epochDay = BadiConversionTables.epochDayFromGregorian(
+							_years[i], _months[i], _days[i]);
+				}
+				final int packed = PackedBadiDate.packEpochDay(epochDay);
+				if (_packedDates != null) {
+					_packedDates[i] = packed;
+					continue;
+				}
+				_badiYears[i] = PackedBadiDate.getBadiYear(packed);
+				_badiMonths[i] = PackedBadiDate.getBadiMonth(packed);
+				_badiDays[i] = PackedBadiDate.getBadiDay(packed);
+				if (_holydays != null) {
+					_holydays[i] = (byte) PackedBadiDate.getHolydayIndex(packed);
+				}
+			}
+		}
+	}
+}
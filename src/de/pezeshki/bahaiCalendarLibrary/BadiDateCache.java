@@ -0,0 +1,62 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread safe cache of the canonical BadiDate instances. The cache holds one
+ * slot per day of the supported range; the slots of a Badi year are allocated
+ * when the first date of that year is requested.
+ */
+final class BadiDateCache {
+
+	private static final int DAYS_PER_YEAR_SLOT = 367;
+
+	private static final AtomicReferenceArray<AtomicReferenceArray<BadiDate>> YEARS = new AtomicReferenceArray<AtomicReferenceArray<BadiDate>>(
+			BadiDate.UPPER_YEAR_LIMIT_BADI + 1);
+
+	private BadiDateCache() {
+	}
+
+	/**
+	 * Returns the cached date of the normalized Badi year and day of the year
+	 * or null if it has not been created yet.
+	 */
+	static BadiDate get(final int badiYear, final int badiDoy) {
+		final AtomicReferenceArray<BadiDate> days = YEARS.get(badiYear);
+		return days == null ? null : days.get(badiDoy);
+	}
+
+	/**
+	 * Returns the canonical instance for the date. If another thread has
+	 * stored an instance for the same day first, that one is returned.
+	 */
+	static BadiDate intern(final BadiDate badiDate) {
+		final int badiYear = badiDate.getBadiYear();
+		AtomicReferenceArray<BadiDate> days = YEARS.get(badiYear);
+		if (days == null) {
+			YEARS.compareAndSet(badiYear, null,
+					new AtomicReferenceArray<BadiDate>(DAYS_PER_YEAR_SLOT));
+			days = YEARS.get(badiYear);
+		}
+		final int badiDoy = badiDate.getBadiDayOfYear();
+		if (days.compareAndSet(badiDoy, null, badiDate)) {
+			return badiDate;
+		}
+		return days.get(badiDoy);
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Fixed width binary form of Badi dates. A date is encoded as the 4 byte
+ * PackedBadiDate int in the byte order of the buffer, so the holyday is
+ * stored with the date. Decoding checks that the year, day of the year,
+ * month, day and holyday are consistent and throws an
+ * IllegalArgumentException otherwise. Writer and reader have to use the same
+ * byte order (ByteBuffer default: big endian).
+ */
+public final class BadiDateCodec {
+
+	/**
+	 * Number of bytes of an encoded date.
+	 */
+	public static final int ENCODED_SIZE = 4;
+
+	private BadiDateCodec() {
+	}
+
+	/**
+	 * Writes the date at the position of the buffer.
+	 */
+	public static void write(final BaseBadiDate badiDate,
+			final ByteBuffer buffer) {
+		buffer.putInt(PackedBadiDate.fromBadiDate(badiDate));
+	}
+
+	/**
+	 * Reads the date at the position of the buffer.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the bytes are not a valid encoded date
+	 */
+	public static BadiDate read(final ByteBuffer buffer)
+			throws IllegalArgumentException {
+		return toBadiDate(readPacked(buffer));
+	}
+
+	/**
+	 * Writes the PackedBadiDate at the position of the buffer.
+	 */
+	public static void writePacked(final int packedDate,
+			final ByteBuffer buffer) {
+		buffer.putInt(packedDate);
+	}
+
+	/**
+	 * Reads the PackedBadiDate at the position of the buffer.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the bytes are not a valid encoded date
+	 */
+	public static int readPacked(final ByteBuffer buffer)
+			throws IllegalArgumentException {
+		return checkPacked(buffer.getInt());
+	}
+
+	/**
+	 * Writes the dates from the offset of the array at the position of the
+	 * buffer.
+	 */
+	public static void writeAll(final BaseBadiDate[] badiDates,
+			final int offset, final int length, final ByteBuffer buffer) {
+		if (buffer.remaining() < length * ENCODED_SIZE) {
+			throw new BufferOverflowException();
+		}
+		for (int i = offset; i < offset + length; i++) {
+			buffer.putInt(PackedBadiDate.fromBadiDate(badiDates[i]));
+		}
+	}
+
+	/**
+	 * Reads dates at the position of the buffer into the array from the
+	 * offset.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the bytes are not valid encoded dates
+	 */
+	public static void readAll(final ByteBuffer buffer,
+			final BadiDate[] badiDates, final int offset, final int length)
+			throws IllegalArgumentException {
+		if (buffer.remaining() < length * ENCODED_SIZE) {
+			throw new BufferUnderflowException();
+		}
+		for (int i = offset; i < offset + length; i++) {
+			badiDates[i] = toBadiDate(checkPacked(buffer.getInt()));
+		}
+	}
+
+	/**
+	 * Writes the PackedBadiDates from the offset of the array at the position
+	 * of the buffer with one bulk copy.
+	 */
+	public static void writeAllPacked(final int[] packedDates,
+			final int offset, final int length, final ByteBuffer buffer) {
+		if (buffer.remaining() < length * ENCODED_SIZE) {
+			throw new BufferOverflowException();
+		}
+		buffer.asIntBuffer().put(packedDates, offset, length);
+		advance(buffer, length);
+	}
+
+	/**
+	 * Reads PackedBadiDates at the position of the buffer into the array from
+	 * the offset with one bulk copy.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the bytes are not valid encoded dates
+	 */
+	public static void readAllPacked(final ByteBuffer buffer,
+			final int[] packedDates, final int offset, final int length)
+			throws IllegalArgumentException {
+		if (buffer.remaining() < length * ENCODED_SIZE) {
+			throw new BufferUnderflowException();
+		}
+		final IntBuffer ints = buffer.asIntBuffer();
+		ints.get(packedDates, offset, length);
+		for (int i = offset; i < offset + length; i++) {
+			checkPacked(packedDates[i]);
+		}
+		advance(buffer, length);
+	}
+
+	/**
+	 * Returns the canonical BadiDate of a checked packed date. Unlike
+	 * PackedBadiDate.toBadiDate the dates of the year 0 before Naw-Ruz 1844
+	 * are accepted.
+	 */
+	static BadiDate toBadiDate(final int packedDate) {
+		return BadiDate.createFromBadiDoyAndYear(
+				PackedBadiDate.getBadiYear(packedDate),
+				PackedBadiDate.getBadiDayOfYear(packedDate));
+	}
+
+	/**
+	 * Returns the packed date if it is valid.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the packed date is not valid
+	 */
+	static int checkPacked(final int packedDate)
+			throws IllegalArgumentException {
+		final int badiYear = PackedBadiDate.getBadiYear(packedDate);
+		final int badiDoy = PackedBadiDate.getBadiDayOfYear(packedDate);
+		// month, day and holyday have to be the ones packed for the date
+		if (badiYear <= BadiDate.UPPER_YEAR_LIMIT_BADI && badiDoy >= 1
+				&& badiDoy <= BadiYearInfo.get(badiYear).getDaysInYear()
+				&& packedDate == PackedBadiDate.pack(badiYear, badiDoy)) {
+			return packedDate;
+		}
+		throw new IllegalArgumentException("Encoded Badi date 0x"
+				+ Integer.toHexString(packedDate) + " is invalid.");
+	}
+
+	private static void advance(final ByteBuffer buffer, final int length) {
+		buffer.position(buffer.position() + length * ENCODED_SIZE);
+	}
+}
@@ -0,0 +1,629 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Rewrites the date column of a CSV, TSV or fixed width file from Gregorian
+ * to Badi dates or the reverse. The input is memory mapped in segments of
+ * whole lines; the dates are parsed from and written as bytes, the segments
+ * are converted in parallel on the common fork-join pool and written in their
+ * original order. No object is created per row.
+ *
+ * <ul>
+ * <li>Delimited files: the Gregorian column (yyyy-MM-dd) is replaced by the
+ * three columns Badi year, month and day; in reverse the three Badi columns
+ * are replaced by one Gregorian column. Quoted fields are not supported.</li>
+ * <li>Fixed width files: the 10 bytes yyyy-MM-dd at the offset are replaced by
+ * the Badi date yyyy-MM-dd (year padded with zeros) or the reverse, so the
+ * width of the line is kept.</li>
+ * </ul>
+ *
+ * The same validation rules and year limits as for BadiDate apply; the first
+ * invalid row aborts the conversion with an IllegalArgumentException.
+ * BadiDateFileConverter is immutable and thread safe.
+ */
+public final class BadiDateFileConverter {
+
+	/**
+	 * Size of the segments that are converted at once.
+	 */
+	static final int SEGMENT_SIZE = 4 << 20;
+
+	private static final int DATE_LENGTH = 10;
+
+	private static final String[] BADI_HEADER = { "BadiYear", "BadiMonth",
+			"BadiDay" };
+	private static final String GREGORIAN_HEADER = "Date";
+
+	private static final String USAGE = "Usage: BadiDateFileConverter [options] <input> <output>\n"
+			+ "  -d <delimiter>  column delimiter, default ',' ('tab' for TSV)\n"
+			+ "  -c <column>     column of the date counted from 0, default 0\n"
+			+ "  -f <offset>     fixed width file with the date at the offset\n"
+			+ "  -g              convert Badi dates into Gregorian dates\n"
+			+ "  -h              the first line is a header";
+
+	private final boolean _fixedWidth;
+	private final byte _delimiter;
+	private final int _column;
+	private final int _offset;
+	private final boolean _toGregorian;
+	private final boolean _header;
+
+	private BadiDateFileConverter(final boolean fixedWidth,
+			final byte delimiter, final int column, final int offset,
+			final boolean toGregorian, final boolean header) {
+		_fixedWidth = fixedWidth;
+		_delimiter = delimiter;
+		_column = column;
+		_offset = offset;
+		_toGregorian = toGregorian;
+		_header = header;
+	}
+
+	/**
+	 * Returns a converter of Gregorian dates in the column (counted from 0)
+	 * of a delimited file.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the delimiter is not ASCII or the column is negative
+	 */
+	public static BadiDateFileConverter delimited(final char delimiter,
+			final int column) throws IllegalArgumentException {
+		if (delimiter >= 128 || delimiter == '\n' || delimiter == '\r') {
+			throw new IllegalArgumentException(
+					"Delimiter has to be an ASCII character.");
+		}
+		if (column < 0) {
+			throw new IllegalArgumentException(
+					"Column has to be greater than or equal to 0.");
+		}
+		return new BadiDateFileConverter(false, (byte) delimiter, column, 0,
+				false, false);
+	}
+
+	/**
+	 * Returns a converter of Gregorian dates at the byte offset of each line
+	 * of a fixed width file.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the offset is negative
+	 */
+	public static BadiDateFileConverter fixedWidth(final int offset)
+			throws IllegalArgumentException {
+		if (offset < 0) {
+			throw new IllegalArgumentException(
+					"Offset has to be greater than or equal to 0.");
+		}
+		return new BadiDateFileConverter(true, (byte) 0, 0, offset, false,
+				false);
+	}
+
+	/**
+	 * Returns a copy of the converter that converts Badi dates into Gregorian
+	 * dates.
+	 */
+	public BadiDateFileConverter toGregorian() {
+		return new BadiDateFileConverter(_fixedWidth, _delimiter, _column,
+				_offset, true, _header);
+	}
+
+	/**
+	 * Returns a copy of the converter that treats the first line as a header.
+	 * The names of the converted columns are replaced in delimited files.
+	 */
+	public BadiDateFileConverter withHeader() {
+		return new BadiDateFileConverter(_fixedWidth, _delimiter, _column,
+				_offset, _toGregorian, true);
+	}
+
+	/**
+	 * Converts the input file into the output file and returns the number of
+	 * converted rows.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a row has no valid date in the column
+	 */
+	public long convert(final Path input, final Path output)
+			throws IOException, IllegalArgumentException {
+		try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(output,
+						StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			final long size = in.size();
+			final boolean parallel = size > SEGMENT_SIZE;
+			final int maxPending = 2 * ForkJoinPool.getCommonPoolParallelism();
+			final ArrayDeque<Future<Chunk>> pending = new ArrayDeque<Future<Chunk>>();
+			long rows = 0;
+			long position = 0;
+			try {
+				while (position < size) {
+					final MappedByteBuffer segment = mapSegment(in, position,
+							size);
+					final Segment task = new Segment(segment, position,
+							position == 0);
+					position += segment.limit();
+					if (!parallel) {
+						rows += write(task.call(), out);
+						continue;
+					}
+					pending.add(ForkJoinPool.commonPool().submit(task));
+					if (pending.size() >= maxPending) {
+						rows += write(pending.poll(), out);
+					}
+				}
+				while (!pending.isEmpty()) {
+					rows += write(pending.poll(), out);
+				}
+			} finally {
+				for (final Future<Chunk> future : pending) {
+					future.cancel(false);
+				}
+			}
+			return rows;
+		}
+	}
+
+	/**
+	 * Maps the whole lines from the position, at most SEGMENT_SIZE bytes
+	 * unless a single line is longer.
+	 */
+	private static MappedByteBuffer mapSegment(final FileChannel in,
+			final long position, final long size) throws IOException {
+		long length = Math.min(SEGMENT_SIZE, size - position);
+		while (true) {
+			final MappedByteBuffer segment = in.map(
+					FileChannel.MapMode.READ_ONLY, position, length);
+			if (position + length == size) {
+				return segment;
+			}
+			for (int i = (int) length - 1; i >= 0; i--) {
+				if (segment.get(i) == '\n') {
+					segment.limit(i + 1);
+					return segment;
+				}
+			}
+			if (length == Integer.MAX_VALUE) {
+				throw new IllegalArgumentException(
+						"Lines have to be shorter than 2 GB.");
+			}
+			length = Math.min(Math.min(length * 2, Integer.MAX_VALUE), size
+					- position);
+		}
+	}
+
+	private static long write(final Future<Chunk> future,
+			final FileChannel out) throws IOException {
+		try {
+			return write(future.get(), out);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static long write(final Chunk chunk, final FileChannel out)
+			throws IOException {
+		if (chunk._failure != null) {
+			throw chunk._failure;
+		}
+		while (chunk._bytes.hasRemaining()) {
+			out.write(chunk._bytes);
+		}
+		return chunk._rows;
+	}
+
+	/**
+	 * Converts a file from the command line, see USAGE.
+	 */
+	public static void main(final String[] args) throws IOException {
+		final int status = run(args, System.out, System.err);
+		if (status != 0) {
+			System.exit(status);
+		}
+	}
+
+	/**
+	 * Converts a file from the command line and returns the exit status.
+	 * Invalid options are reported with USAGE, an invalid row of the input
+	 * only with its message.
+	 */
+	static int run(final String[] args, final PrintStream out,
+			final PrintStream err) throws IOException {
+		BadiDateFileConverter converter;
+		int i = 0;
+		try {
+			char delimiter = ',';
+			int column = 0;
+			int offset = -1;
+			boolean toGregorian = false;
+			boolean header = false;
+			for (; i < args.length && args[i].startsWith("-"); i++) {
+				final String option = args[i];
+				if ("-g".equals(option)) {
+					toGregorian = true;
+				} else if ("-h".equals(option)) {
+					header = true;
+				} else if ("-d".equals(option)) {
+					final String value = value(args, ++i, option);
+					delimiter = "tab".equals(value) || "\\t".equals(value) ? '\t'
+							: value.charAt(0);
+				} else if ("-c".equals(option)) {
+					column = intValue(args, ++i, option);
+				} else if ("-f".equals(option)) {
+					offset = intValue(args, ++i, option);
+				} else {
+					throw new IllegalArgumentException("Unknown option "
+							+ option);
+				}
+			}
+			if (args.length - i != 2) {
+				throw new IllegalArgumentException(
+						"Input and output file are missing.");
+			}
+			converter = offset >= 0 ? fixedWidth(offset) : delimited(
+					delimiter, column);
+			if (toGregorian) {
+				converter = converter.toGregorian();
+			}
+			if (header) {
+				converter = converter.withHeader();
+			}
+		} catch (final IllegalArgumentException e) {
+			err.println(e.getMessage());
+			err.println(USAGE);
+			return 1;
+		}
+		try {
+			final long rows = converter.convert(Paths.get(args[i]),
+					Paths.get(args[i + 1]));
+			out.println("Converted " + rows + " rows.");
+			return 0;
+		} catch (final IllegalArgumentException e) {
+			err.println(e.getMessage());
+			return 1;
+		}
+	}
+
+	private static String value(final String[] args, final int i,
+			final String option) throws IllegalArgumentException {
+		if (i >= args.length || args[i].isEmpty()) {
+			throw new IllegalArgumentException("Option " + option
+					+ " needs a value.");
+		}
+		return args[i];
+	}
+
+	private static int intValue(final String[] args, final int i,
+			final String option) throws IllegalArgumentException {
+		final String value = value(args, i, option);
+		try {
+			return Integer.parseInt(value);
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException("Option " + option
+					+ " needs a number, not '" + value + "'.");
+		}
+	}
+
+	/**
+	 * The converted bytes of a segment and the number of converted rows, or
+	 * the failure of the first invalid row. The failure is thrown by the
+	 * writing thread, so it reaches the caller unwrapped.
+	 */
+	private static final class Chunk {
+		final ByteBuffer _bytes;
+		final long _rows;
+		final IllegalArgumentException _failure;
+
+		Chunk(final ByteBuffer bytes, final long rows,
+				final IllegalArgumentException failure) {
+			_bytes = bytes;
+			_rows = rows;
+			_failure = failure;
+		}
+	}
+
+	/**
+	 * Converts the lines of one mapped segment.
+	 */
+	private final class Segment implements Callable<Chunk> {
+
+		private final ByteBuffer _in;
+		private final long _position;
+		private final boolean _first;
+		private final int[] _fields = new int[3];
+		private byte[] _out;
+		private int _length;
+
+		Segment(final ByteBuffer in, final long position, final boolean first) {
+			_in = in;
+			_position = position;
+			_first = first;
+		}
+
+		@Override
+		public Chunk call() {
+			try {
+				return convert();
+			} catch (final IllegalArgumentException e) {
+				return new Chunk(null, 0, e);
+			}
+		}
+
+		private Chunk convert() {
+			final int limit = _in.limit();
+			_out = new byte[limit + (limit >> 2) + 64];
+			long rows = 0;
+			int start = 0;
+			while (start < limit) {
+				int end = start;
+				while (end < limit && _in.get(end) != '\n') {
+					end++;
+				}
+				final int contentEnd = end > start && _in.get(end - 1) == '\r' ? end - 1
+						: end;
+				if (_first && start == 0 && _header) {
+					convertHeader(contentEnd);
+				} else if (contentEnd > start) {
+					try {
+						convertLine(start, contentEnd);
+					} catch (final IllegalArgumentException e) {
+						throw new IllegalArgumentException("Line at byte "
+								+ (_position + start) + ": " + e.getMessage(),
+								e);
+					}
+					rows++;
+				}
+				copy(contentEnd, Math.min(end + 1, limit));
+				start = end + 1;
+			}
+			return new Chunk(ByteBuffer.wrap(_out, 0, _length), rows, null);
+		}
+
+		private void convertLine(final int start, final int end) {
+			if (_fixedWidth) {
+				final int from = start + _offset;
+				if (from + DATE_LENGTH > end) {
+					throw new IllegalArgumentException(
+							"Line is shorter than the date field.");
+				}
+				parseDate(from, from + DATE_LENGTH);
+				copy(start, from);
+				if (_toGregorian) {
+					appendGregorian(badiToEpochDay());
+				} else {
+					appendBadi(gregorianToEpochDay(), '-', 4, 2);
+				}
+				copy(from + DATE_LENGTH, end);
+				return;
+			}
+			final int from = fieldStart(start, end, _column);
+			if (_toGregorian) {
+				final int monthStart = fieldStart(from, end, 1);
+				final int dayStart = fieldStart(monthStart, end, 1);
+				final int to = fieldEnd(dayStart, end);
+				_fields[0] = parseNumber(from, monthStart - 1);
+				_fields[1] = parseNumber(monthStart, dayStart - 1);
+				_fields[2] = parseNumber(dayStart, to);
+				copy(start, from);
+				appendGregorian(badiToEpochDay());
+				copy(to, end);
+			} else {
+				final int to = fieldEnd(from, end);
+				parseDate(from, to);
+				copy(start, from);
+				appendBadi(gregorianToEpochDay(), (char) _delimiter, 1, 1);
+				copy(to, end);
+			}
+		}
+
+		private void convertHeader(final int end) {
+			if (_fixedWidth) {
+				copy(0, end);
+				return;
+			}
+			final int from = fieldStart(0, end, _column);
+			final int to = fieldEnd(_toGregorian ? fieldStart(from, end, 2)
+					: from, end);
+			copy(0, from);
+			if (_toGregorian) {
+				append(GREGORIAN_HEADER);
+			} else {
+				for (int i = 0; i < BADI_HEADER.length; i++) {
+					if (i > 0) {
+						append((char) _delimiter);
+					}
+					append(BADI_HEADER[i]);
+				}
+			}
+			copy(to, end);
+		}
+
+		/**
+		 * Returns the start of the field count fields after the field that
+		 * starts at from.
+		 */
+		private int fieldStart(final int from, final int end, final int count) {
+			int start = from;
+			for (int field = 0; field < count; field++) {
+				start = fieldEnd(start, end);
+				if (start == end) {
+					throw new IllegalArgumentException(
+							"Line has not enough columns.");
+				}
+				start++;
+			}
+			return start;
+		}
+
+		private int fieldEnd(final int from, final int end) {
+			int i = from;
+			while (i < end && _in.get(i) != _delimiter) {
+				i++;
+			}
+			return i;
+		}
+
+		/**
+		 * Parses a date y-M-d into the fields.
+		 */
+		private void parseDate(final int from, final int to) {
+			int start = from;
+			for (int field = 0; field < 3; field++) {
+				int i = start;
+				while (i < to && _in.get(i) != '-') {
+					i++;
+				}
+				if (field < 2 && i == to || field == 2 && i != to) {
+					throw invalidDate(from, to);
+				}
+				_fields[field] = parseNumber(start, i);
+				start = i + 1;
+			}
+		}
+
+		private int parseNumber(final int from, final int to) {
+			if (from >= to || to - from > 9) {
+				throw invalidDate(from, to);
+			}
+			int value = 0;
+			for (int i = from; i < to; i++) {
+				final byte b = _in.get(i);
+				if (b < '0' || b > '9') {
+					throw invalidDate(from, to);
+				}
+				value = value * 10 + b - '0';
+			}
+			return value;
+		}
+
+		private IllegalArgumentException invalidDate(final int from,
+				final int to) {
+			final byte[] text = new byte[Math.max(0, to - from)];
+			for (int i = 0; i < text.length; i++) {
+				text[i] = _in.get(from + i);
+			}
+			return new IllegalArgumentException("Invalid date '"
+					+ new String(text, StandardCharsets.ISO_8859_1) + "'.");
+		}
+
+		private int gregorianToEpochDay() {
+			BadiDate.checkGregorianYearForValidity(_fields[0]);
+			BadiDate.checkGregorianMonthAndDayForValidity(_fields[0],
+					_fields[1], _fields[2]);
+			return BadiConversionTables.epochDayFromGregorian(_fields[0],
+					_fields[1], _fields[2]);
+		}
+
+		private int badiToEpochDay() {
+			BadiDate.checkBadiDayAndMonthForValidity(_fields[2], _fields[1]);
+			BadiDate.checkBadiYearForValidity(_fields[0]);
+			final BadiYearInfo yearInfo = BadiYearInfo.get(_fields[0]);
+			if (_fields[2] > yearInfo.getDaysInMonth(_fields[1])) {
+				throw new IllegalArgumentException("Badi day has to be less than or equal to  "
+						+ yearInfo.getDaysInMonth(_fields[1]) + ".");
+			}
+			return yearInfo.getNawRuzEpochDay()
+					+ yearInfo.getBadiDayOfYear(_fields[1], _fields[2]) - 1;
+		}
+
+		private void appendBadi(final int epochDay, final char separator,
+				final int yearWidth, final int width) {
+			final int packed = PackedBadiDate.packEpochDay(epochDay);
+			appendNumber(PackedBadiDate.getBadiYear(packed), yearWidth);
+			append(separator);
+			appendNumber(PackedBadiDate.getBadiMonth(packed), width);
+			append(separator);
+			appendNumber(PackedBadiDate.getBadiDay(packed), width);
+		}
+
+		private void appendGregorian(final int epochDay) {
+			appendNumber(
+					BadiConversionTables.gregorianYearFromEpochDay(epochDay), 4);
+			append('-');
+			appendNumber(
+					BadiConversionTables.gregorianMonthFromEpochDay(epochDay),
+					2);
+			append('-');
+			appendNumber(
+					BadiConversionTables.gregorianDayFromEpochDay(epochDay), 2);
+		}
+
+		private void appendNumber(final int value, final int width) {
+			int digits = 1;
+			int divisor = 1;
+			while (divisor <= value / 10) {
+				divisor *= 10;
+				digits++;
+			}
+			ensure(Math.max(digits, width));
+			for (int pad = digits; pad < width; pad++) {
+				_out[_length++] = '0';
+			}
+			for (; divisor > 0; divisor /= 10) {
+				_out[_length++] = (byte) ('0' + value / divisor % 10);
+			}
+		}
+
+		private void append(final char c) {
+			ensure(1);
+			_out[_length++] = (byte) c;
+		}
+
+		private void append(final String text) {
+			ensure(text.length());
+			for (int i = 0; i < text.length(); i++) {
+				_out[_length++] = (byte) text.charAt(i);
+			}
+		}
+
+		private void copy(final int from, final int to) {
+			ensure(to - from);
+			for (int i = from; i < to; i++) {
+				_out[_length++] = _in.get(i);
+			}
+		}
+
+		private void ensure(final int bytes) {
+			if (_length + bytes > _out.length) {
+				_out = Arrays.copyOf(_out,
+						Math.max(_out.length * 2, _length + bytes));
+			}
+		}
+	}
+}
@@ -0,0 +1,508 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pattern based formatter and parser of Badi dates. BadiDateFormat is
+ * immutable and thread safe. The pattern letters are:
+ *
+ * <pre>
+ * y      Badi year               174
+ * M, MM  Badi month              3, 03 (Ayyam'i'Ha=19; Ala=20)
+ * MMM    transliterated month    Jamal, Ayyam'i'Ha
+ * d, dd  Badi day of the month   9, 09
+ * D      Badi day of the year    47
+ * V      vahid                   10
+ * v      year in the vahid       3
+ * K      Kull-i-Shay             1
+ * 'text' literal text, '' is a single quote
+ * </pre>
+ *
+ * The number of letters of a numeric field is its minimum width, padded with
+ * zeros. Other characters than letters are copied as they are. Formatting
+ * appends directly to an Appendable and parsing reads from a CharSequence, so
+ * neither creates intermediate objects.
+ */
+public final class BadiDateFormat {
+
+	private static final String[] MONTH_NAMES = { null, "Baha", "Jalal",
+			"Jamal", "Azamat", "Nur", "Rahmat", "Kalimat", "Kamal", "Asma",
+			"Izzat", "Mashiyyat", "Ilm", "Qudrat", "Qawl", "Masa'il",
+			"Sharaf", "Sultan", "Mulk", "Ayyam'i'Ha", "Ala" };
+
+	private static final int LITERAL = 0;
+	private static final int YEAR = 1;
+	private static final int MONTH = 2;
+	private static final int MONTH_NAME = 3;
+	private static final int DAY = 4;
+	private static final int DAY_OF_YEAR = 5;
+	private static final int VAHID = 6;
+	private static final int YEAR_IN_VAHID = 7;
+	private static final int KULL_I_SHAY = 8;
+
+	private static final int WIDTH_BITS = 16;
+	private static final int MAX_DIGITS = 9;
+
+	private final String _pattern;
+
+	/**
+	 * The field of each element in the upper and the width (or index of the
+	 * literal) in the lower 16 bits.
+	 */
+	private final int[] _elements;
+	private final String[] _literals;
+
+	private BadiDateFormat(final String pattern, final int[] elements,
+			final String[] literals) {
+		_pattern = pattern;
+		_elements = elements;
+		_literals = literals;
+	}
+
+	/**
+	 * Creates a format of the pattern.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the pattern contains an unknown letter or an unclosed quote
+	 */
+	public static BadiDateFormat ofPattern(final String pattern)
+			throws IllegalArgumentException {
+		final List<Integer> elements = new ArrayList<Integer>();
+		final List<String> literals = new ArrayList<String>();
+		final StringBuilder literal = new StringBuilder();
+		int i = 0;
+		while (i < pattern.length()) {
+			final char c = pattern.charAt(i);
+			if (c == '\'') {
+				i = appendQuoted(pattern, i, literal);
+				continue;
+			}
+			if (!isLetter(c)) {
+				literal.append(c);
+				i++;
+				continue;
+			}
+			int count = 1;
+			while (i + count < pattern.length()
+					&& pattern.charAt(i + count) == c) {
+				count++;
+			}
+			if (literal.length() > 0) {
+				elements.add(LITERAL << WIDTH_BITS | literals.size());
+				literals.add(literal.toString());
+				literal.setLength(0);
+			}
+			elements.add(field(c, count, pattern) << WIDTH_BITS
+					| Math.min(count, MAX_DIGITS));
+			i += count;
+		}
+		if (literal.length() > 0) {
+			elements.add(LITERAL << WIDTH_BITS | literals.size());
+			literals.add(literal.toString());
+		}
+		final int[] compiled = new int[elements.size()];
+		for (int index = 0; index < compiled.length; index++) {
+			compiled[index] = elements.get(index);
+		}
+		return new BadiDateFormat(pattern, compiled,
+				literals.toArray(new String[literals.size()]));
+	}
+
+	/**
+	 * Appends the text quoted at the index to the literal and returns the
+	 * index after the closing quote. Two quotes stand for one quote, both
+	 * outside and inside quoted text.
+	 */
+	private static int appendQuoted(final String pattern, final int start,
+			final StringBuilder literal) {
+		if (start + 1 < pattern.length() && pattern.charAt(start + 1) == '\'') {
+			literal.append('\'');
+			return start + 2;
+		}
+		int i = start + 1;
+		while (i < pattern.length()) {
+			final char c = pattern.charAt(i);
+			if (c != '\'') {
+				literal.append(c);
+				i++;
+			} else if (i + 1 < pattern.length()
+					&& pattern.charAt(i + 1) == '\'') {
+				literal.append('\'');
+				i += 2;
+			} else {
+				return i + 1;
+			}
+		}
+		throw new IllegalArgumentException("Pattern has an unclosed quote: "
+				+ pattern);
+	}
+
+	private static int field(final char letter, final int count,
+			final String pattern) {
+		switch (letter) {
+		case 'y':
+			return YEAR;
+		case 'M':
+			return count >= 3 ? MONTH_NAME : MONTH;
+		case 'd':
+			return DAY;
+		case 'D':
+			return DAY_OF_YEAR;
+		case 'V':
+			return VAHID;
+		case 'v':
+			return YEAR_IN_VAHID;
+		case 'K':
+			return KULL_I_SHAY;
+		default:
+			throw new IllegalArgumentException("Unknown pattern letter '"
+					+ letter + "' in " + pattern);
+		}
+	}
+
+	private static boolean isLetter(final char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+	}
+
+	/**
+	 * Returns the transliterated name of the Badi month (Baha=1;
+	 * Ayyam'i'Ha=19; Ala=20).
+	 */
+	public static String getMonthName(final int badiMonth) {
+		BadiDate.checkBadiDayAndMonthForValidity(1, badiMonth);
+		return MONTH_NAMES[badiMonth];
+	}
+
+	/**
+	 * Returns the pattern of the format.
+	 */
+	public String getPattern() {
+		return _pattern;
+	}
+
+	/**
+	 * Returns the formatted date.
+	 */
+	public String format(final BaseBadiDate badiDate) {
+		return format(badiDate, new StringBuilder(32)).toString();
+	}
+
+	/**
+	 * Appends the formatted date to the StringBuilder and returns it.
+	 */
+	public StringBuilder format(final BaseBadiDate badiDate,
+			final StringBuilder builder) {
+		try {
+			format(badiDate, (Appendable) builder);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new IllegalStateException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends the formatted date to the Appendable.
+	 */
+	public void format(final BaseBadiDate badiDate, final Appendable out)
+			throws IOException {
+		format(badiDate.getBadiYear(), badiDate.getBadiMonth(),
+				badiDate.getBadiDay(), badiDate.getBadiDayOfYear(),
+				badiDate.getVahid(), badiDate.getYearInVahid(),
+				badiDate.getKullIShay(), out);
+	}
+
+	/**
+	 * Appends the formatted PackedBadiDate to the StringBuilder and returns
+	 * it.
+	 */
+	public StringBuilder formatPacked(final int packedDate,
+			final StringBuilder builder) {
+		try {
+			formatPacked(packedDate, (Appendable) builder);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new IllegalStateException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends the formatted PackedBadiDate to the Appendable.
+	 */
+	public void formatPacked(final int packedDate, final Appendable out)
+			throws IOException {
+		final int badiYear = PackedBadiDate.getBadiYear(packedDate);
+		format(badiYear, PackedBadiDate.getBadiMonth(packedDate),
+				PackedBadiDate.getBadiDay(packedDate),
+				PackedBadiDate.getBadiDayOfYear(packedDate),
+				BadiDate.vahid(badiYear), BadiDate.yearInVahid(badiYear),
+				BadiDate.kullIShay(badiYear), out);
+	}
+
+	private void format(final int badiYear, final int badiMonth,
+			final int badiDay, final int badiDoy, final int vahid,
+			final int yearInVahid, final int kullIShay, final Appendable out)
+			throws IOException {
+		for (final int element : _elements) {
+			final int width = element & (1 << WIDTH_BITS) - 1;
+			switch (element >>> WIDTH_BITS) {
+			case LITERAL:
+				out.append(_literals[width]);
+				break;
+			case YEAR:
+				appendNumber(out, badiYear, width);
+				break;
+			case MONTH:
+				appendNumber(out, badiMonth, width);
+				break;
+			case MONTH_NAME:
+				out.append(MONTH_NAMES[badiMonth]);
+				break;
+			case DAY:
+				appendNumber(out, badiDay, width);
+				break;
+			case DAY_OF_YEAR:
+				appendNumber(out, badiDoy, width);
+				break;
+			case VAHID:
+				appendNumber(out, vahid, width);
+				break;
+			case YEAR_IN_VAHID:
+				appendNumber(out, yearInVahid, width);
+				break;
+			default:
+				appendNumber(out, kullIShay, width);
+				break;
+			}
+		}
+	}
+
+	private static void appendNumber(final Appendable out, final int value,
+			final int width) throws IOException {
+		int digits = 1;
+		int divisor = 1;
+		while (divisor <= value / 10) {
+			divisor *= 10;
+			digits++;
+		}
+		for (int pad = digits; pad < width; pad++) {
+			out.append('0');
+		}
+		for (; divisor > 0; divisor /= 10) {
+			out.append((char) ('0' + value / divisor % 10));
+		}
+	}
+
+	/**
+	 * Parses the whole text.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the text does not match the pattern or is not a valid date
+	 */
+	public BadiDate parse(final CharSequence text)
+			throws IllegalArgumentException {
+		final ParsePosition position = new ParsePosition(0);
+		final int packedDate = parse(text, position);
+		if (packedDate == PackedBadiDate.INVALID
+				|| position.getIndex() < text.length()) {
+			final int errorIndex = position.getErrorIndex() >= 0 ? position
+					.getErrorIndex() : position.getIndex();
+			throw new IllegalArgumentException("Text '" + text
+					+ "' could not be parsed at index " + errorIndex + ".");
+		}
+		return PackedBadiDate.toBadiDate(packedDate);
+	}
+
+	/**
+	 * Parses the text from the index of the position and returns the
+	 * PackedBadiDate. On success the index is set after the parsed text; on
+	 * failure the index is unchanged, the error index is set and
+	 * PackedBadiDate.INVALID is returned. Nothing is allocated.
+	 */
+	public int parse(final CharSequence text, final ParsePosition position) {
+		int index = position.getIndex();
+		int badiYear = -1;
+		int badiMonth = -1;
+		int badiDay = -1;
+		int badiDoy = -1;
+		int vahid = -1;
+		int yearInVahid = -1;
+		int kullIShay = -1;
+		for (int element = 0; element < _elements.length; element++) {
+			final int width = _elements[element] & (1 << WIDTH_BITS) - 1;
+			final int field = _elements[element] >>> WIDTH_BITS;
+			if (field == LITERAL) {
+				final String literal = _literals[width];
+				if (!regionMatches(text, index, literal, false)) {
+					return fail(position, index);
+				}
+				index += literal.length();
+				continue;
+			}
+			if (field == MONTH_NAME) {
+				badiMonth = parseMonthName(text, index);
+				if (badiMonth < 0) {
+					return fail(position, index);
+				}
+				index += MONTH_NAMES[badiMonth].length();
+				continue;
+			}
+			// Adjacent numbers like yyyMMdd are read with their exact width
+			final boolean fixedWidth = element + 1 < _elements.length
+					&& isNumeric(_elements[element + 1] >>> WIDTH_BITS);
+			final int maxDigits = fixedWidth ? width : MAX_DIGITS;
+			int value = 0;
+			int digits = 0;
+			while (digits < maxDigits && index + digits < text.length()) {
+				final char c = text.charAt(index + digits);
+				if (c < '0' || c > '9') {
+					break;
+				}
+				value = value * 10 + c - '0';
+				digits++;
+			}
+			if (digits == 0 || fixedWidth && digits < width) {
+				return fail(position, index);
+			}
+			index += digits;
+			switch (field) {
+			case YEAR:
+				badiYear = value;
+				break;
+			case MONTH:
+				badiMonth = value;
+				break;
+			case DAY:
+				badiDay = value;
+				break;
+			case DAY_OF_YEAR:
+				badiDoy = value;
+				break;
+			case VAHID:
+				vahid = value;
+				break;
+			case YEAR_IN_VAHID:
+				yearInVahid = value;
+				break;
+			default:
+				kullIShay = value;
+				break;
+			}
+		}
+		final int packedDate = resolve(badiYear, badiMonth, badiDay, badiDoy,
+				vahid, yearInVahid, kullIShay);
+		if (packedDate == PackedBadiDate.INVALID) {
+			return fail(position, position.getIndex());
+		}
+		position.setIndex(index);
+		return packedDate;
+	}
+
+	/**
+	 * Returns the packed date of the parsed fields or INVALID if they are
+	 * missing, out of bound or contradict each other.
+	 */
+	private static int resolve(int badiYear, final int badiMonth,
+			final int badiDay, final int badiDoy, final int vahid,
+			final int yearInVahid, final int kullIShay) {
+		if (badiYear < 0) {
+			if (vahid < 1 || vahid > 19 || yearInVahid < 1 || yearInVahid > 19
+					|| kullIShay == 0) {
+				return PackedBadiDate.INVALID;
+			}
+			badiYear = BadiDate.badiYear(kullIShay < 0 ? 1 : kullIShay, vahid,
+					yearInVahid);
+		}
+		if (badiYear < 1 || badiYear > BadiDate.UPPER_YEAR_LIMIT_BADI
+				|| vahid >= 0 && vahid != BadiDate.vahid(badiYear)
+				|| yearInVahid >= 0
+				&& yearInVahid != BadiDate.yearInVahid(badiYear)
+				|| kullIShay >= 0 && kullIShay != BadiDate.kullIShay(badiYear)) {
+			return PackedBadiDate.INVALID;
+		}
+		final BadiYearInfo yearInfo = BadiYearInfo.get(badiYear);
+		final int doy;
+		if (badiMonth >= 0 || badiDay >= 0) {
+			if (badiMonth < 1 || badiMonth > 20 || badiDay < 1
+					|| badiDay > yearInfo.getDaysInMonth(badiMonth)) {
+				return PackedBadiDate.INVALID;
+			}
+			doy = yearInfo.getBadiDayOfYear(badiMonth, badiDay);
+			if (badiDoy >= 0 && badiDoy != doy) {
+				return PackedBadiDate.INVALID;
+			}
+		} else {
+			if (badiDoy < 1 || badiDoy > yearInfo.getDaysInYear()) {
+				return PackedBadiDate.INVALID;
+			}
+			doy = badiDoy;
+		}
+		return PackedBadiDate.pack(badiYear, doy);
+	}
+
+	private static int fail(final ParsePosition position, final int errorIndex) {
+		position.setErrorIndex(errorIndex);
+		return PackedBadiDate.INVALID;
+	}
+
+	private static boolean isNumeric(final int field) {
+		return field != LITERAL && field != MONTH_NAME;
+	}
+
+	/**
+	 * Returns the month whose name is at the index (ignoring case), the
+	 * longest name if several match, or -1.
+	 */
+	private static int parseMonthName(final CharSequence text, final int index) {
+		int month = -1;
+		for (int candidate = 1; candidate < MONTH_NAMES.length; candidate++) {
+			if (regionMatches(text, index, MONTH_NAMES[candidate], true)
+					&& (month < 0 || MONTH_NAMES[candidate].length() > MONTH_NAMES[month]
+							.length())) {
+				month = candidate;
+			}
+		}
+		return month;
+	}
+
+	private static boolean regionMatches(final CharSequence text,
+			final int index, final String expected, final boolean ignoreCase) {
+		if (index + expected.length() > text.length()) {
+			return false;
+		}
+		for (int i = 0; i < expected.length(); i++) {
+			final char c = text.charAt(index + i);
+			final char e = expected.charAt(i);
+			if (c != e
+					&& (!ignoreCase || Character.toLowerCase(c) != Character
+							.toLowerCase(e))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return _pattern;
+	}
+}
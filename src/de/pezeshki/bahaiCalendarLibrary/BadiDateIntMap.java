@@ -0,0 +1,121 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * An int value per day, e.g. a counter, stored in an array indexed by the
+ * day. Days without a value have the value 0. The array only covers the span
+ * between the first and the last day that has been set. BadiDateIntMap is
+ * not thread safe.
+ */
+public final class BadiDateIntMap {
+
+	private static final int[] EMPTY = new int[0];
+
+	/**
+	 * _values[i] is the value of the epoch day
+	 * _window.getFirstEpochDay() + i.
+	 */
+	private final EpochDayWindow _window = new EpochDayWindow();
+	private int[] _values = EMPTY;
+
+	/**
+	 * Returns the value of the date or 0.
+	 */
+	public int get(final BaseBadiDate badiDate) {
+		return get(badiDate.toEpochDay());
+	}
+
+	/**
+	 * Returns the value of the epoch day (days since 1970-01-01) or 0.
+	 */
+	public int get(final long epochDay) {
+		final int index = _window.indexOf(epochDay);
+		return index < 0 ? 0 : _values[index];
+	}
+
+	/**
+	 * Sets the value of the date and returns the previous value.
+	 */
+	public int put(final BaseBadiDate badiDate, final int value) {
+		return put(badiDate.toEpochDay(), value);
+	}
+
+	/**
+	 * Sets the value of the epoch day and returns the previous value.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public int put(final long epochDay, final int value)
+			throws IllegalArgumentException {
+		final int index = ensureIndex(epochDay);
+		final int previous = _values[index];
+		_values[index] = value;
+		return previous;
+	}
+
+	/**
+	 * Adds the delta to the value of the date and returns the new value.
+	 */
+	public int add(final BaseBadiDate badiDate, final int delta) {
+		return add(badiDate.toEpochDay(), delta);
+	}
+
+	/**
+	 * Adds the delta to the value of the epoch day and returns the new value.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public int add(final long epochDay, final int delta)
+			throws IllegalArgumentException {
+		final int index = ensureIndex(epochDay);
+		return _values[index] += delta;
+	}
+
+	/**
+	 * Calls the action for every day with a value other than 0 in
+	 * chronological order.
+	 */
+	public void forEach(final ObjIntConsumer<? super BadiDate> action) {
+		for (int i = 0; i < _values.length; i++) {
+			if (_values[i] != 0) {
+				action.accept(BadiDate.createFromValidEpochDay(_window.getFirstEpochDay() + i),
+						_values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Sets all values to 0.
+	 */
+	public void clear() {
+		_window.clear();
+		_values = EMPTY;
+	}
+
+	/**
+	 * Grows the values to cover the epoch day and returns its index in the
+	 * values.
+	 */
+	private int ensureIndex(final long epochDay) {
+		_values = _window.cover(_values, epochDay, int[]::new);
+		return _window.indexOf(epochDay);
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A value per day stored in an array indexed by the day, so lookups need
+ * neither boxing nor hashing of the date. Null values are not stored; putting
+ * null removes the day. The array only covers the span between the first and
+ * the last day that has been put. BadiDateObjectMap is not thread safe.
+ */
+public final class BadiDateObjectMap<V> {
+
+	private static final Object[] EMPTY = new Object[0];
+
+	/**
+	 * _values[i] is the value of the epoch day
+	 * _window.getFirstEpochDay() + i.
+	 */
+	private final EpochDayWindow _window = new EpochDayWindow();
+	private Object[] _values = EMPTY;
+	private int _size;
+
+	/**
+	 * Returns the value of the date or null.
+	 */
+	public V get(final BaseBadiDate badiDate) {
+		return get(badiDate.toEpochDay());
+	}
+
+	/**
+	 * Returns the value of the epoch day (days since 1970-01-01) or null.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(final long epochDay) {
+		final int index = _window.indexOf(epochDay);
+		return index < 0 ? null : (V) _values[index];
+	}
+
+	/**
+	 * Returns true if the date has a value.
+	 */
+	public boolean containsKey(final BaseBadiDate badiDate) {
+		return get(badiDate.toEpochDay()) != null;
+	}
+
+	/**
+	 * Sets the value of the date and returns the previous value or null.
+	 */
+	public V put(final BaseBadiDate badiDate, final V value) {
+		return put(badiDate.toEpochDay(), value);
+	}
+
+	/**
+	 * Sets the value of the epoch day and returns the previous value or null.
+	 * A null value removes the day.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public V put(final long epochDay, final V value)
+			throws IllegalArgumentException {
+		if (value == null) {
+			BadiDate.checkEpochDayForValidity(epochDay);
+			return remove(epochDay);
+		}
+		final int index = ensureIndex(epochDay);
+		@SuppressWarnings("unchecked")
+		final V previous = (V) _values[index];
+		_values[index] = value;
+		if (previous == null) {
+			_size++;
+		}
+		return previous;
+	}
+
+	/**
+	 * Removes the date and returns its value or null.
+	 */
+	public V remove(final BaseBadiDate badiDate) {
+		return remove(badiDate.toEpochDay());
+	}
+
+	/**
+	 * Removes the epoch day and returns its value or null.
+	 */
+	public V remove(final long epochDay) {
+		final V previous = get(epochDay);
+		if (previous != null) {
+			_values[_window.indexOf(epochDay)] = null;
+			_size--;
+		}
+		return previous;
+	}
+
+	/**
+	 * Returns the number of days with a value.
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Returns true if no day has a value.
+	 */
+	public boolean isEmpty() {
+		return _size == 0;
+	}
+
+	/**
+	 * Removes all days.
+	 */
+	public void clear() {
+		_window.clear();
+		_values = EMPTY;
+		_size = 0;
+	}
+
+	/**
+	 * Calls the action for every day with a value in chronological order.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(final BiConsumer<? super BadiDate, ? super V> action) {
+		for (int i = 0; i < _values.length; i++) {
+			if (_values[i] != null) {
+				action.accept(BadiDate.createFromValidEpochDay(_window.getFirstEpochDay() + i),
+						(V) _values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Grows the values to cover the epoch day and returns its index in the
+	 * values.
+	 */
+	private int ensureIndex(final long epochDay) {
+		_values = _window.cover(_values, epochDay, Object[]::new);
+		return _window.indexOf(epochDay);
+	}
+}
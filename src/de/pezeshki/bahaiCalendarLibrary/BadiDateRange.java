@@ -0,0 +1,219 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A range of Badi dates from a start date (inclusive) to an end date
+ * (exclusive), either every day or every feast (first day of a month as
+ * returned by getNextFeastDate). The dates are stepped incrementally from the
+ * previous one; the spliterator splits in constant time, so parallel streams
+ * scale with the number of cores.
+ */
+public final class BadiDateRange implements Iterable<BadiDate> {
+
+	private static final int MONTHS_IN_YEAR = 20;
+
+	private final boolean _feasts;
+	private final int _from;
+	private final int _to;
+
+	private BadiDateRange(final boolean feasts, final int from, final int to) {
+		_feasts = feasts;
+		_from = from;
+		_to = to;
+	}
+
+	/**
+	 * Returns every day from the start date until the day before the end date.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the end date is before the start date
+	 */
+	public static BadiDateRange days(final BaseBadiDate start,
+			final BaseBadiDate end) throws IllegalArgumentException {
+		checkOrder(start, end);
+		return new BadiDateRange(false, (int) start.toEpochDay(),
+				(int) end.toEpochDay());
+	}
+
+	/**
+	 * Returns every feast (or 1st day of Ayyam'i'Ha) from the start date until
+	 * the day before the end date.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the end date is before the start date
+	 */
+	public static BadiDateRange feasts(final BaseBadiDate start,
+			final BaseBadiDate end) throws IllegalArgumentException {
+		checkOrder(start, end);
+		return new BadiDateRange(true, firstFeastOrdinal(start),
+				firstFeastOrdinal(end));
+	}
+
+	/**
+	 * Returns the number of dates in the range.
+	 */
+	public int size() {
+		return _to - _from;
+	}
+
+	@Override
+	public Iterator<BadiDate> iterator() {
+		return Spliterators.iterator(spliterator());
+	}
+
+	@Override
+	public Spliterator<BadiDate> spliterator() {
+		return new RangeSpliterator(_feasts, _from, _to);
+	}
+
+	/**
+	 * Returns a sequential stream of the dates. Use parallel() for a parallel
+	 * stream.
+	 */
+	public Stream<BadiDate> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	private static void checkOrder(final BaseBadiDate start,
+			final BaseBadiDate end) throws IllegalArgumentException {
+		if (end.toEpochDay() < start.toEpochDay()) {
+			throw new IllegalArgumentException(
+					"End date has to be after the start date.");
+		}
+	}
+
+	/**
+	 * Returns the month ordinal (year * 20 + month - 1) of the first feast on
+	 * or after the date.
+	 */
+	private static int firstFeastOrdinal(final BaseBadiDate date) {
+		final int ordinal = date.getBadiYear() * MONTHS_IN_YEAR
+				+ date.getBadiMonth() - 1;
+		return date.getBadiDay() == 1 ? ordinal : ordinal + 1;
+	}
+
+	private static final class RangeSpliterator implements Spliterator<BadiDate> {
+
+		private final boolean _feasts;
+		private int _index;
+		private final int _end;
+		private int _badiYear;
+		private int _badiMonth;
+		private int _badiDoy;
+		private boolean _positioned;
+
+		RangeSpliterator(final boolean feasts, final int from, final int to) {
+			_feasts = feasts;
+			_index = from;
+			_end = to;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super BadiDate> action) {
+			if (_index >= _end) {
+				return false;
+			}
+			if (_positioned) {
+				step();
+			} else {
+				position();
+			}
+			_index++;
+			action.accept(BadiDate.createFromBadiDoyAndYear(_badiYear, _badiDoy));
+			return true;
+		}
+
+		/**
+		 * Sets the cursor to the current index (epoch day or month ordinal).
+		 */
+		private void position() {
+			if (_feasts) {
+				_badiYear = _index / MONTHS_IN_YEAR;
+				_badiMonth = _index % MONTHS_IN_YEAR + 1;
+				_badiDoy = BadiConversionTables.badiDoyFromMonthAndDay(
+						_badiYear, _badiMonth, 1);
+			} else {
+				_badiYear = BadiConversionTables.badiYearFromEpochDay(_index);
+				_badiDoy = BadiConversionTables.badiDoyFromEpochDay(_index,
+						_badiYear);
+			}
+			_positioned = true;
+		}
+
+		/**
+		 * Moves the cursor one day or one month forward.
+		 */
+		private void step() {
+			if (_feasts) {
+				if (_badiMonth == MONTHS_IN_YEAR) {
+					_badiYear++;
+					_badiMonth = 1;
+				} else {
+					_badiMonth++;
+				}
+				_badiDoy = BadiConversionTables.badiDoyFromMonthAndDay(
+						_badiYear, _badiMonth, 1);
+				return;
+			}
+			_badiDoy++;
+			if (_badiDoy > BadiConversionTables.DAYS_BEFORE_AYYAMIHA
+					&& _badiDoy > BadiConversionTables.daysInYear(_badiYear)) {
+				_badiYear++;
+				_badiDoy = 1;
+			}
+		}
+
+		@Override
+		public Spliterator<BadiDate> trySplit() {
+			final int remaining = _end - _index;
+			if (remaining < 2) {
+				return null;
+			}
+			final int middle = _index + remaining / 2;
+			final RangeSpliterator prefix = new RangeSpliterator(_feasts,
+					_index, middle);
+			_index = middle;
+			_positioned = false;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return _end - _index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE | SIZED
+					| SUBSIZED;
+		}
+
+		@Override
+		public Comparator<? super BadiDate> getComparator() {
+			// natural order of BadiDate
+			return null;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * Serialized form of BadiDate: the 4 byte PackedBadiDate of BadiDateCodec.
+ * Deserialization resolves to the canonical BadiDate instance.
+ */
+final class BadiDateSerializedForm implements Externalizable {
+
+	private static final long serialVersionUID = 1L;
+
+	private int _packedDate;
+
+	/**
+	 * Constructor for deserialization.
+	 */
+	public BadiDateSerializedForm() {
+	}
+
+	BadiDateSerializedForm(final BadiDate badiDate) {
+		_packedDate = PackedBadiDate.fromBadiDate(badiDate);
+	}
+
+	@Override
+	public void writeExternal(final ObjectOutput out) throws IOException {
+		out.writeInt(_packedDate);
+	}
+
+	@Override
+	public void readExternal(final ObjectInput in) throws IOException {
+		_packedDate = in.readInt();
+	}
+
+	private Object readResolve() throws InvalidObjectException {
+		try {
+			return BadiDateCodec.toBadiDate(BadiDateCodec
+					.checkPacked(_packedDate));
+		} catch (final IllegalArgumentException e) {
+			throw new InvalidObjectException(e.getMessage());
+		}
+	}
+}
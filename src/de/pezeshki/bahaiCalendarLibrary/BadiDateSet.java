@@ -0,0 +1,371 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of days as a bitset over the epoch days from 1844 to
+ * UPPER_YEAR_LIMIT. The words only cover the span between the first and the
+ * last day that has been added, so a set of a few years takes a few hundred
+ * bytes. Membership, union, intersection and difference need neither boxing
+ * nor hashing. The set iterates in chronological order. BadiDateSet is not
+ * thread safe.
+ */
+public final class BadiDateSet implements Iterable<BadiDate> {
+
+	private static final long[] EMPTY = new long[0];
+
+	private static final int DAYS = BadiConversionTables.MAX_EPOCH_DAY
+			- BadiConversionTables.MIN_EPOCH_DAY + 1;
+
+	private static final int WORDS = (DAYS + 63) >>> 6;
+
+	/**
+	 * Bit i of _words[w] is the day MIN_EPOCH_DAY + (_firstWord + w) * 64 + i.
+	 */
+	private int _firstWord;
+	private long[] _words = EMPTY;
+
+	/**
+	 * Creates an empty set.
+	 */
+	public BadiDateSet() {
+	}
+
+	/**
+	 * Creates a copy of the set.
+	 */
+	public BadiDateSet(final BadiDateSet set) {
+		_firstWord = set._firstWord;
+		_words = set._words.clone();
+	}
+
+	/**
+	 * Adds the date and returns true if it was not in the set.
+	 */
+	public boolean add(final BaseBadiDate badiDate) {
+		return add(badiDate.toEpochDay());
+	}
+
+	/**
+	 * Adds the epoch day (days since 1970-01-01) and returns true if it was
+	 * not in the set.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public boolean add(final long epochDay) throws IllegalArgumentException {
+		final int bit = bitOf(epochDay);
+		final int word = ensureWord(bit >>> 6);
+		final long mask = 1L << bit;
+		final boolean added = (_words[word] & mask) == 0;
+		_words[word] |= mask;
+		return added;
+	}
+
+	/**
+	 * Adds every day from the start date until the day before the end date.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the end date is before the start date
+	 */
+	public void addRange(final BaseBadiDate start, final BaseBadiDate end)
+			throws IllegalArgumentException {
+		if (end.toEpochDay() < start.toEpochDay()) {
+			throw new IllegalArgumentException(
+					"End date has to be after the start date.");
+		}
+		if (end.toEpochDay() == start.toEpochDay()) {
+			return;
+		}
+		final int from = bitOf(start.toEpochDay());
+		final int to = bitOf(end.toEpochDay() - 1);
+		ensureWord(from >>> 6);
+		ensureWord(to >>> 6);
+		final int firstWord = (from >>> 6) - _firstWord;
+		final int lastWord = (to >>> 6) - _firstWord;
+		final long firstMask = -1L << from;
+		final long lastMask = -1L >>> 63 - (to & 63);
+		if (firstWord == lastWord) {
+			_words[firstWord] |= firstMask & lastMask;
+			return;
+		}
+		_words[firstWord] |= firstMask;
+		Arrays.fill(_words, firstWord + 1, lastWord, -1L);
+		_words[lastWord] |= lastMask;
+	}
+
+	/**
+	 * Removes the date and returns true if it was in the set.
+	 */
+	public boolean remove(final BaseBadiDate badiDate) {
+		return remove(badiDate.toEpochDay());
+	}
+
+	/**
+	 * Removes the epoch day and returns true if it was in the set.
+	 */
+	public boolean remove(final long epochDay) {
+		if (!contains(epochDay)) {
+			return false;
+		}
+		final int bit = (int) (epochDay - BadiConversionTables.MIN_EPOCH_DAY);
+		_words[(bit >>> 6) - _firstWord] &= ~(1L << bit);
+		return true;
+	}
+
+	/**
+	 * Returns true if the date is in the set.
+	 */
+	public boolean contains(final BaseBadiDate badiDate) {
+		return contains(badiDate.toEpochDay());
+	}
+
+	/**
+	 * Returns true if the epoch day is in the set.
+	 */
+	public boolean contains(final long epochDay) {
+		final long bit = epochDay - BadiConversionTables.MIN_EPOCH_DAY;
+		if (bit < 0 || bit >= DAYS) {
+			return false;
+		}
+		return (word((int) bit >>> 6) & 1L << bit) != 0;
+	}
+
+	/**
+	 * Returns the number of days in the set.
+	 */
+	public int size() {
+		int size = 0;
+		for (final long word : _words) {
+			size += Long.bitCount(word);
+		}
+		return size;
+	}
+
+	/**
+	 * Returns true if the set has no date.
+	 */
+	public boolean isEmpty() {
+		for (final long word : _words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all days.
+	 */
+	public void clear() {
+		_firstWord = 0;
+		_words = EMPTY;
+	}
+
+	/**
+	 * Adds all days of the other set (union).
+	 */
+	public void addAll(final BadiDateSet set) {
+		int first = 0;
+		while (first < set._words.length && set._words[first] == 0) {
+			first++;
+		}
+		int last = set._words.length - 1;
+		while (last >= first && set._words[last] == 0) {
+			last--;
+		}
+		if (first > last) {
+			return;
+		}
+		ensureWord(set._firstWord + first);
+		ensureWord(set._firstWord + last);
+		for (int w = first; w <= last; w++) {
+			_words[set._firstWord + w - _firstWord] |= set._words[w];
+		}
+	}
+
+	/**
+	 * Keeps only the days that are also in the other set (intersection).
+	 */
+	public void retainAll(final BadiDateSet set) {
+		for (int w = 0; w < _words.length; w++) {
+			_words[w] &= set.word(_firstWord + w);
+		}
+	}
+
+	/**
+	 * Removes the days of the other set (difference).
+	 */
+	public void removeAll(final BadiDateSet set) {
+		for (int w = 0; w < _words.length; w++) {
+			_words[w] &= ~set.word(_firstWord + w);
+		}
+	}
+
+	/**
+	 * Returns the first date or null if the set is empty.
+	 */
+	public BadiDate first() {
+		return dateOf(nextBit(0));
+	}
+
+	/**
+	 * Returns the last date or null if the set is empty.
+	 */
+	public BadiDate last() {
+		for (int w = _words.length - 1; w >= 0; w--) {
+			if (_words[w] != 0) {
+				return dateOf((_firstWord + w << 6) + 63
+						- Long.numberOfLeadingZeros(_words[w]));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the first date of the set on or after the date, or null.
+	 */
+	public BadiDate ceiling(final BaseBadiDate badiDate) {
+		return dateOf(nextBit((int) (badiDate.toEpochDay() - BadiConversionTables.MIN_EPOCH_DAY)));
+	}
+
+	/**
+	 * Returns the epoch days of the set in chronological order.
+	 */
+	public int[] toEpochDays() {
+		final int[] epochDays = new int[size()];
+		int i = 0;
+		for (int bit = nextBit(0); bit >= 0; bit = nextBit(bit + 1)) {
+			epochDays[i++] = BadiConversionTables.MIN_EPOCH_DAY + bit;
+		}
+		return epochDays;
+	}
+
+	@Override
+	public Iterator<BadiDate> iterator() {
+		return new Iterator<BadiDate>() {
+			private int _next = nextBit(0);
+
+			@Override
+			public boolean hasNext() {
+				return _next >= 0;
+			}
+
+			@Override
+			public BadiDate next() {
+				if (_next < 0) {
+					throw new NoSuchElementException();
+				}
+				final BadiDate badiDate = dateOf(_next);
+				_next = nextBit(_next + 1);
+				return badiDate;
+			}
+		};
+	}
+
+	/**
+	 * Returns the first set bit from the bit or -1.
+	 */
+	private int nextBit(final int fromBit) {
+		final int from = Math.max(fromBit, _firstWord << 6);
+		int w = (from >>> 6) - _firstWord;
+		if (w >= _words.length) {
+			return -1;
+		}
+		long word = _words[w] & -1L << from;
+		while (word == 0) {
+			if (++w == _words.length) {
+				return -1;
+			}
+			word = _words[w];
+		}
+		return (_firstWord + w << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	private static BadiDate dateOf(final int bit) {
+		return bit < 0 ? null : BadiDate.createFromValidEpochDay(BadiConversionTables.MIN_EPOCH_DAY + bit);
+	}
+
+	private static int bitOf(final long epochDay) {
+		BadiDate.checkEpochDayForValidity(epochDay);
+		return (int) (epochDay - BadiConversionTables.MIN_EPOCH_DAY);
+	}
+
+	/**
+	 * Returns the word of the absolute word index, 0 outside of the words.
+	 */
+	private long word(final int absoluteWord) {
+		final int w = absoluteWord - _firstWord;
+		return w >= 0 && w < _words.length ? _words[w] : 0;
+	}
+
+	/**
+	 * Grows the words to cover the absolute word index (at least doubling)
+	 * and returns its index in the words.
+	 */
+	private int ensureWord(final int absoluteWord) {
+		if (_words.length == 0) {
+			_firstWord = absoluteWord;
+			_words = new long[1];
+		} else if (absoluteWord < _firstWord) {
+			final int first = Math.max(0,
+					Math.min(absoluteWord, _firstWord - _words.length));
+			final long[] words = new long[_firstWord - first + _words.length];
+			System.arraycopy(_words, 0, words, _firstWord - first,
+					_words.length);
+			_firstWord = first;
+			_words = words;
+		} else if (absoluteWord >= _firstWord + _words.length) {
+			final int length = Math.min(WORDS - _firstWord, Math.max(
+					absoluteWord - _firstWord + 1, 2 * _words.length));
+			_words = Arrays.copyOf(_words, length);
+		}
+		return absoluteWord - _firstWord;
+	}
+
+	@Override
+	public boolean equals(final Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof BadiDateSet)) {
+			return false;
+		}
+		final BadiDateSet other = (BadiDateSet) object;
+		final int first = Math.min(_firstWord, other._firstWord);
+		final int end = Math.max(_firstWord + _words.length, other._firstWord
+				+ other._words.length);
+		for (int w = first; w < end; w++) {
+			if (word(w) != other.word(w)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		long hash = 1234;
+		for (int w = 0; w < _words.length; w++) {
+			hash ^= _words[w] * (_firstWord + w + 1);
+		}
+		return (int) (hash >> 32 ^ hash);
+	}
+}
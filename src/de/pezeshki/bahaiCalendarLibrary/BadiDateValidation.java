@@ -0,0 +1,258 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
+
+/**
+ * Validates dates without throwing. Each method applies the same rules as the
+ * factories of BadiDate and returns VALID or the status of the first rule
+ * that fails; no exception and no message is created, so dirty input costs
+ * no more than clean input. The batch methods write the status of every row
+ * into a byte column and return the number of invalid rows. Rejected values
+ * are counted like the failures of the factories (see BadiCalendarMetrics).
+ */
+public final class BadiDateValidation {
+
+	public static final int VALID = 0;
+	public static final int INVALID_BADI_DAY = 1;
+	public static final int INVALID_BADI_MONTH = 2;
+	public static final int INVALID_DAY_OF_YEAR = 3;
+	public static final int INVALID_BADI_YEAR = 4;
+	public static final int INVALID_GREGORIAN_YEAR = 5;
+	public static final int INVALID_GREGORIAN_MONTH = 6;
+	public static final int INVALID_GREGORIAN_DAY = 7;
+
+	private static final String[] MESSAGES = { "Valid.",
+			"Badi day has to be between 1 and 19.",
+			"Badi month has to be between 1 and 20.",
+			"Day of the year has to be between 1 and 366.",
+			"Badi year has to be between 1 and " + BadiDate.UPPER_YEAR_LIMIT_BADI + ".",
+			"Year has to be between 1844 and " + BadiDate.UPPER_YEAR_LIMIT + ".",
+			"Gregorian month has to be between 1 and 12.",
+			"Gregorian day is out of bound for the month." };
+
+	private static final Counter[] RULES = { null,
+			Counter.BADI_DAY_AND_MONTH, Counter.BADI_DAY_AND_MONTH,
+			Counter.DAY_OF_YEAR, Counter.BADI_YEAR, Counter.GREGORIAN_YEAR,
+			Counter.GREGORIAN_MONTH_AND_DAY, Counter.GREGORIAN_MONTH_AND_DAY };
+
+	private BadiDateValidation() {
+	}
+
+	/**
+	 * Returns the status of the Badi year, month and day, see
+	 * BadiDate.createFromBadiDate.
+	 */
+	public static int validateBadiDate(final int badiYear,
+			final int badiMonth, final int badiDay) {
+		return counted(badiDateStatus(badiYear, badiMonth, badiDay));
+	}
+
+	/**
+	 * Returns the status of the Badi year and day of the year, see
+	 * BadiDate.createFromBadiYearAndDayOfYear.
+	 */
+	public static int validateBadiYearAndDayOfYear(final int badiYear,
+			final int badiDayOfYear) {
+		return counted(badiYearAndDoyStatus(badiYear, badiDayOfYear));
+	}
+
+	/**
+	 * Returns the status of the Gregorian year, month (January=1) and day,
+	 * see BadiDate.createFromGregorian.
+	 */
+	public static int validateGregorian(final int year, final int month,
+			final int day) {
+		return counted(gregorianStatus(year, month, day));
+	}
+
+	/**
+	 * Returns the status of the epoch day (days since 1970-01-01), see
+	 * BadiDate.createFromEpochDay.
+	 */
+	public static int validateEpochDay(final long epochDay) {
+		return counted(epochDayStatus(epochDay));
+	}
+
+	/**
+	 * Returns a fixed description of the status.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the status is unknown
+	 */
+	public static String getMessage(final int status)
+			throws IllegalArgumentException {
+		if (status < VALID || status >= MESSAGES.length) {
+			throw new IllegalArgumentException("Unknown status " + status + ".");
+		}
+		return MESSAGES[status];
+	}
+
+	/**
+	 * Writes the status of each row of the Badi year, month and day columns
+	 * into statuses and returns the number of invalid rows.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a column is shorter than the year column
+	 */
+	public static int validateBadiDates(final int[] badiYears,
+			final int[] badiMonths, final int[] badiDays, final byte[] statuses)
+			throws IllegalArgumentException {
+		checkLength(badiYears.length, badiMonths.length);
+		checkLength(badiYears.length, badiDays.length);
+		checkLength(badiYears.length, statuses.length);
+		int invalid = 0;
+		for (int i = 0; i < badiYears.length; i++) {
+			final int status = badiDateStatus(badiYears[i], badiMonths[i],
+					badiDays[i]);
+			statuses[i] = (byte) status;
+			if (status != VALID) {
+				BadiCalendarMetrics.count(RULES[status]);
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+
+	/**
+	 * Writes the status of each row of the Gregorian year, month (January=1)
+	 * and day columns into statuses and returns the number of invalid rows.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a column is shorter than the year column
+	 */
+	public static int validateGregorian(final int[] years, final int[] months,
+			final int[] days, final byte[] statuses)
+			throws IllegalArgumentException {
+		checkLength(years.length, months.length);
+		checkLength(years.length, days.length);
+		checkLength(years.length, statuses.length);
+		int invalid = 0;
+		for (int i = 0; i < years.length; i++) {
+			final int status = gregorianStatus(years[i], months[i], days[i]);
+			statuses[i] = (byte) status;
+			if (status != VALID) {
+				BadiCalendarMetrics.count(RULES[status]);
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+
+	/**
+	 * Writes the status of each epoch day (days since 1970-01-01) into
+	 * statuses and returns the number of invalid rows.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the status column is shorter than the input
+	 */
+	public static int validateEpochDays(final int[] epochDays,
+			final byte[] statuses) throws IllegalArgumentException {
+		checkLength(epochDays.length, statuses.length);
+		int invalid = 0;
+		for (int i = 0; i < epochDays.length; i++) {
+			final int status = epochDayStatus(epochDays[i]);
+			statuses[i] = (byte) status;
+			if (status != VALID) {
+				BadiCalendarMetrics.count(RULES[status]);
+				invalid++;
+			}
+		}
+		return invalid;
+	}
+
+	/**
+	 * Same rules as BadiDate.checkBadiDayAndMonthForValidity and
+	 * checkBadiYearForValidity.
+	 */
+	static int badiDateStatus(final int badiYear, final int badiMonth,
+			final int badiDay) {
+		if (badiDay < 1 || badiDay > 19) {
+			return INVALID_BADI_DAY;
+		}
+		if (badiMonth < 1 || badiMonth > 20) {
+			return INVALID_BADI_MONTH;
+		}
+		return badiYearStatus(badiYear);
+	}
+
+	/**
+	 * Same rules as BadiDate.checkDoyForValidity and checkBadiYearForValidity.
+	 */
+	static int badiYearAndDoyStatus(final int badiYear, final int badiDoy) {
+		if (badiDoy < 1 || badiDoy > 366) {
+			return INVALID_DAY_OF_YEAR;
+		}
+		return badiYearStatus(badiYear);
+	}
+
+	static int badiYearStatus(final int badiYear) {
+		return badiYear < 1 || badiYear > BadiDate.UPPER_YEAR_LIMIT_BADI ? INVALID_BADI_YEAR
+				: VALID;
+	}
+
+	/**
+	 * Same rules as BadiDate.checkGregorianYearForValidity and
+	 * checkGregorianMonthAndDayForValidity.
+	 */
+	static int gregorianStatus(final int year, final int month, final int day) {
+		final int status = gregorianYearStatus(year);
+		if (status != VALID) {
+			return status;
+		}
+		if (month < 1 || month > 12) {
+			return INVALID_GREGORIAN_MONTH;
+		}
+		if (day < 1
+				|| day > BadiConversionTables.gregorianDaysInMonth(year, month)) {
+			return INVALID_GREGORIAN_DAY;
+		}
+		return VALID;
+	}
+
+	static int gregorianYearStatus(final int year) {
+		return year <= BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR
+				|| year > BadiDate.UPPER_YEAR_LIMIT ? INVALID_GREGORIAN_YEAR
+				: VALID;
+	}
+
+	/**
+	 * Same rule as BadiDate.checkEpochDayForValidity.
+	 */
+	static int epochDayStatus(final long epochDay) {
+		return epochDay < BadiConversionTables.MIN_EPOCH_DAY
+				|| epochDay > BadiConversionTables.MAX_EPOCH_DAY ? INVALID_GREGORIAN_YEAR
+				: VALID;
+	}
+
+	/**
+	 * Counts the failed rule of an invalid status and returns the status.
+	 */
+	static int counted(final int status) {
+		if (status != VALID) {
+			BadiCalendarMetrics.count(RULES[status]);
+		}
+		return status;
+	}
+
+	private static void checkLength(final int length, final int columnLength) {
+		if (columnLength < length) {
+			throw new IllegalArgumentException(
+					"Columns have to be at least as long as the input.");
+		}
+	}
+}
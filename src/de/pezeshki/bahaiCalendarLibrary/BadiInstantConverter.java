@@ -0,0 +1,264 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
+
+/**
+ * Converts instants (milliseconds since 1970-01-01T00:00Z) into Badi dates
+ * without a Calendar per instant. A converter for a time zone holds the
+ * zone's offset transitions from 1844 to UPPER_YEAR_LIMIT, so an instant is
+ * resolved with a binary search instead of the zone rules. The array methods
+ * keep the bounds of the day of the previous instant, so following instants
+ * of the same day only cost a range check. A converter for a location starts
+ * the Badi day at the local sunset (see SunsetCalculator) instead of at
+ * midnight; sunsets do not depend on a time zone. BadiInstantConverter is
+ * immutable and shared between threads; a single instant is converted
+ * without touching shared state.
+ */
+public final class BadiInstantConverter {
+
+	private static final long MILLIS_PER_DAY = SunsetCalculator.MILLIS_PER_DAY;
+
+	private static final ConcurrentHashMap<ZoneId, BadiInstantConverter> ZONES = new ConcurrentHashMap<ZoneId, BadiInstantConverter>();
+
+	/**
+	 * Instants of the offset transitions in milliseconds.
+	 */
+	private final long[] _transitions;
+	/**
+	 * Offsets in milliseconds before the first and after each transition.
+	 */
+	private final int[] _offsets;
+	private final boolean _sunset;
+	private final double _latitude;
+	private final double _longitude;
+
+	private BadiInstantConverter(final long[] transitions, final int[] offsets,
+			final boolean sunset, final double latitude, final double longitude) {
+		_transitions = transitions;
+		_offsets = offsets;
+		_sunset = sunset;
+		_latitude = latitude;
+		_longitude = longitude;
+	}
+
+	/**
+	 * Returns the converter for local days of the time zone. Converters are
+	 * created once per zone and shared.
+	 */
+	public static BadiInstantConverter forZone(final ZoneId zone) {
+		final BadiInstantConverter converter = ZONES.get(zone);
+		if (converter != null) {
+			return converter;
+		}
+		final Object event = BadiCalendarEvents.beginCacheRebuild();
+		final BadiInstantConverter created = createForZone(zone.getRules());
+		BadiCalendarEvents.endCacheRebuild(event, "BadiInstantConverter",
+				zone.getId());
+		final BadiInstantConverter previous = ZONES.putIfAbsent(zone, created);
+		return previous == null ? created : previous;
+	}
+
+	/**
+	 * Returns a converter whose Badi days start at the sunset at the
+	 * location.
+	 *
+	 * @param latitude
+	 *            the latitude in degrees, north positive
+	 * @param longitude
+	 *            the longitude in degrees, east positive
+	 * @throws IllegalArgumentException
+	 *             latitude or longitude are out of bound
+	 */
+	public static BadiInstantConverter forLocation(final double latitude,
+			final double longitude) throws IllegalArgumentException {
+		SunsetCalculator.checkLocationForValidity(latitude, longitude);
+		return new BadiInstantConverter(null, null, true, latitude, longitude);
+	}
+
+	/**
+	 * Returns the Badi date of the instant.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public BadiDate convert(final long epochMillis)
+			throws IllegalArgumentException {
+		if (_sunset) {
+			return BadiDate.createFromValidEpochDay(SunsetCalculator
+					.getBadiEpochDay(epochMillis, _latitude, _longitude));
+		}
+		return BadiDate.createFromValidEpochDay(Math.floorDiv(epochMillis
+				+ _offsets[segment(epochMillis)], MILLIS_PER_DAY));
+	}
+
+	/**
+	 * Converts the instants into Badi dates. Consecutive instants of the same
+	 * day share the lookup, so sorted or clustered input is fastest.
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public void convert(final long[] epochMillis, final BadiDate[] badiDates)
+			throws IllegalArgumentException {
+		if (badiDates.length < epochMillis.length) {
+			throw new IllegalArgumentException(
+					"Output arrays have to be at least as long as the input.");
+		}
+		Day day = null;
+		int misses = 0;
+		for (int i = 0; i < epochMillis.length; i++) {
+			if (day == null || !day.contains(epochMillis[i])) {
+				day = day(epochMillis[i]);
+				misses++;
+			}
+			badiDates[i] = day._badiDate;
+		}
+		countDays(epochMillis.length, misses);
+	}
+
+	/**
+	 * Converts the instants into packed Badi dates (see PackedBadiDate).
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public void toPacked(final long[] epochMillis, final int[] packedDates)
+			throws IllegalArgumentException {
+		if (packedDates.length < epochMillis.length) {
+			throw new IllegalArgumentException(
+					"Output arrays have to be at least as long as the input.");
+		}
+		Day day = null;
+		int misses = 0;
+		for (int i = 0; i < epochMillis.length; i++) {
+			if (day == null || !day.contains(epochMillis[i])) {
+				day = day(epochMillis[i]);
+				misses++;
+			}
+			packedDates[i] = day._packedDate;
+		}
+		countDays(epochMillis.length, misses);
+	}
+
+	/**
+	 * Returns a stream of the Badi dates of the instants. Each instant is
+	 * converted on its own, so the stream may be parallel.
+	 */
+	public Stream<BadiDate> convert(final LongStream epochMillis) {
+		return epochMillis.mapToObj(this::convert);
+	}
+
+	/**
+	 * Returns the Badi day of the instant with its bounds.
+	 */
+	private Day day(final long epochMillis) {
+		if (_sunset) {
+			final long epochDay = SunsetCalculator.getBadiEpochDay(
+					epochMillis, _latitude, _longitude);
+			final long start = SunsetCalculator.getSunset(epochDay - 1,
+					_latitude, _longitude);
+			final long end = SunsetCalculator.getSunset(epochDay, _latitude,
+					_longitude);
+			// the bounds only serve as cache; keep the instant inside them
+			return new Day(BadiDate.createFromValidEpochDay(epochDay), Math.min(
+					start, epochMillis), Math.max(end, epochMillis + 1));
+		}
+		final int segment = segment(epochMillis);
+		final long offset = _offsets[segment];
+		final long epochDay = Math.floorDiv(epochMillis + offset,
+				MILLIS_PER_DAY);
+		final long segmentStart = segment == 0 ? Long.MIN_VALUE
+				: _transitions[segment - 1];
+		final long segmentEnd = segment == _transitions.length ? Long.MAX_VALUE
+				: _transitions[segment];
+		return new Day(BadiDate.createFromValidEpochDay(epochDay), Math.max(
+				epochDay * MILLIS_PER_DAY - offset, segmentStart), Math.min(
+				(epochDay + 1) * MILLIS_PER_DAY - offset, segmentEnd));
+	}
+
+	private static void countDays(final int instants, final int misses) {
+		BadiCalendarMetrics.add(Counter.INSTANT_DAY_HIT, instants - misses);
+		BadiCalendarMetrics.add(Counter.INSTANT_DAY_MISS, misses);
+	}
+
+	/**
+	 * Returns the number of transitions at or before the instant, i.e. the
+	 * index of its offset.
+	 */
+	private int segment(final long epochMillis) {
+		final int index = Arrays.binarySearch(_transitions, epochMillis);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	private static BadiInstantConverter createForZone(final ZoneRules rules) {
+		final long last = (BadiConversionTables.MAX_EPOCH_DAY + 2L)
+				* MILLIS_PER_DAY;
+		Instant instant = Instant.ofEpochMilli((BadiConversionTables.MIN_EPOCH_DAY - 2L)
+				* MILLIS_PER_DAY);
+		long[] transitions = new long[16];
+		int[] offsets = new int[17];
+		offsets[0] = rules.getOffset(instant).getTotalSeconds() * 1000;
+		int count = 0;
+		if (!rules.isFixedOffset()) {
+			ZoneOffsetTransition transition;
+			while ((transition = rules.nextTransition(instant)) != null
+					&& transition.getInstant().toEpochMilli() < last) {
+				if (count == transitions.length) {
+					transitions = Arrays.copyOf(transitions, 2 * count);
+					offsets = Arrays.copyOf(offsets, 2 * count + 1);
+				}
+				instant = transition.getInstant();
+				transitions[count] = instant.toEpochMilli();
+				offsets[++count] = transition.getOffsetAfter()
+						.getTotalSeconds() * 1000;
+			}
+		}
+		return new BadiInstantConverter(Arrays.copyOf(transitions, count),
+				Arrays.copyOf(offsets, count + 1), false, 0, 0);
+	}
+
+	/**
+	 * A Badi day and the instants it covers for one offset.
+	 */
+	private static final class Day {
+		private final BadiDate _badiDate;
+		private final int _packedDate;
+		private final long _start;
+		private final long _end;
+
+		Day(final BadiDate badiDate, final long start, final long end) {
+			_badiDate = badiDate;
+			_packedDate = PackedBadiDate.fromBadiDate(badiDate);
+			_start = start;
+			_end = end;
+		}
+
+		boolean contains(final long epochMillis) {
+			return epochMillis >= _start && epochMillis < _end;
+		}
+	}
+}
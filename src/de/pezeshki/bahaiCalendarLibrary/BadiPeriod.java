@@ -0,0 +1,149 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+/**
+ * An immutable amount of Badi years, months and days. A year has 20 months,
+ * with Ayyam'i'Ha as month 19 between Mulk and Ala.
+ */
+public final class BadiPeriod {
+
+	private static final int MONTHS_IN_YEAR = 20;
+
+	/**
+	 * A period of zero years, months and days.
+	 */
+	public static final BadiPeriod ZERO = new BadiPeriod(0, 0, 0);
+
+	private final int _years;
+	private final int _months;
+	private final int _days;
+
+	private BadiPeriod(final int years, final int months, final int days) {
+		_years = years;
+		_months = months;
+		_days = days;
+	}
+
+	/**
+	 * Creates a period of years, months and days.
+	 */
+	public static BadiPeriod of(final int years, final int months,
+			final int days) {
+		if ((years | months | days) == 0) {
+			return ZERO;
+		}
+		return new BadiPeriod(years, months, days);
+	}
+
+	/**
+	 * Returns the period from the start date (inclusive) to the end date
+	 * (exclusive). The months and days are the largest amounts that, added to
+	 * the start date, do not pass the end date; all parts are negative if the
+	 * end date is before the start date.
+	 */
+	public static BadiPeriod between(final BaseBadiDate start,
+			final BaseBadiDate end) {
+		long totalMonths = monthOrdinal(end) - monthOrdinal(start);
+		int days = BadiDate.daysBetween(start.plusMonths((int) totalMonths),
+				end);
+		if (totalMonths > 0 && days < 0) {
+			totalMonths--;
+			days = BadiDate.daysBetween(start.plusMonths((int) totalMonths),
+					end);
+		} else if (totalMonths < 0 && days > 0) {
+			totalMonths++;
+			days = BadiDate.daysBetween(start.plusMonths((int) totalMonths),
+					end);
+		}
+		return of((int) (totalMonths / MONTHS_IN_YEAR),
+				(int) (totalMonths % MONTHS_IN_YEAR), days);
+	}
+
+	/**
+	 * Returns the number of years.
+	 */
+	public int getYears() {
+		return _years;
+	}
+
+	/**
+	 * Returns the number of months (Ayyam'i'Ha counts as a month).
+	 */
+	public int getMonths() {
+		return _months;
+	}
+
+	/**
+	 * Returns the number of days.
+	 */
+	public int getDays() {
+		return _days;
+	}
+
+	/**
+	 * Returns the date the period after the date: first the years and months
+	 * are added as with plusMonths, then the days.
+	 */
+	public BadiDate addTo(final BaseBadiDate badiDate) {
+		return badiDate.plusMonths(_years * MONTHS_IN_YEAR + _months)
+				.plusDays(_days);
+	}
+
+	private static long monthOrdinal(final BaseBadiDate badiDate) {
+		return badiDate.getBadiYear() * (long) MONTHS_IN_YEAR
+				+ badiDate.getBadiMonth() - 1;
+	}
+
+	@Override
+	public boolean equals(final Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof BadiPeriod)) {
+			return false;
+		}
+		final BadiPeriod other = (BadiPeriod) object;
+		return _years == other._years && _months == other._months
+				&& _days == other._days;
+	}
+
+	@Override
+	public int hashCode() {
+		return (_years * 31 + _months) * 31 + _days;
+	}
+
+	/**
+	 * Returns the period in the ISO-8601 format, e.g. P1Y2M3D.
+	 */
+	@Override
+	public String toString() {
+		if (this == ZERO) {
+			return "P0D";
+		}
+		final StringBuilder builder = new StringBuilder("P");
+		if (_years != 0) {
+			builder.append(_years).append('Y');
+		}
+		if (_months != 0) {
+			builder.append(_months).append('M');
+		}
+		if (_days != 0) {
+			builder.append(_days).append('D');
+		}
+		return builder.toString();
+	}
+}
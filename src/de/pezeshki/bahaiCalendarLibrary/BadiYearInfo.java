@@ -0,0 +1,247 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
+
+/**
+ * The facts of one Badi year: Naw-Ruz, the length of the year and of
+ * Ayyam'i'Ha, the feasts and the holydays. BadiYearInfo is immutable; one
+ * instance per year is created on first use and shared by all conversions and
+ * holyday lookups of that year.
+ */
+public final class BadiYearInfo {
+
+	/**
+	 * Number of feasts (first days of the 19 months, without Ayyam'i'Ha).
+	 */
+	public static final int FEASTS_IN_YEAR = 19;
+
+	private static final AtomicReferenceArray<BadiYearInfo> YEARS = new AtomicReferenceArray<BadiYearInfo>(
+			BadiDate.UPPER_YEAR_LIMIT_BADI + 1);
+
+	private final int _badiYear;
+	private final int _nawRuzEpochDay;
+	private final int _ayyamIHaDays;
+	private final int _birthOfBabDoy;
+	private final short[] _holydayDoy;
+
+	private BadiYearInfo(final int badiYear) {
+		_badiYear = badiYear;
+		_nawRuzEpochDay = BadiConversionTables.nawRuzEpochDay(badiYear);
+		_ayyamIHaDays = BadiConversionTables.nawRuzEpochDay(badiYear + 1)
+				- _nawRuzEpochDay - BadiConversionTables.DAYS_BEFORE_AYYAMIHA
+				- BadiDate.DAYS_IN_BADI_MONTH;
+		_birthOfBabDoy = BahaiHolyday.birthOfBabDoy(badiYear);
+		final BahaiHolyday[] holydays = BahaiHolyday.values();
+		_holydayDoy = new short[holydays.length];
+		for (int index = 0; index < holydays.length; index++) {
+			_holydayDoy[index] = (short) BahaiHolyday.holydayDoy(badiYear,
+					index, _birthOfBabDoy);
+		}
+	}
+
+	/**
+	 * Returns the facts of the Badi year.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the year is out of bound
+	 */
+	public static BadiYearInfo of(final int badiYear)
+			throws IllegalArgumentException {
+		BadiDate.checkBadiYearForValidity(badiYear);
+		return get(badiYear);
+	}
+
+	/**
+	 * Returns the facts of the Badi year including the year 0 before the
+	 * Bab's declaration.
+	 */
+	static BadiYearInfo get(final int badiYear) {
+		if (badiYear < 0 || badiYear > BadiDate.UPPER_YEAR_LIMIT_BADI) {
+			BadiDate.checkBadiYearForValidity(badiYear);
+		}
+		final BadiYearInfo info = YEARS.get(badiYear);
+		if (info != null) {
+			BadiCalendarMetrics.count(Counter.YEAR_INFO_HIT);
+			return info;
+		}
+		BadiCalendarMetrics.count(Counter.YEAR_INFO_MISS);
+		final Object event = BadiCalendarEvents.beginCacheRebuild();
+		YEARS.compareAndSet(badiYear, null, new BadiYearInfo(badiYear));
+		BadiCalendarEvents.endCacheRebuild(event, "BadiYearInfo",
+				Integer.toString(badiYear));
+		return YEARS.get(badiYear);
+	}
+
+	/**
+	 * Returns the Badi year.
+	 */
+	public int getBadiYear() {
+		return _badiYear;
+	}
+
+	/**
+	 * Returns the epoch day (days since 1970-01-01) of Naw-Ruz.
+	 */
+	public int getNawRuzEpochDay() {
+		return _nawRuzEpochDay;
+	}
+
+	/**
+	 * Returns the date of Naw-Ruz.
+	 */
+	public BadiDate getNawRuz() {
+		return BadiDate.createFromBadiDoyAndYear(_badiYear, 1);
+	}
+
+	/**
+	 * Returns the number of days of the year (365 or 366).
+	 */
+	public int getDaysInYear() {
+		return BadiConversionTables.DAYS_BEFORE_AYYAMIHA + _ayyamIHaDays
+				+ BadiDate.DAYS_IN_BADI_MONTH;
+	}
+
+	/**
+	 * Returns the number of days of Ayyam'i'Ha (4 or 5).
+	 */
+	public int getAyyamIHaDays() {
+		return _ayyamIHaDays;
+	}
+
+	/**
+	 * Returns the day of the year of the 1st of Ala, the month of fasting.
+	 */
+	public int getAlaStartDayOfYear() {
+		return BadiConversionTables.DAYS_BEFORE_AYYAMIHA + _ayyamIHaDays + 1;
+	}
+
+	/**
+	 * Returns the epoch days of the 19 feasts from Baha to Ala.
+	 */
+	public int[] getFeastEpochDays() {
+		final int[] epochDays = new int[FEASTS_IN_YEAR];
+		for (int feast = 0; feast < FEASTS_IN_YEAR; feast++) {
+			epochDays[feast] = _nawRuzEpochDay
+					+ getBadiDayOfYear(feast < 18 ? feast + 1 : 20, 1) - 1;
+		}
+		return epochDays;
+	}
+
+	/**
+	 * Returns the dates of the 19 feasts from Baha to Ala.
+	 */
+	public BadiDate[] getFeastDates() {
+		final BadiDate[] dates = new BadiDate[FEASTS_IN_YEAR];
+		for (int feast = 0; feast < FEASTS_IN_YEAR; feast++) {
+			dates[feast] = BadiDate.createFromBadiDoyAndYear(_badiYear,
+					getBadiDayOfYear(feast < 18 ? feast + 1 : 20, 1));
+		}
+		return dates;
+	}
+
+	/**
+	 * Returns the day of the year of the holyday.
+	 */
+	public int getHolydayDayOfYear(final BahaiHolyday holyday) {
+		return _holydayDoy[holyday.getIndex()];
+	}
+
+	/**
+	 * Returns the epoch days of the holydays ordered by their index.
+	 */
+	public int[] getHolydayEpochDays() {
+		final int[] epochDays = new int[_holydayDoy.length];
+		for (int index = 0; index < epochDays.length; index++) {
+			epochDays[index] = _nawRuzEpochDay + _holydayDoy[index] - 1;
+		}
+		return epochDays;
+	}
+
+	/**
+	 * Returns the dates of the holydays ordered by their index.
+	 */
+	public BadiDate[] getHolydayDates() {
+		final BadiDate[] dates = new BadiDate[_holydayDoy.length];
+		for (int index = 0; index < dates.length; index++) {
+			dates[index] = BadiDate.createFromBadiDoyAndYear(_badiYear,
+					_holydayDoy[index]);
+		}
+		return dates;
+	}
+
+	/**
+	 * Returns the day of the year of the Birth of the Bab.
+	 */
+	int getBirthOfBabDoy() {
+		return _birthOfBabDoy;
+	}
+
+	/**
+	 * Returns the day of the year of the holyday index.
+	 */
+	int getHolydayDoy(final int index) {
+		return _holydayDoy[index];
+	}
+
+	/**
+	 * Returns the number of days of the Badi month (Ayyam'i'Ha=19).
+	 */
+	int getDaysInMonth(final int badiMonth) {
+		return badiMonth == 19 ? _ayyamIHaDays : BadiDate.DAYS_IN_BADI_MONTH;
+	}
+
+	/**
+	 * Returns the day of the year from Badi month and day.
+	 */
+	int getBadiDayOfYear(final int badiMonth, final int badiDay) {
+		// special case Month of Ala after Ayyam'i'Ha
+		if (badiMonth == 20) {
+			return BadiConversionTables.DAYS_BEFORE_AYYAMIHA + _ayyamIHaDays
+					+ badiDay;
+		}
+		return (badiMonth - 1) * BadiDate.DAYS_IN_BADI_MONTH + badiDay;
+	}
+
+	/**
+	 * Returns the Badi month of a normalized day of the year.
+	 */
+	int getBadiMonth(final int badiDoy) {
+		if (badiDoy <= BadiConversionTables.DAYS_BEFORE_AYYAMIHA) {
+			return (badiDoy - 1) / BadiDate.DAYS_IN_BADI_MONTH + 1;
+		}
+		return badiDoy <= BadiConversionTables.DAYS_BEFORE_AYYAMIHA
+				+ _ayyamIHaDays ? 19 : 20;
+	}
+
+	/**
+	 * Returns the Badi day of the month of a normalized day of the year.
+	 */
+	int getBadiDay(final int badiDoy) {
+		if (badiDoy <= BadiConversionTables.DAYS_BEFORE_AYYAMIHA) {
+			return (badiDoy - 1) % BadiDate.DAYS_IN_BADI_MONTH + 1;
+		}
+		if (badiDoy <= BadiConversionTables.DAYS_BEFORE_AYYAMIHA
+				+ _ayyamIHaDays) {
+			return badiDoy - BadiConversionTables.DAYS_BEFORE_AYYAMIHA;
+		}
+		return badiDoy - BadiConversionTables.DAYS_BEFORE_AYYAMIHA
+				- _ayyamIHaDays;
+	}
+}
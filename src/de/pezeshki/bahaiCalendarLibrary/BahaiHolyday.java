@@ -1,7 +1,8 @@
 package de.pezeshki.bahaiCalendarLibrary;
 
 import java.util.Arrays;
-import java.util.List;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
 
 public enum BahaiHolyday {
 	NAW_RUZ(0), //
@@ -22,14 +23,69 @@ public enum BahaiHolyday {
 		_index = index;
 	}
 
+	/**
+	 * Published day of the year of the Birth of the Bab from 171 until 221.
+	 */
 	private static final int[] BIRTH_OF_BAB_DOY = { 214, 238, 227, 216, 234,
 		223, 213, 232, 220, 210, 228, 217, 235, 224, 214, 233, 223, 211,
 		230, 219, 238, 226, 215, 234, 224, 213, 232, 221, 210, 228, 217,
 		236, 225, 214, 233, 223, 212, 230, 219, 237, 227, 215, 234, 224,
 		213, 232, 220, 209, 228, 218, 236 };
 
-	private static final List<Integer> HOLYDAY_DOY = Arrays.asList(1, 32, 40,
-			43, 65, 70, 112, 214, 237, 251, 253);
+	private static final int[] HOLYDAY_DOY = { 1, 32, 40, 43, 65, 70, 112,
+			214, 237, 251, 253 };
+
+	private static final BahaiHolyday[] VALUES = values();
+
+	private static final int DOY_TABLE_SIZE = 368;
+
+	/**
+	 * Index of the holyday by the day of the year for the years until 171, -1
+	 * if not a holyday.
+	 */
+	private static final byte[] HOLYDAY_BY_DOY_UNTIL_171 = new byte[DOY_TABLE_SIZE];
+
+	/**
+	 * Index of the holyday by the day of the year for the years from 172
+	 * without the Birth of the Bab and Baha'u'llah, -1 if not a holyday.
+	 */
+	private static final byte[] FIXED_HOLYDAY_BY_DOY = new byte[DOY_TABLE_SIZE];
+
+	/**
+	 * Day of the year of the next holyday after the day of the year for the
+	 * years until 171, 0 if the next holyday is Naw-Ruz.
+	 */
+	private static final short[] NEXT_HOLYDAY_DOY_UNTIL_171 = new short[DOY_TABLE_SIZE];
+
+	/**
+	 * Day of the year of the next holyday after the day of the year for the
+	 * years from 172 without the Birth of the Bab and Baha'u'llah, 0 if the
+	 * next holyday is Naw-Ruz.
+	 */
+	private static final short[] NEXT_FIXED_HOLYDAY_DOY = new short[DOY_TABLE_SIZE];
+
+	static {
+		Arrays.fill(HOLYDAY_BY_DOY_UNTIL_171, (byte) -1);
+		Arrays.fill(FIXED_HOLYDAY_BY_DOY, (byte) -1);
+		for (int index = 0; index < HOLYDAY_DOY.length; index++) {
+			HOLYDAY_BY_DOY_UNTIL_171[HOLYDAY_DOY[index]] = (byte) index;
+			if (!isBirthOfTheTwinManifestations(index)) {
+				FIXED_HOLYDAY_BY_DOY[HOLYDAY_DOY[index]] = (byte) index;
+			}
+		}
+		short next = 0;
+		short nextFixed = 0;
+		for (int doy = DOY_TABLE_SIZE - 1; doy >= 0; doy--) {
+			NEXT_HOLYDAY_DOY_UNTIL_171[doy] = next;
+			NEXT_FIXED_HOLYDAY_DOY[doy] = nextFixed;
+			if (HOLYDAY_BY_DOY_UNTIL_171[doy] >= 0) {
+				next = (short) doy;
+			}
+			if (FIXED_HOLYDAY_BY_DOY[doy] >= 0) {
+				nextFixed = (short) doy;
+			}
+		}
+	}
 
 	private static final String[] HOLYDAYS = { "Naw-Ruz", "1st Ridvan",
 		"9th Ridvan", "12th Ridvan", "Decleration of the Bab",
@@ -40,11 +96,9 @@ public enum BahaiHolyday {
 	private static final int FIRST_YEAR = 171;
 
 	/**
-	 * The upper limit for the Badi year. Not enough data yet for years beyond
-	 * this limit.
+	 * The upper limit for the Badi year.
 	 */
-	public static final int UPPER_YEAR_LIMIT_BADI = FIRST_YEAR
-			+ BIRTH_OF_BAB_DOY.length - 1;
+	public static final int UPPER_YEAR_LIMIT_BADI = BadiDate.UPPER_YEAR_LIMIT_BADI;
 
 	/**
 	 * Returns the Baha'i Holyday
@@ -57,52 +111,30 @@ public enum BahaiHolyday {
 	 */
 	public static BahaiHolyday getHolyday(final int dayOfYear,
 			final int badiYear) throws IllegalArgumentException {
-
+		BadiCalendarMetrics.count(Counter.HOLYDAY_LOOKUP);
+		if (dayOfYear < 1 || dayOfYear >= DOY_TABLE_SIZE) {
+			return null;
+		}
 		final int yearIndex = badiYear - FIRST_YEAR;
 
 		// Special case: Birth of the Bab and Baha'u'llah are not fixed in
 		// the calendar from 172
+		final int index;
 		if (yearIndex > 0) {
-			if (badiYear > UPPER_YEAR_LIMIT_BADI) {
-				throw new IllegalArgumentException(
-						"Badi year has to be less than  "
-								+ UPPER_YEAR_LIMIT_BADI);
-			}
-			if (BIRTH_OF_BAB_DOY[yearIndex] == dayOfYear) {
+			final int birthOfBab = BadiYearInfo.get(badiYear)
+					.getBirthOfBabDoy();
+			if (birthOfBab == dayOfYear) {
 				return BahaiHolyday.BIRTH_OF_THE_BAB;
-			} else if (BIRTH_OF_BAB_DOY[yearIndex] + 1 == dayOfYear) {
+			} else if (birthOfBab + 1 == dayOfYear) {
 				return BahaiHolyday.BIRTH_OF_BAHAULLAH;
 			}
+			index = FIXED_HOLYDAY_BY_DOY[dayOfYear];
+		} else {
+			// The other holydays and the birth of the Bab and Baha'u'llah
+			// before 172.
+			index = HOLYDAY_BY_DOY_UNTIL_171[dayOfYear];
 		}
-
-		// The other holydays and the birth of the Bab and Baha'u'llah
-		// before 172.
-		final Integer i = HOLYDAY_DOY.indexOf(dayOfYear);
-		switch (i) {
-		case 0:
-			return BahaiHolyday.NAW_RUZ;
-		case 1:
-			return BahaiHolyday.RIDVAN1ST;
-		case 2:
-			return BahaiHolyday.RIDVAN9TH;
-		case 3:
-			return BahaiHolyday.RIDVAN12TH;
-		case 4:
-			return BahaiHolyday.DECLEARTION_OF_THE_BAB;
-		case 5:
-			return BahaiHolyday.ASCENSION_OF_BAHAULLAH;
-		case 6:
-			return BahaiHolyday.MARTYRDOM_OF_THE_BAB;
-		case 9:
-			return BahaiHolyday.DAY_OF_THE_COVENANT;
-		case 10:
-			return BahaiHolyday.ASCENSION_OF_ABDUL_BAHA;
-		case 7:
-			return BahaiHolyday.BIRTH_OF_THE_BAB;
-		case 8:
-			return BahaiHolyday.BIRTH_OF_BAHAULLAH;
-		}
-		return null;
+		return index < 0 ? null : VALUES[index];
 	}
 
 	/**
@@ -120,23 +152,124 @@ public enum BahaiHolyday {
 		return _index;
 	}
 
+	/**
+	 * Returns the holyday of the index.
+	 */
+	static BahaiHolyday fromIndex(final int index) {
+		return VALUES[index];
+	}
+
+	/**
+	 * Returns the epoch days (days since 1970-01-01) of the holyday in the
+	 * Badi years from fromBadiYear to toBadiYear (both inclusive).
+	 *
+	 * @throws IllegalArgumentException
+	 *             a year is out of bound or toBadiYear is less than
+	 *             fromBadiYear
+	 */
+	public int[] getEpochDays(final int fromBadiYear, final int toBadiYear)
+			throws IllegalArgumentException {
+		BadiDate.checkBadiYearForValidity(fromBadiYear);
+		BadiDate.checkBadiYearForValidity(toBadiYear);
+		if (toBadiYear < fromBadiYear) {
+			throw new IllegalArgumentException(
+					"Last year has to be greater than or equal to the first year.");
+		}
+		final int[] epochDays = new int[toBadiYear - fromBadiYear + 1];
+		for (int badiYear = fromBadiYear; badiYear <= toBadiYear; badiYear++) {
+			final BadiYearInfo info = BadiYearInfo.get(badiYear);
+			epochDays[badiYear - fromBadiYear] = info.getNawRuzEpochDay()
+					+ info.getHolydayDoy(_index) - 1;
+		}
+		return epochDays;
+	}
+
+	/**
+	 * Returns all holydays and optionally all feasts (or 1st day of
+	 * Ayyam'i'Ha) from the start date (inclusive) to the end date (exclusive)
+	 * in chronological order.
+	 *
+	 * @throws IllegalArgumentException
+	 *             the end date is before the start date
+	 */
+	public static HolydayList getHolydays(final BaseBadiDate start,
+			final BaseBadiDate end, final boolean withFeasts)
+			throws IllegalArgumentException {
+		BadiCalendarMetrics.count(Counter.HOLYDAY_LOOKUP);
+		final int from = (int) start.toEpochDay();
+		final int to = (int) end.toEpochDay();
+		if (to < from) {
+			throw new IllegalArgumentException(
+					"End date has to be after the start date.");
+		}
+		final int years = end.getBadiYear() - start.getBadiYear() + 1;
+		final HolydayList holydays = new HolydayList(years
+				* (HOLYDAY_DOY.length + (withFeasts ? 20 : 0)));
+		for (int badiYear = start.getBadiYear(); badiYear <= end.getBadiYear(); badiYear++) {
+			if (!addHolydaysOfYear(holydays, badiYear, from, to, withFeasts)) {
+				break;
+			}
+		}
+		return holydays;
+	}
+
+	/**
+	 * Adds the holydays (and feasts) of the year between from (inclusive) and
+	 * to (exclusive). Returns false when the end has been reached.
+	 */
+	private static boolean addHolydaysOfYear(final HolydayList holydays,
+			final int badiYear, final int from, final int to,
+			final boolean withFeasts) {
+		final BadiYearInfo info = BadiYearInfo.get(badiYear);
+		final int nawRuz = info.getNawRuzEpochDay();
+		int index = 0;
+		int month = withFeasts ? 1 : 21;
+		while (index < HOLYDAY_DOY.length || month <= 20) {
+			final int holydayDoy = index < HOLYDAY_DOY.length ? info
+					.getHolydayDoy(index) : Integer.MAX_VALUE;
+			final int feastDoy = month <= 20 ? info.getBadiDayOfYear(month, 1)
+					: Integer.MAX_VALUE;
+			final boolean holyday = holydayDoy <= feastDoy;
+			final int epochDay = nawRuz + (holyday ? holydayDoy : feastDoy) - 1;
+			if (epochDay >= to) {
+				return false;
+			}
+			if (epochDay >= from) {
+				holydays.add(epochDay, holyday ? index : -month);
+			}
+			if (holyday) {
+				index++;
+			} else {
+				month++;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns the day of the Badi year of the holyday.
 	 */
 	public static int getDayOfYear(final int badiYear, final int index) {
-
+		BadiCalendarMetrics.count(Counter.HOLYDAY_LOOKUP);
 		final int yearIndex = badiYear - FIRST_YEAR;
 
 		// Special case: Birth of the Bab and Baha'u'llah after 171.
-		if (yearIndex > 0 && (index == 7 || index == 8)) {
-			if (badiYear > UPPER_YEAR_LIMIT_BADI) {
-				throw new IllegalArgumentException(
-						"Badi year has to be less than  "
-								+ UPPER_YEAR_LIMIT_BADI);
-			}
-			return BIRTH_OF_BAB_DOY[yearIndex] + index - 7;
+		if (yearIndex > 0 && isBirthOfTheTwinManifestations(index)) {
+			return BadiYearInfo.get(badiYear).getHolydayDoy(index);
 		}
-		return HOLYDAY_DOY.get(index);
+		return HOLYDAY_DOY[index];
+	}
+
+	/**
+	 * Returns the day of the year of the holyday index in the Badi year with
+	 * the Birth of the Bab on the given day of the year.
+	 */
+	static int holydayDoy(final int badiYear, final int index,
+			final int birthOfBabDoy) {
+		if (badiYear > FIRST_YEAR && isBirthOfTheTwinManifestations(index)) {
+			return birthOfBabDoy + index - 7;
+		}
+		return HOLYDAY_DOY[index];
 	}
 
 	/**
@@ -146,25 +279,79 @@ public enum BahaiHolyday {
 	 */
 	public static BadiDate getNextHolydayDate(final BadiDate badiDate)
 			throws IllegalArgumentException {
-
+		BadiCalendarMetrics.count(Counter.HOLYDAY_LOOKUP);
 		final int badiYear = badiDate.getBadiYear();
-		final int dayOfYear = badiDate.getBadiDayOfYear();
+		final int nextDoy = getNextHolydayDoy(badiYear,
+				badiDate.getBadiDayOfYear());
+		if (nextDoy > 0) {
+			return BadiDate.createFromBadiDoyAndYear(badiYear, nextDoy);
+		}
+		// If the last Holyday of the year passt, the next holyday is going to
+		// be Naw-Ruz.
+		BadiDate.checkBadiYearForValidity(badiYear + 1);
+		return BadiDate.createFromBadiDoyAndYear(badiYear + 1, 1);
+	}
+
+	/**
+	 * Returns the day of the Badi year of the next holyday after the day of
+	 * the year or 0 if the next holyday is Naw-Ruz of the next year.
+	 */
+	static int getNextHolydayDoy(final int badiYear, final int dayOfYear) {
 		final int yearIndex = badiYear - FIRST_YEAR;
+		final int doy = Math.max(0, Math.min(dayOfYear, DOY_TABLE_SIZE - 1));
+		if (yearIndex <= 0) {
+			return NEXT_HOLYDAY_DOY_UNTIL_171[doy];
+		}
+		final int nextFixed = NEXT_FIXED_HOLYDAY_DOY[doy];
+		final int birthOfBab = BadiYearInfo.get(badiYear).getBirthOfBabDoy();
+		final int nextBirthday;
+		if (birthOfBab > dayOfYear) {
+			nextBirthday = birthOfBab;
+		} else if (birthOfBab + 1 > dayOfYear) {
+			nextBirthday = birthOfBab + 1;
+		} else {
+			return nextFixed;
+		}
+		return nextFixed == 0 || nextBirthday < nextFixed ? nextBirthday
+				: nextFixed;
+	}
 
-		for (int doyHolyday : HOLYDAY_DOY) {
-			final Integer index = HOLYDAY_DOY.indexOf(doyHolyday);
+	/**
+	 * Returns the day of the year of the Birth of the Bab: published until
+	 * 221 and computed after that. BadiYearInfo holds the result per year.
+	 */
+	static int birthOfBabDoy(final int badiYear) {
+		final int yearIndex = badiYear - FIRST_YEAR;
+		if (yearIndex <= 0) {
+			return HOLYDAY_DOY[BIRTH_OF_THE_BAB._index];
+		}
+		if (yearIndex < BIRTH_OF_BAB_DOY.length) {
+			return BIRTH_OF_BAB_DOY[yearIndex];
+		}
+		return computeBirthOfBabDoy(badiYear);
+	}
 
-			// Special case: Birth of the Bab and Baha'u'llah after 171.
-			if (yearIndex > 0 && (index == 7 || index == 8)) {
-				doyHolyday = BIRTH_OF_BAB_DOY[yearIndex] + index - 7;
-			}
-			if (doyHolyday > dayOfYear) {
-				return BadiDate.createFromBadiYearAndDayOfYear(badiYear,
-						doyHolyday);
+	/**
+	 * Returns the day of the year of the Birth of the Bab: the day after the
+	 * eighth new moon after Naw-Ruz, with the days counted from sunset to
+	 * sunset in Tehran.
+	 */
+	static int computeBirthOfBabDoy(final int badiYear) {
+		final int nawRuz = BadiConversionTables.nawRuzEpochDay(badiYear);
+		int lunation = Astronomy.lunationBefore(badiYear
+				+ BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR + 0.2);
+		int newMoons = 0;
+		while (true) {
+			final int newMoonDay = BadiConversionTables
+					.tehranBadiEpochDay(Astronomy.newMoon(lunation));
+			if (newMoonDay > nawRuz && ++newMoons == 8) {
+				return newMoonDay + 1 - nawRuz + 1;
 			}
+			lunation++;
 		}
-		// If the last Holyday of the year passt, the next holyday is going to
-		// be Naw-Ruz.
-		return BadiDate.createFromBadiYearAndDayOfYear(badiYear + 1, 1);
+	}
+
+	private static boolean isBirthOfTheTwinManifestations(final int index) {
+		return index == 7 || index == 8;
 	}
 }
@@ -15,12 +15,13 @@
  */
 package de.pezeshki.bahaiCalendarLibrary;
 
+import java.time.LocalDate;
 import java.util.Calendar;
 
 import org.joda.time.base.BaseDateTime;
 
 /**
- * The Badi and Gregorian date converter (from 1900-2064). Initial author
+ * The Badi and Gregorian date converter (from 1844-2343). Initial author
  * Soroosh Pezeshki 2015
  */
 public interface BaseBadiDate {
@@ -66,10 +67,26 @@ public interface BaseBadiDate {
 	int getGregorianDayOfYear();
 
 	/**
-	 * Returns the Calendar for the Gregorian date.
+	 * Returns the Calendar for the Gregorian date at midnight in the default
+	 * time zone.
 	 */
 	Calendar getCalendar();
 
+	/**
+	 * Returns the java.time LocalDate for the Gregorian date.
+	 */
+	default LocalDate toLocalDate() {
+		return LocalDate.of(getGregorianYear(), getGregorianMonth(),
+				getGregorianDay());
+	}
+
+	/**
+	 * Returns the epoch day (days since 1970-01-01) of the date.
+	 */
+	default long toEpochDay() {
+		return toLocalDate().toEpochDay();
+	}
+
 	/**
 	 * If a Holyday it will be returned otherwise null.
 	 */
@@ -109,4 +126,36 @@ public interface BaseBadiDate {
 	 */
 	BaseDateTime getDateTime();
 
+	/**
+	 * Returns the date the number of days later (earlier if negative).
+	 */
+	default BadiDate plusDays(final int days) {
+		return BadiDate.createFromValidEpochDay(toEpochDay() + days);
+	}
+
+	/**
+	 * Returns the date the number of days earlier (later if negative).
+	 */
+	default BadiDate minusDays(final int days) {
+		return plusDays(-days);
+	}
+
+	/**
+	 * Returns the date the number of months later (earlier if negative).
+	 * Ayyam'i'Ha counts as month 19 between Mulk and Ala; a day beyond the
+	 * last day of Ayyam'i'Ha is moved to its last day.
+	 */
+	default BadiDate plusMonths(final int months) {
+		return BadiDate.createFromValidEpochDay(toEpochDay()).plusMonths(months);
+	}
+
+	/**
+	 * Returns the same month and day the number of years later (earlier if
+	 * negative). A day beyond the last day of Ayyam'i'Ha is moved to its last
+	 * day.
+	 */
+	default BadiDate plusYears(final int years) {
+		return BadiDate.createFromValidEpochDay(toEpochDay()).plusYears(years);
+	}
+
 }
@@ -0,0 +1,91 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.function.IntFunction;
+
+/**
+ * The span of epoch days covered by the value array of BadiDateIntMap and
+ * BadiDateObjectMap. Index i of the array is the epoch day
+ * getFirstEpochDay() + i. The window only grows and at least doubles, but
+ * never beyond the supported epoch days. EpochDayWindow is not thread safe.
+ */
+final class EpochDayWindow {
+
+	private int _firstEpochDay;
+	private int _length;
+
+	/**
+	 * Returns the epoch day of the index 0.
+	 */
+	int getFirstEpochDay() {
+		return _firstEpochDay;
+	}
+
+	/**
+	 * Returns the index of the epoch day or -1 if it is outside the window.
+	 */
+	int indexOf(final long epochDay) {
+		final long index = epochDay - _firstEpochDay;
+		return index >= 0 && index < _length ? (int) index : -1;
+	}
+
+	/**
+	 * Grows the window to cover the epoch day and returns the values moved
+	 * into an array of the new length, or the values if the day is already
+	 * covered.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	<A> A cover(final A values, final long epochDay,
+			final IntFunction<A> newArray) throws IllegalArgumentException {
+		BadiDate.checkEpochDayForValidity(epochDay);
+		final int day = (int) epochDay;
+		final int first;
+		final int length;
+		if (_length == 0) {
+			_firstEpochDay = day;
+			_length = 1;
+			return newArray.apply(1);
+		}
+		if (day < _firstEpochDay) {
+			first = Math.max(BadiConversionTables.MIN_EPOCH_DAY,
+					Math.min(day, _firstEpochDay - _length));
+			length = _firstEpochDay - first + _length;
+		} else if (day >= _firstEpochDay + _length) {
+			first = _firstEpochDay;
+			length = Math.min(BadiConversionTables.MAX_EPOCH_DAY
+					- _firstEpochDay + 1, Math.max(day - _firstEpochDay + 1,
+					2 * _length));
+		} else {
+			return values;
+		}
+		final A grown = newArray.apply(length);
+		System.arraycopy(values, 0, grown, _firstEpochDay - first, _length);
+		_firstEpochDay = first;
+		_length = length;
+		return grown;
+	}
+
+	/**
+	 * Empties the window.
+	 */
+	void clear() {
+		_firstEpochDay = 0;
+		_length = 0;
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compact, ordered list of holydays and feasts. Every entry is an epoch day
+ * (days since 1970-01-01) plus a code: the index of the holyday, or the
+ * negative Badi month for a feast (or 1st day of Ayyam'i'Ha). Naw-Ruz is
+ * listed as holyday before the feast of Baha.
+ */
+public final class HolydayList {
+
+	private int[] _epochDays;
+	private byte[] _codes;
+	private int _size;
+
+	HolydayList(final int capacity) {
+		_epochDays = new int[Math.max(capacity, 1)];
+		_codes = new byte[_epochDays.length];
+	}
+
+	void add(final int epochDay, final int code) {
+		if (_size == _epochDays.length) {
+			_epochDays = Arrays.copyOf(_epochDays, _size * 2);
+			_codes = Arrays.copyOf(_codes, _size * 2);
+		}
+		_epochDays[_size] = epochDay;
+		_codes[_size] = (byte) code;
+		_size++;
+	}
+
+	/**
+	 * Returns the number of entries.
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Returns the epoch day (days since 1970-01-01) of the entry.
+	 */
+	public int getEpochDay(final int index) {
+		checkIndex(index);
+		return _epochDays[index];
+	}
+
+	/**
+	 * Returns true if the entry is a feast (or 1st day of Ayyam'i'Ha).
+	 */
+	public boolean isFeast(final int index) {
+		checkIndex(index);
+		return _codes[index] < 0;
+	}
+
+	/**
+	 * Returns the Badi month of a feast entry, 0 for a holyday entry.
+	 */
+	public int getFeastMonth(final int index) {
+		checkIndex(index);
+		return _codes[index] < 0 ? -_codes[index] : 0;
+	}
+
+	/**
+	 * Returns the holyday of a holyday entry, null for a feast entry.
+	 */
+	public BahaiHolyday getHolyday(final int index) {
+		checkIndex(index);
+		return _codes[index] < 0 ? null : BahaiHolyday
+				.fromIndex(_codes[index]);
+	}
+
+	/**
+	 * Returns the Badi date of the entry.
+	 */
+	public BadiDate getBadiDate(final int index) {
+		return BadiDate.createFromValidEpochDay(getEpochDay(index));
+	}
+
+	/**
+	 * Returns a copy of the epoch days of all entries.
+	 */
+	public int[] toEpochDays() {
+		return Arrays.copyOf(_epochDays, _size);
+	}
+
+	/**
+	 * Returns a lazy stream of the Badi dates of all entries.
+	 */
+	public Stream<BadiDate> stream() {
+		return IntStream.range(0, _size).mapToObj(this::getBadiDate);
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= _size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ _size);
+		}
+	}
+}
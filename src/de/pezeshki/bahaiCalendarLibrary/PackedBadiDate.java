@@ -0,0 +1,273 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+/**
+ * Allocation free alternative to BadiDate. A Badi date is packed into a single
+ * int:
+ *
+ * <pre>
+ * bits  0- 4  Badi day of the month
+ * bits  5- 9  Badi month
+ * bits 10-18  Badi day of the year
+ * bits 19-27  Badi year
+ * bits 28-31  Baha'i Holyday (0 = no holyday, otherwise index + 1)
+ * </pre>
+ *
+ * The same validation rules and year limits as for BadiDate apply.
+ */
+public final class PackedBadiDate {
+
+	/**
+	 * A value that is never a valid packed date (the day is 0).
+	 */
+	public static final int INVALID = 0;
+
+	private static final int DAY_SHIFT = 0;
+	private static final int MONTH_SHIFT = 5;
+	private static final int DOY_SHIFT = 10;
+	private static final int YEAR_SHIFT = 19;
+	private static final int HOLYDAY_SHIFT = 28;
+	private static final int FIVE_BITS = 0x1F;
+	private static final int NINE_BITS = 0x1FF;
+
+	private PackedBadiDate() {
+	}
+
+	/**
+	 * Returns the packed date of the Badi year, month and day.
+	 *
+	 * @throws IllegalArgumentException
+	 *             arguments are out of bound
+	 */
+	public static int fromBadiDate(final int badiYear, final int badiMonth,
+			final int badiDay) throws IllegalArgumentException {
+		BadiDate.checkBadiDayAndMonthForValidity(badiDay, badiMonth);
+		BadiDate.checkBadiYearForValidity(badiYear);
+		return pack(badiYear, BadiConversionTables.badiDoyFromMonthAndDay(
+				badiYear, badiMonth, badiDay));
+	}
+
+	/**
+	 * Returns the packed date of the Badi year and day of the year.
+	 *
+	 * @throws IllegalArgumentException
+	 *             year or day of the year are out of bound
+	 */
+	public static int fromBadiYearAndDayOfYear(final int badiYear,
+			final int badiDayOfYear) throws IllegalArgumentException {
+		BadiDate.checkDoyForValidity(badiDayOfYear);
+		BadiDate.checkBadiYearForValidity(badiYear);
+		return pack(badiYear, badiDayOfYear);
+	}
+
+	/**
+	 * Returns the packed date of the Gregorian year, month (January=1) and
+	 * day.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT or
+	 *             month or day are out of bound
+	 */
+	public static int fromGregorian(final int year, final int month,
+			final int day) throws IllegalArgumentException {
+		BadiDate.checkGregorianYearForValidity(year);
+		BadiDate.checkGregorianMonthAndDayForValidity(year, month, day);
+		return packEpochDay(BadiConversionTables.epochDayFromGregorian(year,
+				month, day));
+	}
+
+	/**
+	 * Returns the packed date of the epoch day (days since 1970-01-01).
+	 *
+	 * @throws IllegalArgumentException
+	 *             Year is less than 1844 or greater than UPPER_YEAR_LIMIT
+	 */
+	public static int fromEpochDay(final int epochDay)
+			throws IllegalArgumentException {
+		BadiDate.checkEpochDayForValidity(epochDay);
+		return packEpochDay(epochDay);
+	}
+
+	/**
+	 * Like fromBadiDate, but returns INVALID instead of throwing if the
+	 * arguments are out of bound.
+	 */
+	public static int tryFromBadiDate(final int badiYear, final int badiMonth,
+			final int badiDay) {
+		if (BadiDateValidation.validateBadiDate(badiYear, badiMonth, badiDay) != BadiDateValidation.VALID) {
+			return INVALID;
+		}
+		return pack(badiYear, BadiConversionTables.badiDoyFromMonthAndDay(
+				badiYear, badiMonth, badiDay));
+	}
+
+	/**
+	 * Like fromBadiYearAndDayOfYear, but returns INVALID instead of throwing
+	 * if year or day of the year are out of bound.
+	 */
+	public static int tryFromBadiYearAndDayOfYear(final int badiYear,
+			final int badiDayOfYear) {
+		if (BadiDateValidation.validateBadiYearAndDayOfYear(badiYear,
+				badiDayOfYear) != BadiDateValidation.VALID) {
+			return INVALID;
+		}
+		return pack(badiYear, badiDayOfYear);
+	}
+
+	/**
+	 * Like fromGregorian, but returns INVALID instead of throwing if year,
+	 * month or day are out of bound.
+	 */
+	public static int tryFromGregorian(final int year, final int month,
+			final int day) {
+		if (BadiDateValidation.validateGregorian(year, month, day) != BadiDateValidation.VALID) {
+			return INVALID;
+		}
+		return packEpochDay(BadiConversionTables.epochDayFromGregorian(year,
+				month, day));
+	}
+
+	/**
+	 * Like fromEpochDay, but returns INVALID instead of throwing if the year
+	 * is out of bound.
+	 */
+	public static int tryFromEpochDay(final int epochDay) {
+		if (BadiDateValidation.validateEpochDay(epochDay) != BadiDateValidation.VALID) {
+			return INVALID;
+		}
+		return packEpochDay(epochDay);
+	}
+
+	/**
+	 * Returns the packed date of a Badi date.
+	 */
+	public static int fromBadiDate(final BaseBadiDate badiDate) {
+		return pack(badiDate.getBadiYear(), badiDate.getBadiDayOfYear());
+	}
+
+	/**
+	 * Returns the BadiDate of the packed date.
+	 */
+	public static BadiDate toBadiDate(final int packedDate) {
+		return BadiDate.createFromBadiYearAndDayOfYear(
+				getBadiYear(packedDate), getBadiDayOfYear(packedDate));
+	}
+
+	/**
+	 * Returns the Badi day of the month.
+	 */
+	public static int getBadiDay(final int packedDate) {
+		return packedDate >>> DAY_SHIFT & FIVE_BITS;
+	}
+
+	/**
+	 * Returns the Badi month. Baha =1; Ayyam'i'Ha=19; Ala=20;
+	 */
+	public static int getBadiMonth(final int packedDate) {
+		return packedDate >>> MONTH_SHIFT & FIVE_BITS;
+	}
+
+	/**
+	 * Returns the Badi day of the year.
+	 */
+	public static int getBadiDayOfYear(final int packedDate) {
+		return packedDate >>> DOY_SHIFT & NINE_BITS;
+	}
+
+	/**
+	 * Returns the Badi year.
+	 */
+	public static int getBadiYear(final int packedDate) {
+		return packedDate >>> YEAR_SHIFT & NINE_BITS;
+	}
+
+	/**
+	 * Returns the index of the holyday or -1 if the date is not a holyday.
+	 */
+	public static int getHolydayIndex(final int packedDate) {
+		return (packedDate >>> HOLYDAY_SHIFT) - 1;
+	}
+
+	/**
+	 * If a Holyday it will be returned otherwise null.
+	 */
+	public static BahaiHolyday getHolyday(final int packedDate) {
+		final int index = getHolydayIndex(packedDate);
+		return index < 0 ? null : BahaiHolyday.fromIndex(index);
+	}
+
+	/**
+	 * Returns the epoch day (days since 1970-01-01) of the packed date.
+	 */
+	public static int toEpochDay(final int packedDate) {
+		return BadiConversionTables.epochDayFromBadi(getBadiYear(packedDate),
+				getBadiDayOfYear(packedDate));
+	}
+
+	/**
+	 * Returns the Gregorian year of the packed date.
+	 */
+	public static int getGregorianYear(final int packedDate) {
+		return BadiConversionTables
+				.gregorianYearFromEpochDay(toEpochDay(packedDate));
+	}
+
+	/**
+	 * Returns the Gregorian month of the packed date. January=1; December=12;
+	 */
+	public static int getGregorianMonth(final int packedDate) {
+		return BadiConversionTables
+				.gregorianMonthFromEpochDay(toEpochDay(packedDate));
+	}
+
+	/**
+	 * Returns the Gregorian day of the month of the packed date.
+	 */
+	public static int getGregorianDay(final int packedDate) {
+		return BadiConversionTables
+				.gregorianDayFromEpochDay(toEpochDay(packedDate));
+	}
+
+	/**
+	 * Packs the Badi year and day of the year. A day of the year beyond the
+	 * end of the Badi year continues in the next year.
+	 */
+	static int pack(final int badiYear, final int badiDoy) {
+		if (badiDoy > BadiConversionTables.DAYS_BEFORE_AYYAMIHA) {
+			final int daysInYear = BadiConversionTables.daysInYear(badiYear);
+			if (badiDoy > daysInYear) {
+				return pack(badiYear + 1, badiDoy - daysInYear);
+			}
+		}
+		final BadiYearInfo yearInfo = BadiYearInfo.get(badiYear);
+		final BahaiHolyday holyday = BahaiHolyday.getHolyday(badiDoy, badiYear);
+		return yearInfo.getBadiDay(badiDoy) << DAY_SHIFT
+				| yearInfo.getBadiMonth(badiDoy) << MONTH_SHIFT
+				| badiDoy << DOY_SHIFT
+				| badiYear << YEAR_SHIFT
+				| (holyday == null ? 0 : holyday.getIndex() + 1) << HOLYDAY_SHIFT;
+	}
+
+	/**
+	 * Packs the epoch day without checking the range.
+	 */
+	static int packEpochDay(final int epochDay) {
+		final int badiYear = BadiConversionTables.badiYearFromEpochDay(epochDay);
+		return pack(badiYear,
+				BadiConversionTables.badiDoyFromEpochDay(epochDay, badiYear));
+	}
+}
@@ -0,0 +1,338 @@
+/**
+ * Version 2.0
+ * Copyright 2015 Soroosh Pezeshki
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.pezeshki.bahaiCalendarLibrary.BadiCalendarMetrics.Counter;
+
+/**
+ * Computes the local sunset with the solar position algorithm of the NOAA
+ * solar calculator (accurate to about a minute between +/-72 degrees
+ * latitude). The Badi day starts at sunset.
+ *
+ * A day at a location is the day of the local mean solar time (UTC shifted by
+ * longitude / 15 hours), so no time zone is needed. If the sun does not set
+ * on a day (polar day or polar night) 18:00 local mean solar time is used.
+ *
+ * Sunsets are cached in tables of one Gregorian year of the supported range
+ * at one location, with the coordinates rounded to 0.01 degrees. At most
+ * MAX_CACHED_YEARS tables (about 1.5 KB each) are cached; when the cache is
+ * full the clock algorithm evicts a table that has not been read since the
+ * clock hand last passed it, so tables in use stay cached.
+ */
+public final class SunsetCalculator {
+
+	/**
+	 * The maximum number of cached year tables (one year at one location).
+	 */
+	public static final int MAX_CACHED_YEARS = 4096;
+
+	static final long MILLIS_PER_DAY = 86400000L;
+	private static final int SECONDS_PER_DAY = 86400;
+	private static final int SECONDS_PER_DEGREE = SECONDS_PER_DAY / 360;
+	private static final double FALLBACK_SUNSET_SECONDS = 18 * 3600;
+	private static final double LOCATION_RESOLUTION = 100;
+	/**
+	 * Zenith distance of the center of the sun at the visible sunset: the
+	 * upper limb touches the horizon (16') after refraction (34').
+	 */
+	private static final double SUNSET_ZENITH = 90.833;
+	private static final int FIRST_CACHED_YEAR = BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR;
+
+	private static final int YEAR_BITS = 9;
+	private static final int LONGITUDE_BITS = 16;
+
+	private static final ConcurrentHashMap<Long, YearTable> YEARS = new ConcurrentHashMap<Long, YearTable>();
+
+	/**
+	 * The cached tables in clock order; guarded by itself together with
+	 * clockHand. YEARS only changes while holding the lock, so it never holds
+	 * more than MAX_CACHED_YEARS tables.
+	 */
+	private static final YearTable[] CLOCK = new YearTable[MAX_CACHED_YEARS];
+	private static int clockHand;
+
+	private SunsetCalculator() {
+	}
+
+	/**
+	 * Returns the sunset on the Gregorian day at the location in milliseconds
+	 * since 1970-01-01T00:00Z.
+	 *
+	 * @param epochDay
+	 *            the local day (days since 1970-01-01)
+	 * @param latitude
+	 *            the latitude in degrees, north positive
+	 * @param longitude
+	 *            the longitude in degrees, east positive
+	 * @throws IllegalArgumentException
+	 *             latitude or longitude are out of bound
+	 */
+	public static long getSunset(final long epochDay, final double latitude,
+			final double longitude) throws IllegalArgumentException {
+		checkLocationForValidity(latitude, longitude);
+		final int latitudeIndex = (int) Math.round(latitude
+				* LOCATION_RESOLUTION);
+		final int longitudeIndex = (int) Math.round(longitude
+				* LOCATION_RESOLUTION);
+		return epochDay * MILLIS_PER_DAY + 1000L
+				* sunsetSeconds(epochDay, latitudeIndex, longitudeIndex);
+	}
+
+	/**
+	 * Returns true if the sun has set at the location on the local day of the
+	 * instant.
+	 *
+	 * @param epochMillis
+	 *            milliseconds since 1970-01-01T00:00Z
+	 * @param latitude
+	 *            the latitude in degrees, north positive
+	 * @param longitude
+	 *            the longitude in degrees, east positive
+	 * @throws IllegalArgumentException
+	 *             latitude or longitude are out of bound
+	 */
+	public static boolean hasSunSet(final long epochMillis,
+			final double latitude, final double longitude)
+			throws IllegalArgumentException {
+		final long epochDay = localEpochDay(epochMillis, longitude);
+		return epochMillis >= getSunset(epochDay, latitude, longitude);
+	}
+
+	/**
+	 * Returns the Gregorian day (days since 1970-01-01) whose Badi date is
+	 * the Badi date of the instant at the location, i.e. the local day, or the
+	 * next day once the sun has set.
+	 *
+	 * @throws IllegalArgumentException
+	 *             latitude or longitude are out of bound
+	 */
+	public static long getBadiEpochDay(final long epochMillis,
+			final double latitude, final double longitude)
+			throws IllegalArgumentException {
+		final long epochDay = localEpochDay(epochMillis, longitude);
+		return epochMillis >= getSunset(epochDay, latitude, longitude) ? epochDay + 1
+				: epochDay;
+	}
+
+	/**
+	 * Removes all cached sunsets.
+	 */
+	public static void clearCache() {
+		synchronized (CLOCK) {
+			YEARS.clear();
+			Arrays.fill(CLOCK, null);
+			clockHand = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of cached year tables.
+	 */
+	static int cachedYears() {
+		return YEARS.size();
+	}
+
+	/**
+	 * Returns true if the year table of the day at the location is cached.
+	 */
+	static boolean isCached(final long epochDay, final double latitude,
+			final double longitude) {
+		return YEARS.containsKey(Long.valueOf(key(
+				(int) Math.round(latitude * LOCATION_RESOLUTION),
+				(int) Math.round(longitude * LOCATION_RESOLUTION),
+				BadiConversionTables.gregorianYearFromEpochDay((int) epochDay)
+						- FIRST_CACHED_YEAR)));
+	}
+
+	static void checkLocationForValidity(final double latitude,
+			final double longitude) throws IllegalArgumentException {
+		if (!(latitude >= -90 && latitude <= 90)) {
+			throw BadiCalendarMetrics.invalid(Counter.LOCATION, (long) latitude,
+					"Latitude has to be between -90 and 90.");
+		}
+		if (!(longitude >= -180 && longitude <= 180)) {
+			throw BadiCalendarMetrics.invalid(Counter.LOCATION, (long) longitude,
+					"Longitude has to be between -180 and 180.");
+		}
+	}
+
+	/**
+	 * Returns the day of the local mean solar time of the instant.
+	 */
+	static long localEpochDay(final long epochMillis, final double longitude) {
+		return Math.floorDiv(epochMillis
+				+ (long) (longitude * SECONDS_PER_DEGREE * 1000),
+				MILLIS_PER_DAY);
+	}
+
+	/**
+	 * Returns the sunset in seconds after 00:00 UTC of the day, from the
+	 * cache if the day is within the supported range.
+	 */
+	private static int sunsetSeconds(final long epochDay,
+			final int latitudeIndex, final int longitudeIndex) {
+		final int yearIndex = epochDay < BadiConversionTables.FIRST_EPOCH_DAY
+				|| epochDay > Integer.MAX_VALUE / 2 ? -1 : BadiConversionTables
+				.gregorianYearFromEpochDay((int) epochDay) - FIRST_CACHED_YEAR;
+		if (yearIndex < 0 || yearIndex > BadiDate.UPPER_YEAR_LIMIT - FIRST_CACHED_YEAR) {
+			return computeSunsetSeconds(epochDay, latitudeIndex
+					/ LOCATION_RESOLUTION, longitudeIndex / LOCATION_RESOLUTION);
+		}
+		return yearTable(latitudeIndex, longitudeIndex, yearIndex)._sunsets[(int) epochDay
+				- BadiConversionTables.epochDayFromGregorian(yearIndex
+						+ FIRST_CACHED_YEAR, 1, 1)];
+	}
+
+	private static long key(final int latitudeIndex, final int longitudeIndex,
+			final int yearIndex) {
+		return ((long) (latitudeIndex + 9000) << LONGITUDE_BITS
+				| longitudeIndex + 18000) << YEAR_BITS | yearIndex;
+	}
+
+	private static YearTable yearTable(final int latitudeIndex,
+			final int longitudeIndex, final int yearIndex) {
+		final Long key = Long.valueOf(key(latitudeIndex, longitudeIndex,
+				yearIndex));
+		final YearTable table = YEARS.get(key);
+		if (table != null) {
+			BadiCalendarMetrics.count(Counter.SUNSET_LOCATION_HIT);
+			if (!table._referenced) {
+				table._referenced = true;
+			}
+			return table;
+		}
+		BadiCalendarMetrics.count(Counter.SUNSET_LOCATION_MISS);
+		final double latitude = latitudeIndex / LOCATION_RESOLUTION;
+		final double longitude = longitudeIndex / LOCATION_RESOLUTION;
+		final int year = yearIndex + FIRST_CACHED_YEAR;
+		final Object event = BadiCalendarEvents.beginCacheRebuild();
+		final int firstDay = BadiConversionTables.epochDayFromGregorian(year,
+				1, 1);
+		final int[] sunsets = new int[365 + BadiConversionTables
+				.isLeapYear(year)];
+		for (int i = 0; i < sunsets.length; i++) {
+			sunsets[i] = computeSunsetSeconds(firstDay + i, latitude,
+					longitude);
+		}
+		BadiCalendarEvents.endCacheRebuild(event, "SunsetCalculator",
+				latitude + "," + longitude + "/" + year);
+		synchronized (CLOCK) {
+			final YearTable cached = YEARS.get(key);
+			if (cached != null) {
+				return cached;
+			}
+			final YearTable created = new YearTable(key, sunsets);
+			while (CLOCK[clockHand] != null && CLOCK[clockHand]._referenced) {
+				CLOCK[clockHand]._referenced = false;
+				clockHand = (clockHand + 1) % MAX_CACHED_YEARS;
+			}
+			if (CLOCK[clockHand] != null) {
+				YEARS.remove(Long.valueOf(CLOCK[clockHand]._key));
+				BadiCalendarMetrics.count(Counter.SUNSET_LOCATION_EVICTION);
+			}
+			CLOCK[clockHand] = created;
+			YEARS.put(key, created);
+			clockHand = (clockHand + 1) % MAX_CACHED_YEARS;
+			return created;
+		}
+	}
+
+	/**
+	 * Returns the sunset in seconds after 00:00 UTC of the local day. The
+	 * solar position is computed at the estimated sunset and refined once.
+	 */
+	static int computeSunsetSeconds(final long epochDay,
+			final double latitude, final double longitude) {
+		final double noon = SECONDS_PER_DAY / 2 - longitude * SECONDS_PER_DEGREE;
+		double sunset = noon + SECONDS_PER_DAY / 4;
+		for (int i = 0; i < 2; i++) {
+			final double julianCentury = (epochDay + sunset / SECONDS_PER_DAY
+					+ 2440587.5 - 2451545.0) / 36525;
+			final double[] position = solarPosition(julianCentury);
+			final double declination = position[0];
+			final double equationOfTime = position[1];
+			final double latitudeRad = Math.toRadians(latitude);
+			final double cosHourAngle = Math.cos(Math.toRadians(SUNSET_ZENITH))
+					/ (Math.cos(latitudeRad) * Math.cos(declination))
+					- Math.tan(latitudeRad) * Math.tan(declination);
+			if (cosHourAngle < -1 || cosHourAngle > 1) {
+				return (int) Math.round(FALLBACK_SUNSET_SECONDS - longitude
+						* SECONDS_PER_DEGREE);
+			}
+			sunset = noon - equationOfTime
+					+ Math.toDegrees(Math.acos(cosHourAngle))
+					* SECONDS_PER_DEGREE;
+		}
+		return (int) Math.round(sunset);
+	}
+
+	/**
+	 * Returns the declination of the sun (radians) and the equation of time
+	 * (seconds) of the Julian century since J2000.
+	 */
+	private static double[] solarPosition(final double t) {
+		final double meanLongitude = Math.toRadians((280.46646 + t
+				* (36000.76983 + t * 0.0003032)) % 360);
+		final double meanAnomaly = Math.toRadians(357.52911 + t
+				* (35999.05029 - 0.0001537 * t));
+		final double eccentricity = 0.016708634 - t
+				* (0.000042037 + 0.0000001267 * t);
+		final double equationOfCenter = Math.sin(meanAnomaly)
+				* (1.914602 - t * (0.004817 + 0.000014 * t))
+				+ Math.sin(2 * meanAnomaly) * (0.019993 - 0.000101 * t)
+				+ Math.sin(3 * meanAnomaly) * 0.000289;
+		final double omega = Math.toRadians(125.04 - 1934.136 * t);
+		final double apparentLongitude = meanLongitude
+				+ Math.toRadians(equationOfCenter - 0.00569 - 0.00478
+						* Math.sin(omega));
+		final double meanObliquity = 23 + (26 + (21.448 - t
+				* (46.815 + t * (0.00059 - t * 0.001813))) / 60) / 60;
+		final double obliquity = Math.toRadians(meanObliquity + 0.00256
+				* Math.cos(omega));
+		final double declination = Math.asin(Math.sin(obliquity)
+				* Math.sin(apparentLongitude));
+		final double y = Math.pow(Math.tan(obliquity / 2), 2);
+		final double equationOfTime = y * Math.sin(2 * meanLongitude) - 2
+				* eccentricity * Math.sin(meanAnomaly) + 4 * eccentricity * y
+				* Math.sin(meanAnomaly) * Math.cos(2 * meanLongitude) - 0.5
+				* y * y * Math.sin(4 * meanLongitude) - 1.25 * eccentricity
+				* eccentricity * Math.sin(2 * meanAnomaly);
+		return new double[] { declination,
+				Math.toDegrees(equationOfTime) * SECONDS_PER_DEGREE };
+	}
+
+	/**
+	 * The sunsets of one Gregorian year at one location in seconds after
+	 * 00:00 UTC of the day.
+	 */
+	private static final class YearTable {
+
+		final long _key;
+		final int[] _sunsets;
+		/**
+		 * Read since the clock hand last passed the table.
+		 */
+		volatile boolean _referenced;
+
+		YearTable(final long key, final int[] sunsets) {
+			_key = key;
+			_sunsets = sunsets;
+		}
+	}
+}
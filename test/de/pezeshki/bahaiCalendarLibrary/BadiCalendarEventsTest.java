@@ -0,0 +1,92 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiCalendarEventsTest {
+
+	@Test
+	public void recordsEnabledEvents() throws Exception {
+		final List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(BadiCalendarEvents.CONVERSION).withThreshold(Duration.ZERO);
+			recording.enable(BadiCalendarEvents.VALIDATION_FAILURE);
+			recording.enable(BadiCalendarEvents.CACHE_REBUILD).withThreshold(Duration.ZERO);
+			recording.start();
+			BadiDate.createFromGregorian(2017, 10, 21);
+			try {
+				BadiDate.createFromGregorian(1843, 1, 1);
+				Assert.fail();
+			} catch (final IllegalArgumentException e) {
+				Assert.assertEquals(e.getMessage(), "Year has to be greater than or equal to 1844.");
+			}
+			BadiInstantConverter.forZone(ZoneId.of("Asia/Kathmandu"));
+			recording.stop();
+			final Path file = Files.createTempFile("badi", ".jfr");
+			try {
+				recording.dump(file);
+				events = RecordingFile.readAllEvents(file);
+			} finally {
+				Files.delete(file);
+			}
+		}
+		final RecordedEvent conversion = find(events, BadiCalendarEvents.CONVERSION);
+		Assert.assertEquals(conversion.getString("factory"), "createFromGregorian");
+		Assert.assertEquals(conversion.getInt("badiYear"), 174);
+		Assert.assertEquals(conversion.getInt("badiDayOfYear"), 216);
+
+		final RecordedEvent failure = find(events, BadiCalendarEvents.VALIDATION_FAILURE);
+		Assert.assertEquals(failure.getString("rule"), "checkGregorianYearForValidity");
+		Assert.assertEquals(failure.getLong("value"), 1843);
+		Assert.assertEquals(failure.getString("message"), "Year has to be greater than or equal to 1844.");
+
+		final RecordedEvent rebuild = find(events, BadiCalendarEvents.CACHE_REBUILD);
+		Assert.assertEquals(rebuild.getString("cache"), "BadiInstantConverter");
+		Assert.assertEquals(rebuild.getString("key"), "Asia/Kathmandu");
+	}
+
+	@Test
+	public void disabledByDefault() throws Exception {
+		final List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.start();
+			BadiDate.createFromGregorian(2017, 10, 21);
+			try {
+				BadiDate.createFromBadiDate(174, 21, 1);
+				Assert.fail();
+			} catch (final IllegalArgumentException e) {
+				// expected
+			}
+			recording.stop();
+			final Path file = Files.createTempFile("badi", ".jfr");
+			try {
+				recording.dump(file);
+				events = RecordingFile.readAllEvents(file);
+			} finally {
+				Files.delete(file);
+			}
+		}
+		for (final RecordedEvent event : events) {
+			Assert.assertFalse(event.getEventType().getName().startsWith("de.pezeshki"), event.getEventType().getName());
+		}
+	}
+
+	private static RecordedEvent find(final List<RecordedEvent> events, final String name) {
+		for (final RecordedEvent event : events) {
+			if (event.getEventType().getName().equals(name)) {
+				return event;
+			}
+		}
+		throw new AssertionError("No event " + name);
+	}
+}
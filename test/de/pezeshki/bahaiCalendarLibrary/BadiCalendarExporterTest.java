@@ -0,0 +1,115 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiCalendarExporterTest {
+
+	private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern(
+			"yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+	@Test
+	public void feastsAndHolydays() throws Exception {
+		final String calendar = export(BadiCalendarExporter.feastsAndHolydays(), 174, 174);
+		Assert.assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+		Assert.assertTrue(calendar.endsWith("\r\nEND:VCALENDAR\r\n"));
+		Assert.assertEquals(count(calendar, "BEGIN:VEVENT\r\n"), 30);
+		Assert.assertEquals(count(calendar, "\n"), count(calendar, "\r\n"));
+		Assert.assertTrue(calendar.contains("UID:174-holyday-0@bahaiCalendarLibrary.pezeshki.de\r\n"));
+		Assert.assertTrue(calendar.contains("UID:174-feast-20@bahaiCalendarLibrary.pezeshki.de\r\n"));
+		Assert.assertFalse(calendar.contains("ayyamiha"));
+		// Naw-Ruz comes before the Feast of Baha on the same day
+		final int nawRuz = calendar.indexOf("SUMMARY:Naw-Ruz\r\n");
+		Assert.assertTrue(nawRuz > 0);
+		Assert.assertTrue(nawRuz < calendar.indexOf("SUMMARY:Feast of Baha\r\n"));
+		Assert.assertTrue(calendar.contains("UID:174-holyday-7@bahaiCalendarLibrary.pezeshki.de\r\n"
+				+ "DTSTAMP:"));
+		Assert.assertTrue(calendar.contains("DTSTART;VALUE=DATE:20171021\r\nDTEND;VALUE=DATE:20171022\r\n"
+				+ "SUMMARY:Birth of the Bab\r\nDESCRIPTION:7 Ilm 174 B.E.\r\n"));
+		Assert.assertTrue(calendar.contains("DTSTART;VALUE=DATE:20180302\r\nDTEND;VALUE=DATE:20180303\r\n"
+				+ "SUMMARY:Feast of Ala\r\n"));
+	}
+
+	@Test
+	public void ayyamIHa() throws Exception {
+		final String calendar = export(BadiCalendarExporter.feastsAndHolydays().withAyyamIHa(), 174, 175);
+		Assert.assertEquals(count(calendar, "BEGIN:VEVENT\r\n"), 62);
+		Assert.assertTrue(calendar.contains("UID:174-ayyamiha-19@bahaiCalendarLibrary.pezeshki.de\r\n"));
+		Assert.assertTrue(calendar.contains("DTSTART;VALUE=DATE:20180225\r\nDTEND;VALUE=DATE:20180302\r\n"
+				+ "SUMMARY:Ayyam'i'Ha\r\n"));
+		Assert.assertTrue(calendar.indexOf("UID:174-feast-20") < calendar.indexOf("UID:175-holyday-0"));
+	}
+
+	@Test
+	public void atSunset() throws Exception {
+		final double latitude = 52.52;
+		final double longitude = 13.4;
+		final String calendar = export(BadiCalendarExporter.feastsAndHolydays().atSunset(latitude, longitude), 174, 174);
+		final long epochDay = LocalDate.of(2017, 10, 21).toEpochDay();
+		final String start = UTC.format(Instant.ofEpochMilli(
+				SunsetCalculator.getSunset(epochDay - 1, latitude, longitude)).truncatedTo(ChronoUnit.MINUTES));
+		final String end = UTC.format(Instant.ofEpochMilli(
+				SunsetCalculator.getSunset(epochDay, latitude, longitude)).truncatedTo(ChronoUnit.MINUTES));
+		Assert.assertTrue(calendar.contains("DTSTART:" + start + "\r\nDTEND:" + end + "\r\n"
+				+ "SUMMARY:Birth of the Bab\r\n"), calendar);
+		Assert.assertFalse(calendar.contains("VALUE=DATE"));
+	}
+
+	@Test
+	public void repeatedExport() throws Exception {
+		final BadiCalendarExporter exporter = BadiCalendarExporter.feastsAndHolydays().withAyyamIHa();
+		final String calendar = export(exporter, 1, BadiDate.UPPER_YEAR_LIMIT_BADI);
+		Assert.assertEquals(count(calendar, "BEGIN:VEVENT\r\n"), 31 * BadiDate.UPPER_YEAR_LIMIT_BADI);
+		Assert.assertEquals(export(exporter, 1, BadiDate.UPPER_YEAR_LIMIT_BADI), calendar);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.export(1, BadiDate.UPPER_YEAR_LIMIT_BADI, out);
+		Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), calendar);
+	}
+
+	@Test
+	public void invalidArguments() throws Exception {
+		final BadiCalendarExporter exporter = BadiCalendarExporter.feastsAndHolydays();
+		try {
+			exporter.export(175, 174, new StringWriter());
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertEquals(e.getMessage(), "Last year has to be greater than or equal to the first year.");
+		}
+		try {
+			exporter.export(0, 174, new StringWriter());
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			exporter.atSunset(91, 0);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertEquals(e.getMessage(), "Latitude has to be between -90 and 90.");
+		}
+	}
+
+	private static String export(final BadiCalendarExporter exporter, final int fromBadiYear, final int toBadiYear)
+			throws Exception {
+		final StringWriter out = new StringWriter();
+		exporter.export(fromBadiYear, toBadiYear, out);
+		return out.toString();
+	}
+
+	private static int count(final String text, final String part) {
+		int count = 0;
+		for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + 1)) {
+			count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,118 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.lang.management.ManagementFactory;
+import java.time.ZoneOffset;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class BadiCalendarMetricsTest {
+
+	private final BadiCalendarMetrics _metrics = BadiCalendarMetrics.getInstance();
+
+	@BeforeMethod
+	public void register() {
+		BadiCalendarMetrics.register();
+		_metrics.reset();
+	}
+
+	@AfterMethod
+	public void unregister() {
+		BadiCalendarMetrics.unregister();
+		_metrics.reset();
+	}
+
+	@Test
+	public void countsFactoriesAndCaches() {
+		BadiDate.createFromGregorian(2017, 3, 20);
+		BadiDate.createFromGregorian(2017, 3, 20);
+		BadiDate.createFromBadiDate(174, 1, 1);
+		BadiDate.createFromInstant(1489968000000L, ZoneOffset.UTC);
+		BadiDate.createFromInstant(1489968000001L, ZoneOffset.UTC);
+		BadiInstantConverter.forZone(ZoneOffset.UTC).convert(new long[] { 1489968000000L, 1489968000001L }, new BadiDate[2]);
+		Assert.assertEquals(_metrics.getFactoryCounts().get("createFromGregorian"), Long.valueOf(2));
+		Assert.assertEquals(_metrics.getFactoryCounts().get("createFromBadiDate"), Long.valueOf(1));
+		Assert.assertEquals(_metrics.getFactoryCounts().get("createFromInstant"), Long.valueOf(2));
+		Assert.assertEquals(_metrics.getFactoryCounts().get("createFromEpochDay"), Long.valueOf(0));
+		Assert.assertTrue(_metrics.getCacheCounts().get("BadiDateCache.hits") >= 2);
+		Assert.assertTrue(_metrics.getCacheCounts().get("BadiYearInfo.hits") > 0);
+		Assert.assertEquals(_metrics.getCacheCounts().get("BadiInstantConverter.hits"), Long.valueOf(1));
+		Assert.assertEquals(_metrics.getCacheCounts().get("BadiInstantConverter.misses"), Long.valueOf(1));
+	}
+
+	@Test
+	public void internalConversionsAreNotCountedAsFactoryCalls() {
+		final BadiDate date = BadiDate.createFromBadiDate(174, 1, 1);
+		final BadiDate lastDay = BadiDate.createFromBadiDate(174, 20, 19);
+		_metrics.reset();
+		date.plusDays(30);
+		Assert.assertSame(date.getNextFeastDate(), BadiDate.createFromValidEpochDay(date.toEpochDay() + 19));
+		Assert.assertSame(lastDay.getNextFeastDate(), lastDay.plusDays(1));
+		Assert.assertSame(lastDay.getNextHolydayDate(), lastDay.plusDays(1));
+		date.getNextHolydayDate();
+		final BadiDateSet set = new BadiDateSet();
+		set.add(date);
+		set.first();
+		final BadiDateIntMap counts = new BadiDateIntMap();
+		counts.add(date, 1);
+		counts.forEach((badiDate, count) -> Assert.assertSame(badiDate, date));
+		final BadiDateObjectMap<String> notes = new BadiDateObjectMap<String>();
+		notes.put(date, "Naw-Ruz");
+		notes.forEach((badiDate, note) -> Assert.assertSame(badiDate, date));
+		BahaiHolyday.getHolydays(date, date.plusDays(19), true).getBadiDate(0);
+		for (final Long count : _metrics.getFactoryCounts().values()) {
+			Assert.assertEquals(count, Long.valueOf(0), _metrics.getFactoryCounts().toString());
+		}
+	}
+
+	@Test
+	public void countsValidationFailuresAndHolydays() {
+		try {
+			BadiDate.createFromGregorian(1843, 1, 1);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertEquals(e.getMessage(), "Year has to be greater than or equal to 1844.");
+		}
+		try {
+			BadiDate.createFromBadiDate(174, 21, 1);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertEquals(e.getMessage(), "Badi month has to be less than or equal to  20.");
+		}
+		Assert.assertEquals(_metrics.getValidationFailureCounts().get("checkGregorianYearForValidity"), Long.valueOf(1));
+		Assert.assertEquals(_metrics.getValidationFailureCounts().get("checkBadiDayAndMonthForValidity"), Long.valueOf(1));
+		Assert.assertEquals(_metrics.getValidationFailureCounts().get("checkBadiYearForValidity"), Long.valueOf(0));
+
+		BahaiHolyday.getHolyday(1, 174);
+		BahaiHolyday.getDayOfYear(174, 2);
+		Assert.assertEquals(_metrics.getHolydayLookupCount(), 2);
+	}
+
+	@Test
+	public void disabledCountsNothing() {
+		_metrics.setEnabled(false);
+		Assert.assertFalse(_metrics.isEnabled());
+		BadiDate.createFromGregorian(2017, 3, 20);
+		Assert.assertEquals(_metrics.getFactoryCounts().get("createFromGregorian"), Long.valueOf(0));
+	}
+
+	@Test
+	public void publishedOnPlatformServer() throws Exception {
+		BadiDate.createFromGregorian(2017, 3, 20);
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName name = new ObjectName(BadiCalendarMetrics.OBJECT_NAME);
+		Assert.assertEquals(server.getAttribute(name, "Enabled"), Boolean.TRUE);
+		final TabularData factories = (TabularData) server.getAttribute(name, "FactoryCounts");
+		final CompositeData row = factories.get(new Object[] { "createFromGregorian" });
+		Assert.assertEquals(row.get("value"), Long.valueOf(1));
+		server.invoke(name, "reset", new Object[0], new String[0]);
+		Assert.assertEquals(_metrics.getFactoryCounts().get("createFromGregorian"), Long.valueOf(0));
+	}
+}
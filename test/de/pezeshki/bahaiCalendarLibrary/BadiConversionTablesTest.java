@@ -0,0 +1,111 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.joda.time.DateTime;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiConversionTablesTest {
+
+	@Test
+	public void gregorianEpochDayRoundTrip() {
+		final Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+		calendar.clear();
+		calendar.set(1843, 0, 1);
+		int epochDay = BadiConversionTables.epochDayFromGregorian(1843, 1, 1);
+		while (calendar.get(Calendar.YEAR) <= BadiDate.UPPER_YEAR_LIMIT) {
+			final int year = calendar.get(Calendar.YEAR);
+			final int month = calendar.get(Calendar.MONTH) + 1;
+			final int day = calendar.get(Calendar.DAY_OF_MONTH);
+			Assert.assertEquals(epochDay, calendar.getTimeInMillis() / 86400000L);
+			Assert.assertEquals(BadiConversionTables.epochDayFromGregorian(year, month, day), epochDay);
+			Assert.assertEquals(BadiConversionTables.gregorianYearFromEpochDay(epochDay), year);
+			Assert.assertEquals(BadiConversionTables.gregorianMonthFromEpochDay(epochDay), month);
+			Assert.assertEquals(BadiConversionTables.gregorianDayFromEpochDay(epochDay), day);
+			Assert.assertEquals(BadiConversionTables.gregorianDoyFromEpochDay(epochDay),
+					calendar.get(Calendar.DAY_OF_YEAR));
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+			epochDay++;
+		}
+	}
+
+	@Test
+	public void badiEpochDayRoundTrip() {
+		for (int badiYear = 1; badiYear < BadiDate.UPPER_YEAR_LIMIT_BADI; badiYear++) {
+			final int daysInYear = BadiConversionTables.daysInYear(badiYear);
+			Assert.assertTrue(daysInYear == 365 || daysInYear == 366);
+			for (int doy = 1; doy <= daysInYear; doy++) {
+				final int epochDay = BadiConversionTables.epochDayFromBadi(badiYear, doy);
+				Assert.assertEquals(BadiConversionTables.badiYearFromEpochDay(epochDay), badiYear);
+				Assert.assertEquals(BadiConversionTables.badiDoyFromEpochDay(epochDay, badiYear), doy);
+				final int month = BadiConversionTables.badiMonthFromDoy(badiYear, doy);
+				final int day = BadiConversionTables.badiDayFromDoy(badiYear, doy);
+				Assert.assertEquals(BadiConversionTables.badiDoyFromMonthAndDay(badiYear, month, day), doy);
+			}
+		}
+	}
+
+	@Test
+	public void computedNawRuzMatchesPublishedDates() {
+		// the computation cannot decide a year whose equinox is as close to sunset as its uncertainty
+		for (int badiYear = 172; badiYear <= BadiDate.LAST_PUBLISHED_YEAR_BADI; badiYear++) {
+			if (Math.abs(equinoxAfterSunsetMillis(badiYear)) > BadiConversionTables.SUNSET_UNCERTAINTY_MILLIS) {
+				final int computed = BadiConversionTables.computeNawRuzEpochDay(badiYear);
+				Assert.assertEquals(computed, BadiConversionTables.nawRuzEpochDay(badiYear), "Naw-Ruz " + badiYear);
+			}
+		}
+	}
+
+	@Test
+	public void onlyPublishedEquinoxOf2026IsUncertain() {
+		for (int badiYear = 172; badiYear <= BadiDate.LAST_PUBLISHED_YEAR_BADI; badiYear++) {
+			Assert.assertEquals(Math.abs(equinoxAfterSunsetMillis(badiYear)) <= BadiConversionTables.SUNSET_UNCERTAINTY_MILLIS,
+					badiYear == 183, "Naw-Ruz " + badiYear);
+		}
+		for (int badiYear = BadiDate.LAST_PUBLISHED_YEAR_BADI + 1; badiYear <= BadiDate.UPPER_YEAR_LIMIT_BADI + 1; badiYear++) {
+			Assert.assertTrue(Math.abs(equinoxAfterSunsetMillis(badiYear)) > 10 * 60000, "Naw-Ruz " + badiYear);
+		}
+	}
+
+	private static long equinoxAfterSunsetMillis(final int badiYear) {
+		final long equinox = Astronomy.marchEquinox(badiYear + BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR);
+		final long day = SunsetCalculator.localEpochDay(equinox, BadiConversionTables.TEHRAN_LONGITUDE);
+		return equinox - day * SunsetCalculator.MILLIS_PER_DAY - 1000L * SunsetCalculator.computeSunsetSeconds(day,
+				BadiConversionTables.TEHRAN_LATITUDE, BadiConversionTables.TEHRAN_LONGITUDE);
+	}
+
+	@Test
+	public void computedNawRuzIsBetweenMarch19thAnd22nd() {
+		for (int badiYear = BadiDate.LAST_PUBLISHED_YEAR_BADI; badiYear <= BadiDate.UPPER_YEAR_LIMIT_BADI + 1; badiYear++) {
+			final int nawRuz = BadiConversionTables.nawRuzEpochDay(badiYear);
+			Assert.assertEquals(BadiConversionTables.gregorianYearFromEpochDay(nawRuz), badiYear + 1843);
+			Assert.assertEquals(BadiConversionTables.gregorianMonthFromEpochDay(nawRuz), 3);
+			final int day = BadiConversionTables.gregorianDayFromEpochDay(nawRuz);
+			Assert.assertTrue(day >= 19 && day <= 22, "Naw-Ruz " + badiYear + " on March " + day);
+		}
+	}
+
+	@Test
+	public void ayyamIHaAndAla() {
+		// Leap year before the new implementation: Ayyam'i'Ha from 26th
+		// February until 1st March
+		Assert.assertEquals(BadiConversionTables.ayyamIHaDays(168), 5);
+		final BadiDate ala168 = BadiDate.createFromBadiDate(168, 20, 1);
+		Assert.assertEquals(ala168.getGregorianDay(), 2);
+		Assert.assertEquals(ala168.getGregorianMonth(), 3);
+
+		// Naw-Ruz on the 20th of March in 2059 and 2060
+		Assert.assertEquals(BadiConversionTables.ayyamIHaDays(216), 5);
+		final BadiDate ala216 = BadiDate.createFromBadiDate(216, 20, 1);
+		Assert.assertEquals(ala216.getGregorianDay(), 1);
+		Assert.assertEquals(ala216.getGregorianMonth(), 3);
+		Assert.assertEquals(ala216.getGregorianYear(), 2060);
+		final BadiDate lastDayOfAyyamIHa = BadiDate.createFromDateTime(new DateTime(2060, 2, 29, 0, 0));
+		Assert.assertEquals(lastDayOfAyyamIHa.getBadiMonth(), 19);
+		Assert.assertEquals(lastDayOfAyyamIHa.getBadiDay(), 5);
+	}
+
+}
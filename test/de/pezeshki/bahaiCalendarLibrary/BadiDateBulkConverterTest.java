@@ -0,0 +1,59 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.LocalDate;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateBulkConverterTest {
+
+	@Test
+	public void convertsEpochDaysInParallel() {
+		final int first = (int) LocalDate.of(1844, 1, 1).toEpochDay();
+		final int last = (int) LocalDate.of(BadiDate.ZEROTH_BADI_YEAR_AS_GREGORIAN_YEAR + BahaiHolyday.UPPER_YEAR_LIMIT_BADI, 12, 31).toEpochDay();
+		final int[] epochDays = new int[last - first + 1];
+		for (int i = 0; i < epochDays.length; i++) {
+			epochDays[i] = first + i;
+		}
+		Assert.assertTrue(epochDays.length > BadiDateBulkConverter.PARALLEL_THRESHOLD);
+		final int[] years = new int[epochDays.length];
+		final int[] months = new int[epochDays.length];
+		final int[] days = new int[epochDays.length];
+		final byte[] holydays = new byte[epochDays.length];
+		final int[] packed = new int[epochDays.length];
+		BadiDateBulkConverter.convertEpochDays(epochDays, years, months, days, holydays);
+		BadiDateBulkConverter.toPacked(epochDays, packed);
+
+		for (int i = 0; i < epochDays.length; i++) {
+			final BadiDate badiDate = BadiDate.createFromEpochDay(epochDays[i]);
+			Assert.assertEquals(years[i], badiDate.getBadiYear());
+			Assert.assertEquals(months[i], badiDate.getBadiMonth());
+			Assert.assertEquals(days[i], badiDate.getBadiDay());
+			Assert.assertEquals(holydays[i], badiDate.getHolyday() == null ? -1 : badiDate.getHolyday().getIndex());
+			Assert.assertEquals(packed[i], PackedBadiDate.fromBadiDate(badiDate));
+		}
+	}
+
+	@Test
+	public void convertsGregorianColumns() {
+		final int[] years = { 2017, 2017, 2017 };
+		final int[] months = { 3, 3, 10 };
+		final int[] days = { 2, 20, 21 };
+		final int[] badiYears = new int[3];
+		final int[] badiMonths = new int[3];
+		final int[] badiDays = new int[3];
+		final byte[] holydays = new byte[3];
+		BadiDateBulkConverter.convertGregorian(years, months, days, badiYears, badiMonths, badiDays, holydays);
+		Assert.assertEquals(badiYears, new int[] { 173, 174, 174 });
+		Assert.assertEquals(badiMonths, new int[] { 20, 1, 12 });
+		Assert.assertEquals(badiDays, new int[] { 2, 1, 7 });
+		Assert.assertEquals(holydays, new byte[] { -1, 0, 7 });
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be greater than or equal to 1844.")
+	public void throwsExceptionOnInvalidRow() {
+		final int[] epochDays = { 0, (int) LocalDate.of(1800, 1, 1).toEpochDay() };
+		BadiDateBulkConverter.convertEpochDays(epochDays, new int[2], new int[2], new int[2], null);
+	}
+
+}
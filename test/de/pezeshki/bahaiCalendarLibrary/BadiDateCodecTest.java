@@ -0,0 +1,120 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateCodecTest {
+
+	private static final int FIRST_EPOCH_DAY = (int) LocalDate.of(1844, 1, 1).toEpochDay();
+	private static final int LAST_EPOCH_DAY = (int) LocalDate.of(BadiDate.UPPER_YEAR_LIMIT, 12, 31).toEpochDay();
+
+	@Test
+	public void writeAndRead() {
+		for (final ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+			final ByteBuffer buffer = ByteBuffer.allocate(3 * BadiDateCodec.ENCODED_SIZE).order(order);
+			final BadiDate birthOfBab = BadiDate.createFromBadiDate(174, 12, 7);
+			final BadiDate firstDay = BadiDate.createFromEpochDay(FIRST_EPOCH_DAY);
+			BadiDateCodec.write(birthOfBab, buffer);
+			BadiDateCodec.write(firstDay, buffer);
+			BadiDateCodec.writePacked(PackedBadiDate.fromBadiDate(birthOfBab), buffer);
+			Assert.assertFalse(buffer.hasRemaining());
+			buffer.flip();
+			Assert.assertSame(BadiDateCodec.read(buffer), birthOfBab);
+			Assert.assertSame(BadiDateCodec.read(buffer), firstDay);
+			Assert.assertEquals(PackedBadiDate.getHolyday(BadiDateCodec.readPacked(buffer)), BahaiHolyday.BIRTH_OF_THE_BAB);
+		}
+	}
+
+	@Test
+	public void writeAndReadAllDays() {
+		final int days = LAST_EPOCH_DAY - FIRST_EPOCH_DAY + 1;
+		final BadiDate[] dates = new BadiDate[days];
+		final int[] packedDates = new int[days];
+		for (int i = 0; i < days; i++) {
+			dates[i] = BadiDate.createFromEpochDay(FIRST_EPOCH_DAY + i);
+			packedDates[i] = PackedBadiDate.fromBadiDate(dates[i]);
+		}
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(2 * days * BadiDateCodec.ENCODED_SIZE);
+		BadiDateCodec.writeAll(dates, 0, days, buffer);
+		BadiDateCodec.writeAllPacked(packedDates, 0, days, buffer);
+		buffer.flip();
+
+		final BadiDate[] readDates = new BadiDate[days];
+		final int[] readPackedDates = new int[days + 1];
+		BadiDateCodec.readAll(buffer, readDates, 0, days);
+		BadiDateCodec.readAllPacked(buffer, readPackedDates, 1, days);
+		Assert.assertFalse(buffer.hasRemaining());
+		for (int i = 0; i < days; i++) {
+			Assert.assertSame(readDates[i], dates[i]);
+			Assert.assertEquals(readPackedDates[i + 1], packedDates[i]);
+		}
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Encoded Badi date 0x5700862 is invalid.")
+	public void throwsExceptionOnInvalidDate() {
+		// 174 with day of the year 2 but month 3
+		final int packedDate = PackedBadiDate.fromBadiDate(174, 1, 2) + (2 << 5);
+		final ByteBuffer buffer = ByteBuffer.allocate(BadiDateCodec.ENCODED_SIZE);
+		buffer.putInt(packedDate).flip();
+		BadiDateCodec.read(buffer);
+	}
+
+	@Test
+	public void throwsExceptionOnTamperedHolyday() {
+		// 174-03-09 is no holyday; the holyday bits claim the 9th of Ridvan
+		final int packedDate = PackedBadiDate.fromBadiDate(174, 3, 9);
+		Assert.assertNull(PackedBadiDate.getHolyday(packedDate));
+		final int tampered = packedDate | (BahaiHolyday.RIDVAN9TH.getIndex() + 1) << 28;
+		final ByteBuffer buffer = ByteBuffer.allocate(BadiDateCodec.ENCODED_SIZE);
+		buffer.putInt(tampered).flip();
+		try {
+			BadiDateCodec.readPacked(buffer);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertEquals(e.getMessage(), "Encoded Badi date 0x" + Integer.toHexString(tampered) + " is invalid.");
+		}
+		buffer.rewind();
+		try {
+			BadiDateCodec.read(buffer);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+		// a holyday without its holyday bits
+		final int nawRuz = PackedBadiDate.fromBadiDate(174, 1, 1);
+		buffer.clear();
+		buffer.putInt(nawRuz & 0x0FFFFFFF).flip();
+		try {
+			BadiDateCodec.readPacked(buffer);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void serializesAsCanonicalInstance() throws IOException, ClassNotFoundException {
+		final BadiDate date = BadiDate.createFromBadiDate(174, 19, 5);
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(date);
+			out.writeObject(date.getNextFeastDate());
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			Assert.assertSame(in.readObject(), date);
+			Assert.assertSame(in.readObject(), date.getNextFeastDate());
+		}
+		// the class descriptor once and 4 bytes per date
+		Assert.assertTrue(bytes.size() < 120, "" + bytes.size());
+	}
+
+}
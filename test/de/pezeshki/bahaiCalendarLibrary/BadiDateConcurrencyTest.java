@@ -0,0 +1,91 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joda.time.DateTime;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateConcurrencyTest {
+
+	private static final int FIRST_EPOCH_DAY = (int) LocalDate.of(1844, 1, 1).toEpochDay();
+	private static final int LAST_EPOCH_DAY = (int) LocalDate.of(BadiDate.UPPER_YEAR_LIMIT, 12, 31).toEpochDay();
+
+	@Test
+	public void concurrentConversionsAgree() throws Exception {
+		final int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		try {
+			final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int i = 0; i < threads; i++) {
+				final long seed = i;
+				results.add(executor.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						start.await();
+						return convert(new Random(seed), 20000);
+					}
+				}));
+			}
+			start.countDown();
+			for (final Future<Integer> result : results) {
+				Assert.assertEquals(result.get().intValue(), 20000);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static int convert(final Random random, final int count) {
+		for (int i = 0; i < count; i++) {
+			final int epochDay = FIRST_EPOCH_DAY + random.nextInt(LAST_EPOCH_DAY - FIRST_EPOCH_DAY + 1);
+			final BadiDate date = BadiDate.createFromEpochDay(epochDay);
+			Assert.assertEquals(date.toEpochDay(), epochDay);
+			final LocalDate localDate = LocalDate.ofEpochDay(epochDay);
+			Assert.assertSame(BadiDate.createFromLocalDate(localDate), date);
+			Assert.assertSame(BadiDate.createFromGregorian(localDate.getYear(), localDate.getMonthValue(),
+					localDate.getDayOfMonth()), date);
+			if (date.getBadiYear() > 0) {
+				Assert.assertSame(BadiDate.createFromBadiDate(date.getBadiYear(), date.getBadiMonth(),
+						date.getBadiDay()), date);
+			}
+			Assert.assertEquals(PackedBadiDate.fromEpochDay(epochDay), PackedBadiDate.fromBadiDate(date));
+		}
+		return count;
+	}
+
+	@Test
+	public void conversionDoesNotDependOnDefaultTimeZone() {
+		final TimeZone defaultZone = TimeZone.getDefault();
+		try {
+			for (final String zone : new String[] { "Pacific/Kiritimati", "Pacific/Pago_Pago", "UTC" }) {
+				TimeZone.setDefault(TimeZone.getTimeZone(zone));
+				final BadiDate nawRuz = BadiDate.createFromGregorian(2017, 3, 20);
+				Assert.assertSame(nawRuz, BadiDate.createFromBadiDate(174, 1, 1));
+				Assert.assertSame(BadiDate.createFromDateTime(new DateTime(2017, 3, 20, 23, 59)), nawRuz);
+				final Calendar calendar = nawRuz.getCalendar();
+				Assert.assertEquals(calendar.get(Calendar.YEAR), 2017);
+				Assert.assertEquals(calendar.get(Calendar.MONTH), Calendar.MARCH);
+				Assert.assertEquals(calendar.get(Calendar.DAY_OF_MONTH), 20);
+				Assert.assertEquals(calendar.get(Calendar.HOUR_OF_DAY), 0);
+				Assert.assertSame(BadiDate.createFromGregorianCalendar(new GregorianCalendar(2017, 2, 20, 23, 59)),
+						nawRuz);
+			}
+		} finally {
+			TimeZone.setDefault(defaultZone);
+		}
+	}
+
+}
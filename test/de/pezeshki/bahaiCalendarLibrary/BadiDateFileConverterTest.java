@@ -0,0 +1,125 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateFileConverterTest {
+
+	@Test
+	public void convertsDelimitedFile() throws IOException {
+		final String converted = convert(BadiDateFileConverter.delimited(',', 1).withHeader(),
+				"id,date,name\r\n1,2017-03-20,a\r\n\r\n2,2017-10-21,b\n3,2064-03-19,c");
+		Assert.assertEquals(converted,
+				"id,BadiYear,BadiMonth,BadiDay,name\r\n1,174,1,1,a\r\n\r\n2,174,12,7,b\n3,220,20,19,c");
+		Assert.assertEquals(convert(BadiDateFileConverter.delimited(',', 1).withHeader().toGregorian(), converted),
+				"id,Date,name\r\n1,2017-03-20,a\r\n\r\n2,2017-10-21,b\n3,2064-03-19,c");
+	}
+
+	@Test
+	public void convertsFixedWidthFile() throws IOException {
+		final String converted = convert(BadiDateFileConverter.fixedWidth(4), "001 2017-03-20 a\n002 2017-10-21 b\n");
+		Assert.assertEquals(converted, "001 0174-01-01 a\n002 0174-12-07 b\n");
+		Assert.assertEquals(convert(BadiDateFileConverter.fixedWidth(4).toGregorian(), converted),
+				"001 2017-03-20 a\n002 2017-10-21 b\n");
+	}
+
+	@Test
+	public void convertsLargeFileInParallel() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final LocalDate first = LocalDate.of(1844, 3, 21);
+		final LocalDate last = LocalDate.of(BadiDate.UPPER_YEAR_LIMIT, 12, 31);
+		int rows = 0;
+		while (builder.length() <= 2 * BadiDateFileConverter.SEGMENT_SIZE) {
+			for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+				builder.append(rows++).append('\t').append(date).append('\t').append(date.getDayOfWeek()).append('\n');
+			}
+		}
+		final Path input = Files.createTempFile("gregorian", ".tsv");
+		final Path badi = Files.createTempFile("badi", ".tsv");
+		final Path output = Files.createTempFile("gregorian", ".tsv");
+		try {
+			Files.write(input, builder.toString().getBytes(StandardCharsets.US_ASCII));
+			final BadiDateFileConverter converter = BadiDateFileConverter.delimited('\t', 1);
+			Assert.assertEquals(converter.convert(input, badi), rows);
+			Assert.assertEquals(converter.toGregorian().convert(badi, output), rows);
+			Assert.assertEquals(Files.readAllBytes(output), Files.readAllBytes(input));
+
+			final BadiDate date = BadiDate.createFromLocalDate(first.plusDays(70000));
+			Assert.assertEquals(Files.readAllLines(badi).get(70000), "70000\t" + date.getBadiYear() + '\t'
+					+ date.getBadiMonth() + '\t' + date.getBadiDay() + '\t' + first.plusDays(70000).getDayOfWeek());
+		} finally {
+			Files.delete(input);
+			Files.delete(badi);
+			Files.delete(output);
+		}
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Line at byte 15: Gregorian month has to be less than or equal to  12.")
+	public void throwsExceptionOnInvalidDate() throws IOException {
+		convert(BadiDateFileConverter.delimited(',', 1), "1,2017-03-20,a\n2,2017-13-01,b\n");
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Line at byte 0: Invalid date '2017/03/20'.")
+	public void throwsExceptionOnUnparseableDate() throws IOException {
+		convert(BadiDateFileConverter.delimited(',', 1), "1,2017/03/20,a\n");
+	}
+
+	@Test
+	public void reportsInvalidOptionsWithUsage() throws IOException {
+		assertRun(new String[] { "-c" }, 1, "", "Option -c needs a value.", true);
+		assertRun(new String[] { "-c", "x", "in.csv", "out.csv" }, 1, "", "Option -c needs a number, not 'x'.", true);
+		assertRun(new String[] { "-d", "", "in.csv", "out.csv" }, 1, "", "Option -d needs a value.", true);
+		assertRun(new String[] { "-x", "in.csv", "out.csv" }, 1, "", "Unknown option -x", true);
+		assertRun(new String[] { "in.csv" }, 1, "", "Input and output file are missing.", true);
+	}
+
+	@Test
+	public void reportsConversionFailureWithoutUsage() throws IOException {
+		final Path input = Files.createTempFile("input", ".csv");
+		final Path output = Files.createTempFile("output", ".csv");
+		try {
+			Files.write(input, "1,2017-03-20,a\n".getBytes(StandardCharsets.US_ASCII));
+			assertRun(new String[] { "-c", "1", input.toString(), output.toString() }, 0, "Converted 1 rows.", "", false);
+			Files.write(input, "1,2017/03/20,a\n".getBytes(StandardCharsets.US_ASCII));
+			assertRun(new String[] { "-c", "1", input.toString(), output.toString() }, 1, "",
+					"Line at byte 0: Invalid date '2017/03/20'.", false);
+		} finally {
+			Files.delete(input);
+			Files.delete(output);
+		}
+	}
+
+	private static void assertRun(final String[] args, final int status, final String out, final String err,
+			final boolean usage) throws IOException {
+		final ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		final ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+		Assert.assertEquals(BadiDateFileConverter.run(args, new PrintStream(outBytes, true),
+				new PrintStream(errBytes, true)), status);
+		Assert.assertEquals(outBytes.toString().trim(), out);
+		final String[] errLines = errBytes.toString().split("\\R", 2);
+		Assert.assertEquals(errLines[0], err);
+		Assert.assertEquals(errLines.length > 1 && errLines[1].startsWith("Usage:"), usage);
+	}
+
+	private static String convert(final BadiDateFileConverter converter, final String text) throws IOException {
+		final Path input = Files.createTempFile("input", ".csv");
+		final Path output = Files.createTempFile("output", ".csv");
+		try {
+			Files.write(input, text.getBytes(StandardCharsets.US_ASCII));
+			converter.convert(input, output);
+			return new String(Files.readAllBytes(output), StandardCharsets.US_ASCII);
+		} finally {
+			Files.delete(input);
+			Files.delete(output);
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.text.ParsePosition;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateFormatTest {
+
+	@Test
+	public void format() {
+		final BadiDate date = BadiDate.createFromBadiDate(174, 3, 9);
+		Assert.assertEquals(BadiDateFormat.ofPattern("yyy-MM-dd").format(date), "174-03-09");
+		Assert.assertEquals(BadiDateFormat.ofPattern("d MMM y").format(date), "9 Jamal 174");
+		Assert.assertEquals(BadiDateFormat.ofPattern("DDD").format(date), "047");
+		Assert.assertEquals(BadiDateFormat.ofPattern("'Vahid' V, 'year' v, 'Kull-i-Shay' K").format(date),
+				"Vahid 10, year 3, Kull-i-Shay 1");
+		Assert.assertEquals(BadiDateFormat.ofPattern("d MMM ''yy").format(BadiDate.createFromBadiDate(174, 19, 2)),
+				"2 Ayyam'i'Ha '174");
+		Assert.assertEquals(BadiDateFormat.ofPattern("MMMM").format(BadiDate.createFromBadiDate(174, 20, 19)), "Ala");
+	}
+
+	@Test
+	public void formatAppendsToTheBuilder() {
+		final BadiDateFormat format = BadiDateFormat.ofPattern("yyyyMMdd");
+		final StringBuilder builder = new StringBuilder("date=");
+		final BadiDate date = BadiDate.createFromBadiDate(1, 1, 1);
+		Assert.assertSame(format.format(date, builder), builder);
+		format.formatPacked(PackedBadiDate.fromBadiDate(date), builder.append(' '));
+		Assert.assertEquals(builder.toString(), "date=00010101 00010101");
+	}
+
+	@Test
+	public void parse() {
+		final BadiDate date = BadiDate.createFromBadiDate(174, 3, 9);
+		Assert.assertSame(BadiDateFormat.ofPattern("yyy-MM-dd").parse("174-03-09"), date);
+		Assert.assertSame(BadiDateFormat.ofPattern("yyyMMdd").parse("1740309"), date);
+		Assert.assertSame(BadiDateFormat.ofPattern("d MMM y").parse("9 jamal 174"), date);
+		Assert.assertSame(BadiDateFormat.ofPattern("D/y").parse("47/174"), date);
+		Assert.assertSame(BadiDateFormat.ofPattern("v.V MMM d").parse("3.10 Jamal 9"), date);
+		Assert.assertSame(BadiDateFormat.ofPattern("d MMM y").parse("2 Ayyam'i'Ha 174"),
+				BadiDate.createFromBadiDate(174, 19, 2));
+	}
+
+	@Test
+	public void parseAtPosition() {
+		final BadiDateFormat format = BadiDateFormat.ofPattern("y-M-d");
+		final String text = "date=174-3-9;";
+		final ParsePosition position = new ParsePosition(5);
+		final int packedDate = format.parse(text, position);
+		Assert.assertEquals(position.getIndex(), 12);
+		Assert.assertEquals(position.getErrorIndex(), -1);
+		Assert.assertEquals(PackedBadiDate.getBadiYear(packedDate), 174);
+		Assert.assertEquals(PackedBadiDate.getBadiMonth(packedDate), 3);
+		Assert.assertEquals(PackedBadiDate.getBadiDay(packedDate), 9);
+
+		final ParsePosition error = new ParsePosition(0);
+		Assert.assertEquals(format.parse(text, error), PackedBadiDate.INVALID);
+		Assert.assertEquals(error.getIndex(), 0);
+		Assert.assertEquals(error.getErrorIndex(), 0);
+	}
+
+	@Test
+	public void escapedQuoteInsideQuotedText() {
+		final BadiDate date = BadiDate.createFromBadiDate(174, 3, 9);
+		Assert.assertEquals(BadiDateFormat.ofPattern("'it''s' y").format(date), "it's 174");
+		Assert.assertEquals(BadiDateFormat.ofPattern("'''y' y''").format(date), "'y 174'");
+		Assert.assertSame(BadiDateFormat.ofPattern("'it''s' y-M-d").parse("it's 174-3-9"), date);
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Pattern has an unclosed quote: 'it''s y")
+	public void throwsExceptionOnUnclosedQuote() {
+		BadiDateFormat.ofPattern("'it''s y");
+	}
+
+	@Test
+	public void cyclesMatchTheDate() {
+		final BadiDateFormat format = BadiDateFormat.ofPattern("K V v");
+		Assert.assertEquals(format.format(BadiDate.createFromBadiDate(361, 1, 1)), "1 19 19");
+		Assert.assertEquals(format.format(BadiDate.createFromBadiDate(362, 1, 1)), "2 1 1");
+		Assert.assertEquals(format.formatPacked(PackedBadiDate.fromBadiDate(500, 1, 1), new StringBuilder()).toString(),
+				"2 8 6");
+		final BadiDate yearZero = BadiDate.createFromGregorian(1844, 1, 1);
+		Assert.assertEquals(format.format(yearZero),
+				yearZero.getKullIShay() + " " + yearZero.getVahid() + " " + yearZero.getYearInVahid());
+		Assert.assertSame(BadiDateFormat.ofPattern("K V v MMM d").parse("2 8 6 Baha 1"),
+				BadiDate.createFromBadiDate(500, 1, 1));
+		Assert.assertSame(BadiDateFormat.ofPattern("V v MMM d").parse("19 19 Baha 1"),
+				BadiDate.createFromBadiDate(361, 1, 1));
+	}
+
+	@Test
+	public void formatAndParseAllDays() {
+		final BadiDateFormat format = BadiDateFormat.ofPattern("K V v MMM d");
+		for (final BadiDate date : BadiDateRange.days(BadiDate.createFromBadiDate(1, 1, 1),
+				BadiDate.createFromBadiDate(BadiDate.UPPER_YEAR_LIMIT_BADI, 20, 19))) {
+			Assert.assertSame(format.parse(format.format(date)), date);
+		}
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Text '175-19-05' could not be parsed at index 0.")
+	public void throwsExceptionOnInvalidDate() {
+		// 174 has 5 days of Ayyam'i'Ha, 175 only 4
+		BadiDateFormat.ofPattern("yyy-MM-dd").parse("174-19-05");
+		BadiDateFormat.ofPattern("yyy-MM-dd").parse("175-19-05");
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Text '174-03-09x' could not be parsed at index 9.")
+	public void throwsExceptionOnTrailingText() {
+		BadiDateFormat.ofPattern("yyy-MM-dd").parse("174-03-09x");
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Unknown pattern letter 'x' in yyy-x")
+	public void throwsExceptionOnUnknownLetter() {
+		BadiDateFormat.ofPattern("yyy-x");
+	}
+
+}
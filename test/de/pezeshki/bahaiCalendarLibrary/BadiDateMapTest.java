@@ -0,0 +1,68 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateMapTest {
+
+	@Test
+	public void intMap() {
+		final BadiDateIntMap counts = new BadiDateIntMap();
+		final BadiDate naw = BadiDate.createFromBadiDate(174, 1, 1);
+		Assert.assertEquals(counts.get(naw), 0);
+		Assert.assertEquals(counts.add(naw, 2), 2);
+		Assert.assertEquals(counts.add(naw, 3), 5);
+		Assert.assertEquals(counts.put(naw.minusDays(100), 7), 0);
+		Assert.assertEquals(counts.put(naw.minusDays(100), 8), 7);
+		Assert.assertEquals(counts.add(naw.plusDays(500).toEpochDay(), 1), 1);
+		Assert.assertEquals(counts.get(naw), 5);
+		Assert.assertEquals(counts.get(naw.minusDays(100)), 8);
+		Assert.assertEquals(counts.get(naw.plusDays(1)), 0);
+		Assert.assertEquals(counts.get(Long.MAX_VALUE), 0);
+
+		final List<BadiDate> dates = new ArrayList<BadiDate>();
+		final List<Integer> values = new ArrayList<Integer>();
+		counts.forEach((badiDate, value) -> {
+			dates.add(badiDate);
+			values.add(value);
+		});
+		Assert.assertEquals(dates, Arrays.asList(naw.minusDays(100), naw, naw.plusDays(500)));
+		Assert.assertEquals(values, Arrays.asList(8, 5, 1));
+		counts.clear();
+		Assert.assertEquals(counts.get(naw), 0);
+	}
+
+	@Test
+	public void objectMap() {
+		final BadiDateObjectMap<String> notes = new BadiDateObjectMap<String>();
+		final BadiDate naw = BadiDate.createFromBadiDate(174, 1, 1);
+		Assert.assertTrue(notes.isEmpty());
+		Assert.assertNull(notes.put(naw, "Naw-Ruz"));
+		Assert.assertEquals(notes.put(naw, "Feast"), "Naw-Ruz");
+		Assert.assertNull(notes.put(naw.minusDays(20), "Ala"));
+		Assert.assertNull(notes.put(naw.plusDays(30), null));
+		Assert.assertEquals(notes.size(), 2);
+		Assert.assertTrue(notes.containsKey(naw));
+		Assert.assertFalse(notes.containsKey(naw.plusDays(30)));
+		Assert.assertEquals(notes.get(LocalDate.of(2017, 3, 20).toEpochDay()), "Feast");
+
+		final List<BadiDate> dates = new ArrayList<BadiDate>();
+		notes.forEach((badiDate, note) -> dates.add(badiDate));
+		Assert.assertEquals(dates, Arrays.asList(naw.minusDays(20), naw));
+
+		Assert.assertEquals(notes.put(naw, null), "Feast");
+		Assert.assertNull(notes.remove(naw));
+		Assert.assertEquals(notes.remove(naw.minusDays(20)), "Ala");
+		Assert.assertTrue(notes.isEmpty());
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be less than  2343")
+	public void throwsExceptionOnEpochDayAfterUpperLimit() throws IllegalArgumentException {
+		new BadiDateIntMap().add(LocalDate.of(BadiDate.UPPER_YEAR_LIMIT + 1, 1, 1).toEpochDay(), 1);
+	}
+}
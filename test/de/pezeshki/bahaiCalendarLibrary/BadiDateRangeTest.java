@@ -0,0 +1,60 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateRangeTest {
+
+	@Test
+	public void everyDayBetweenNawRuz175And180() {
+		final BadiDate start = BadiDate.createFromBadiDate(175, 1, 1);
+		final BadiDate end = BadiDate.createFromBadiDate(180, 1, 1);
+		final BadiDateRange range = BadiDateRange.days(start, end);
+		Assert.assertEquals(range.size(), end.toEpochDay() - start.toEpochDay());
+
+		long epochDay = start.toEpochDay();
+		for (final BadiDate date : range) {
+			Assert.assertSame(date, BadiDate.createFromEpochDay(epochDay));
+			epochDay++;
+		}
+		Assert.assertEquals(epochDay, end.toEpochDay());
+
+		final List<BadiDate> sequential = range.stream().collect(Collectors.toList());
+		final List<BadiDate> parallel = range.stream().parallel().collect(Collectors.toList());
+		Assert.assertEquals(parallel, sequential);
+	}
+
+	@Test
+	public void everyFeastMatchesGetNextFeastDate() {
+		final BadiDate start = BadiDate.createFromBadiDate(172, 17, 5);
+		final BadiDate end = BadiDate.createFromBadiDate(176, 3, 1);
+		final Iterator<BadiDate> feasts = BadiDateRange.feasts(start, end).iterator();
+		BadiDate expected = start.getNextFeastDate();
+		int count = 0;
+		while (feasts.hasNext()) {
+			Assert.assertSame(feasts.next(), expected);
+			expected = expected.getNextFeastDate();
+			count++;
+		}
+		Assert.assertSame(expected, end);
+		Assert.assertEquals(count, BadiDateRange.feasts(start, end).size());
+		Assert.assertEquals(BadiDateRange.feasts(start, end).stream().parallel().count(), count);
+	}
+
+	@Test
+	public void emptyRange() {
+		final BadiDate date = BadiDate.createFromBadiDate(175, 1, 2);
+		Assert.assertEquals(BadiDateRange.days(date, date).size(), 0);
+		Assert.assertFalse(BadiDateRange.feasts(date, date).iterator().hasNext());
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "End date has to be after the start date.")
+	public void throwsExceptionOnReversedRange() {
+		BadiDateRange.days(BadiDate.createFromBadiDate(175, 1, 2), BadiDate.createFromBadiDate(175, 1, 1));
+	}
+
+}
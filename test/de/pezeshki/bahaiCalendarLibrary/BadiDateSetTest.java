@@ -0,0 +1,133 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateSetTest {
+
+	@Test
+	public void addContainsRemove() {
+		final BadiDateSet set = new BadiDateSet();
+		Assert.assertTrue(set.isEmpty());
+		Assert.assertNull(set.first());
+		Assert.assertNull(set.last());
+		final BadiDate naw = BadiDate.createFromBadiDate(174, 1, 1);
+		Assert.assertTrue(set.add(naw));
+		Assert.assertFalse(set.add(naw));
+		Assert.assertTrue(set.contains(naw));
+		Assert.assertTrue(set.contains(LocalDate.of(2017, 3, 20).toEpochDay()));
+		Assert.assertFalse(set.contains(naw.plusDays(1)));
+		Assert.assertFalse(set.contains(Long.MIN_VALUE));
+		Assert.assertTrue(set.add(BadiDate.createFromGregorian(1844, 1, 1)));
+		Assert.assertTrue(set.add(BadiDate.createFromGregorian(BadiDate.UPPER_YEAR_LIMIT, 12, 31)));
+		Assert.assertEquals(set.size(), 3);
+		Assert.assertEquals(set.first().toLocalDate(), LocalDate.of(1844, 1, 1));
+		Assert.assertEquals(set.last().toLocalDate(), LocalDate.of(BadiDate.UPPER_YEAR_LIMIT, 12, 31));
+		Assert.assertEquals(set.ceiling(naw.minusDays(10)), naw);
+		Assert.assertTrue(set.remove(naw));
+		Assert.assertFalse(set.remove(naw));
+		Assert.assertEquals(set.size(), 2);
+		set.clear();
+		Assert.assertTrue(set.isEmpty());
+	}
+
+	@Test
+	public void addRange() {
+		final BadiDateSet set = new BadiDateSet();
+		final BadiDate start = BadiDate.createFromBadiDate(174, 19, 1);
+		set.addRange(start, start.plusDays(200));
+		set.addRange(start, start);
+		Assert.assertEquals(set.size(), 200);
+		Assert.assertEquals(set.first(), start);
+		Assert.assertEquals(set.last(), start.plusDays(199));
+		Assert.assertFalse(set.contains(start.minusDays(1)));
+		Assert.assertFalse(set.contains(start.plusDays(200)));
+		final BadiDateSet small = new BadiDateSet();
+		small.addRange(start.plusDays(3), start.plusDays(5));
+		Assert.assertEquals(small.toEpochDays(), new int[] { (int) start.toEpochDay() + 3, (int) start.toEpochDay() + 4 });
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "End date has to be after the start date.")
+	public void throwsExceptionOnReversedRange() throws IllegalArgumentException {
+		final BadiDate start = BadiDate.createFromBadiDate(174, 1, 1);
+		new BadiDateSet().addRange(start, start.minusDays(1));
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be greater than or equal to 1844.")
+	public void throwsExceptionOnEpochDayBefore1844() throws IllegalArgumentException {
+		new BadiDateSet().add(LocalDate.of(1843, 12, 31).toEpochDay());
+	}
+
+	@Test
+	public void setOperationsAgainstTreeSet() {
+		final Random random = new Random(20);
+		final BadiDateSet first = new BadiDateSet();
+		final BadiDateSet second = new BadiDateSet();
+		final TreeSet<BadiDate> firstExpected = new TreeSet<BadiDate>();
+		final TreeSet<BadiDate> secondExpected = new TreeSet<BadiDate>();
+		for (int i = 0; i < 2000; i++) {
+			final BadiDate badiDate = BadiDate.createFromBadiDoyAndYear(150 + random.nextInt(40), 1 + random.nextInt(365));
+			if (random.nextBoolean()) {
+				Assert.assertEquals(first.add(badiDate), firstExpected.add(badiDate));
+			} else {
+				Assert.assertEquals(second.add(badiDate), secondExpected.add(badiDate));
+			}
+		}
+		assertSet(first, firstExpected);
+
+		final BadiDateSet union = new BadiDateSet(first);
+		union.addAll(second);
+		final TreeSet<BadiDate> unionExpected = new TreeSet<BadiDate>(firstExpected);
+		unionExpected.addAll(secondExpected);
+		assertSet(union, unionExpected);
+
+		final BadiDateSet intersection = new BadiDateSet(first);
+		intersection.retainAll(second);
+		final TreeSet<BadiDate> intersectionExpected = new TreeSet<BadiDate>(firstExpected);
+		intersectionExpected.retainAll(secondExpected);
+		assertSet(intersection, intersectionExpected);
+
+		final BadiDateSet difference = new BadiDateSet(first);
+		difference.removeAll(second);
+		final TreeSet<BadiDate> differenceExpected = new TreeSet<BadiDate>(firstExpected);
+		differenceExpected.removeAll(secondExpected);
+		assertSet(difference, differenceExpected);
+
+		final BadiDate middle = BadiDate.createFromBadiDate(170, 1, 1);
+		Assert.assertEquals(union.ceiling(middle), unionExpected.ceiling(middle));
+	}
+
+	@Test
+	public void equalsIgnoresWindow() {
+		final BadiDate naw = BadiDate.createFromBadiDate(174, 1, 1);
+		final BadiDateSet grown = new BadiDateSet();
+		grown.add(naw.minusDays(3000));
+		grown.add(naw);
+		grown.add(naw.plusDays(3000));
+		grown.remove(naw.minusDays(3000));
+		grown.remove(naw.plusDays(3000));
+		final BadiDateSet single = new BadiDateSet();
+		single.add(naw);
+		Assert.assertEquals(grown, single);
+		Assert.assertEquals(grown.hashCode(), single.hashCode());
+		single.add(naw.plusDays(1));
+		Assert.assertNotEquals(grown, single);
+	}
+
+	private static void assertSet(final BadiDateSet set, final TreeSet<BadiDate> expected) {
+		Assert.assertEquals(set.size(), expected.size());
+		final List<BadiDate> dates = new ArrayList<BadiDate>();
+		for (final BadiDate badiDate : set) {
+			dates.add(badiDate);
+		}
+		Assert.assertEquals(dates, new ArrayList<BadiDate>(expected));
+		Assert.assertEquals(set.first(), expected.first());
+		Assert.assertEquals(set.last(), expected.last());
+	}
+}
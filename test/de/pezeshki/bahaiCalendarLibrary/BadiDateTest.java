@@ -1,9 +1,17 @@
 package de.pezeshki.bahaiCalendarLibrary;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
+import java.util.List;
 
 import org.joda.time.DateTime;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.FieldLayout;
+import org.openjdk.jol.info.GraphLayout;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -50,9 +58,9 @@ public class BadiDateTest {
 		  BadiDate.createFromBadiYearAndDayOfYear(0, 1);
 	  }
 	  
-	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  221")
+	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  500")
 	  public void throwsExceptionOnBadiYearBiggerLimit() throws Exception {
-		  BadiDate.createFromBadiYearAndDayOfYear(222, 1);
+		  BadiDate.createFromBadiYearAndDayOfYear(501, 1);
 	  }
 	  
 	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Day of the year has to be greater than or equal to 1.")
@@ -74,7 +82,8 @@ public class BadiDateTest {
 		  Assert.assertEquals(nawRuz.getBadiDay(), 1);
 		  Assert.assertEquals(nawRuz.getBadiMonth(), 1);
 		  Assert.assertEquals(nawRuz.getGregorianYear(), 2017);
-		  Assert.assertEquals(nawRuz.getCalendar(), march20);
+		  Assert.assertEquals(nawRuz.getCalendar().get(Calendar.YEAR), march20.get(Calendar.YEAR));
+		  Assert.assertEquals(nawRuz.getCalendar().get(Calendar.DAY_OF_YEAR), march20.get(Calendar.DAY_OF_YEAR));
 		  Assert.assertEquals(nawRuz.getDateTime(), march);
 		  Assert.assertEquals(nawRuz.getGregorianDayOfYear(), march20.get(Calendar.DAY_OF_YEAR));
 		  Assert.assertEquals(nawRuz.getKullIShay(), 1);
@@ -82,6 +91,22 @@ public class BadiDateTest {
 		  Assert.assertEquals(nawRuz.getYearInVahid(), 3);
 	  }
 
+	  @Test
+	  public void vahidAndKullIShayAcrossCycles() {
+		  final BadiDate lastYearOfKullIShay = BadiDate.createFromBadiDate(361, 1, 1);
+		  Assert.assertEquals(lastYearOfKullIShay.getKullIShay(), 1);
+		  Assert.assertEquals(lastYearOfKullIShay.getVahid(), 19);
+		  Assert.assertEquals(lastYearOfKullIShay.getYearInVahid(), 19);
+		  final BadiDate firstYearOfKullIShay = BadiDate.createFromBadiDate(362, 1, 1);
+		  Assert.assertEquals(firstYearOfKullIShay.getKullIShay(), 2);
+		  Assert.assertEquals(firstYearOfKullIShay.getVahid(), 1);
+		  Assert.assertEquals(firstYearOfKullIShay.getYearInVahid(), 1);
+		  final BadiDate lastYear = BadiDate.createFromBadiDate(BadiDate.UPPER_YEAR_LIMIT_BADI, 1, 1);
+		  Assert.assertEquals(lastYear.getKullIShay(), 2);
+		  Assert.assertEquals(lastYear.getVahid(), 8);
+		  Assert.assertEquals(lastYear.getYearInVahid(), 6);
+	  }
+
 	  @Test
 	  public void createFromGregorianCalendarTest() {
 		  final Calendar march20 = new GregorianCalendar();
@@ -112,9 +137,9 @@ public class BadiDateTest {
 		  BadiDate.createFromDateTime(new DateTime(1843,3,22,0,0));
 	  }
 	  
-	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be less than  2064")
+	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be less than  2343")
 	  public void throwsExceptionOnGregorianYearGreatherLimit() throws IllegalArgumentException {
-		  BadiDate.createFromDateTime(new DateTime(2065,3,19,0,0));
+		  BadiDate.createFromDateTime(new DateTime(2344,3,19,0,0));
 	  }
 	  
 	  @Test
@@ -190,7 +215,7 @@ public class BadiDateTest {
 		  final DateTime newYearsEve = new DateTime(2016,12,31,0,0);
 		  final BadiDate date1 = BadiDate.createFromDateTimeWithSunset(newYearsEve, false);
 		  Assert.assertEquals(date1.getBadiYear(), 173);
-		  Assert.assertEquals(date1.getGregorianDayOfYear(), 365);
+		  Assert.assertEquals(date1.getGregorianDayOfYear(), 366);
 		  Assert.assertEquals(date1.getGregorianYear(), 2016);
 
 		  final BadiDate date2 = BadiDate.createFromDateTimeWithSunset(newYearsEve, true);
@@ -203,10 +228,10 @@ public class BadiDateTest {
 	  @Test
 	  public void createFromGregorianCalendarWithSunsetTest() {
 		  final Calendar newYearsEve = new GregorianCalendar();
-		  newYearsEve.set(2017,2,20);
+		  newYearsEve.set(2016,11,31);
 		  final BadiDate date1 = BadiDate.createFromGregorianCalendarWithSunset(newYearsEve, false);
 		  Assert.assertEquals(date1.getBadiYear(), 173);
-		  Assert.assertEquals(date1.getGregorianDayOfYear(), 365);
+		  Assert.assertEquals(date1.getGregorianDayOfYear(), 366);
 		  Assert.assertEquals(date1.getGregorianYear(), 2016);
 
 		  final BadiDate date2 = BadiDate.createFromGregorianCalendarWithSunset(newYearsEve, true);
@@ -215,4 +240,156 @@ public class BadiDateTest {
 		  Assert.assertEquals(date2.getGregorianYear(), 2017);
 	  }
 
+
+	  @Test
+	  public void factoriesReturnSharedInstances() throws Exception {
+		  final BadiDate nawRuz = BadiDate.createFromBadiDate(174, 1, 1);
+		  final Calendar march20 = new GregorianCalendar();
+		  march20.set(2017,2,20);
+		  Assert.assertSame(BadiDate.createFromBadiYearAndDayOfYear(174, 1), nawRuz);
+		  Assert.assertSame(BadiDate.createFromGregorianCalendar(march20), nawRuz);
+		  Assert.assertSame(BadiDate.createFromDateTime(new DateTime(2017,3,20,15,0)), nawRuz);
+		  Assert.assertSame(BadiDate.createFromDateTimeWithSunset(new DateTime(2017,3,19,0,0), true), nawRuz);
+
+		  final BadiDate[] dates = new BadiDate[8];
+		  final Thread[] threads = new Thread[dates.length];
+		  for (int i = 0; i < threads.length; i++) {
+			  final int index = i;
+			  threads[i] = new Thread(new Runnable() {
+				  @Override
+				  public void run() {
+					  dates[index] = BadiDate.createFromBadiDate(190, 7, 7);
+				  }
+			  });
+			  threads[i].start();
+		  }
+		  for (final Thread thread : threads) {
+			  thread.join();
+		  }
+		  for (final BadiDate date : dates) {
+			  Assert.assertSame(date, dates[0]);
+		  }
+	  }
+
+	  @Test
+	  public void instanceFootprint() {
+		  final BadiDate date = BadiDate.createFromBadiDate(174, 19, 2);
+		  final ClassLayout layout = ClassLayout.parseInstance(date);
+		  // one int, two shorts and two bytes; the header size depends on the VM
+		  final List<String> types = new ArrayList<String>();
+		  for (final FieldLayout field : layout.fields()) {
+			  types.add(field.typeClass());
+		  }
+		  Collections.sort(types);
+		  Assert.assertEquals(types, Arrays.asList("byte", "byte", "int", "short", "short"));
+		  // no referenced objects
+		  Assert.assertEquals(GraphLayout.parseInstance(date).totalSize(), layout.instanceSize());
+		  Assert.assertEquals(date.getHolyday(), null);
+		  Assert.assertEquals(date.getVahid(), 10);
+		  Assert.assertEquals(date.getYearInVahid(), 3);
+		  Assert.assertEquals(date.getDateTime().getDayOfMonth(), 26);
+	  }
+
+	  @Test
+	  public void plusAndMinusDays() {
+		  final BadiDate nawRuz = BadiDate.createFromBadiDate(174, 1, 1);
+		  Assert.assertSame(nawRuz.plusDays(0), nawRuz);
+		  Assert.assertSame(nawRuz.plusDays(366), BadiDate.createFromBadiDate(175, 1, 1));
+		  Assert.assertSame(nawRuz.minusDays(1), BadiDate.createFromBadiDate(173, 20, 19));
+		  Assert.assertSame(nawRuz.plusDays(-1), nawRuz.minusDays(1));
+		  Assert.assertEquals(BadiDate.daysBetween(nawRuz, nawRuz.plusDays(1000)), 1000);
+		  Assert.assertEquals(BadiDate.daysBetween(nawRuz.plusDays(1000), nawRuz), -1000);
+		  for (int days = -400; days <= 400; days += 7) {
+			  Assert.assertEquals(nawRuz.plusDays(days).toLocalDate(), LocalDate.of(2017, 3, 20).plusDays(days));
+		  }
+	  }
+
+	  @Test
+	  public void plusMonthsAndYears() {
+		  // 174 and 178 have 5 days of Ayyam'i'Ha, 175 has 4
+		  final BadiDate mulk = BadiDate.createFromBadiDate(175, 18, 5);
+		  Assert.assertSame(mulk.plusMonths(1), BadiDate.createFromBadiDate(175, 19, 4));
+		  Assert.assertSame(mulk.plusMonths(2), BadiDate.createFromBadiDate(175, 20, 5));
+		  Assert.assertSame(mulk.plusMonths(3), BadiDate.createFromBadiDate(176, 1, 5));
+		  Assert.assertSame(mulk.plusMonths(-17), BadiDate.createFromBadiDate(175, 1, 5));
+		  Assert.assertSame(mulk.plusMonths(-18), BadiDate.createFromBadiDate(174, 20, 5));
+		  Assert.assertSame(mulk.plusMonths(42), BadiDate.createFromBadiDate(177, 20, 5));
+		  Assert.assertSame(mulk.plusYears(10), BadiDate.createFromBadiDate(185, 18, 5));
+
+		  final BadiDate lastDayOfAyyamIHa = BadiDate.createFromBadiDate(174, 19, 5);
+		  Assert.assertSame(lastDayOfAyyamIHa.plusYears(1), BadiDate.createFromBadiDate(175, 19, 4));
+		  Assert.assertSame(lastDayOfAyyamIHa.plusYears(4), BadiDate.createFromBadiDate(178, 19, 5));
+	  }
+
+	  @Test
+	  public void plusMonthsAndYearsInYearZero() {
+		  // 1844-01-01 is the 2nd day of month 16 of the year before Naw-Ruz 1844
+		  final BadiDate firstDay = BadiDate.createFromGregorian(1844, 1, 1);
+		  Assert.assertEquals(firstDay.getBadiYear(), 0);
+		  Assert.assertEquals(firstDay.getBadiMonth(), 16);
+		  Assert.assertEquals(firstDay.getBadiDay(), 2);
+		  Assert.assertSame(firstDay.plusMonths(1), firstDay.plusDays(19));
+		  Assert.assertSame(firstDay.plusMonths(5), BadiDate.createFromBadiDate(1, 1, 2));
+		  Assert.assertSame(firstDay.plusYears(1), BadiDate.createFromBadiDate(1, 16, 2));
+		  Assert.assertSame(BadiDate.createFromBadiDate(1, 20, 1).plusYears(-1), firstDay.plusMonths(4).plusDays(-1));
+	  }
+
+	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be greater than or equal to 1844.")
+	  public void throwsExceptionOnPlusMonthsBeforeLimit() {
+		  BadiDate.createFromGregorian(1844, 1, 1).plusMonths(-1);
+	  }
+
+	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  500")
+	  public void throwsExceptionOnPlusYearsBeyondLimit() {
+		  BadiDate.createFromBadiDate(174, 1, 1).plusYears(Integer.MAX_VALUE);
+	  }
+
+	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be greater than or equal to 1844.")
+	  public void throwsExceptionOnMinusDaysBeforeLimit() {
+		  BadiDate.createFromBadiDate(1, 1, 1).minusDays(366);
+	  }
+
+	  @Test
+	  public void createFromLocalDateAndEpochDay() {
+		  final LocalDate march2 = LocalDate.of(2017, 3, 2);
+		  final BadiDate ala = BadiDate.createFromLocalDate(march2);
+		  Assert.assertEquals(ala.getBadiMonth(), 20);
+		  Assert.assertEquals(ala.getBadiYear(), 173);
+		  Assert.assertEquals(ala.getBadiDay(), 2);
+		  Assert.assertEquals(ala.toLocalDate(), march2);
+		  Assert.assertEquals(ala.toEpochDay(), march2.toEpochDay());
+		  Assert.assertSame(BadiDate.createFromEpochDay(march2.toEpochDay()), ala);
+		  Assert.assertSame(BadiDate.createFromGregorian(2017, 3, 2), ala);
+
+		  final BadiDate firstDay = BadiDate.createFromGregorian(1844, 3, 21);
+		  Assert.assertEquals(firstDay.getBadiYear(), 1);
+		  Assert.assertEquals(firstDay.getHolyday(), BahaiHolyday.NAW_RUZ);
+	  }
+
+	  @Test
+	  public void compareAndEquals() {
+		  final BadiDate naw = BadiDate.createFromBadiDate(174, 1, 1);
+		  final BadiDate ala = BadiDate.createFromBadiDate(174, 20, 19);
+		  Assert.assertTrue(naw.compareTo(ala) < 0);
+		  Assert.assertTrue(ala.compareTo(naw) > 0);
+		  Assert.assertEquals(naw.compareTo(BadiDate.createFromGregorian(2017, 3, 20)), 0);
+		  Assert.assertEquals(naw, BadiDate.createFromLocalDate(LocalDate.of(2017, 3, 20)));
+		  Assert.assertEquals(naw.hashCode(), BadiDate.createFromGregorian(2017, 3, 20).hashCode());
+		  Assert.assertNotEquals(naw, ala);
+		  Assert.assertNotEquals(naw, LocalDate.of(2017, 3, 20));
+		  final BadiDate[] dates = {ala, naw, ala.minusDays(1)};
+		  Arrays.sort(dates);
+		  Assert.assertEquals(dates, new BadiDate[] {naw, ala.minusDays(1), ala});
+	  }
+
+	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be greater than or equal to 1844.")
+	  public void throwsExceptionOnEpochDayBefore1844() throws IllegalArgumentException {
+		  BadiDate.createFromEpochDay(LocalDate.of(1843, 12, 31).toEpochDay());
+	  }
+
+	  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Gregorian month has to be less than or equal to  12.")
+	  public void throwsExceptionOnGregorianMonthBigger12() throws IllegalArgumentException {
+		  BadiDate.createFromGregorian(2017, 13, 1);
+	  }
+
 }
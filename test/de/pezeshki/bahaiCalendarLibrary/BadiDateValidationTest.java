@@ -0,0 +1,151 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.LocalDate;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiDateValidationTest {
+
+	@Test
+	public void statuses() {
+		Assert.assertEquals(BadiDateValidation.validateBadiDate(174, 12, 7), BadiDateValidation.VALID);
+		Assert.assertEquals(BadiDateValidation.validateBadiDate(174, 12, 20), BadiDateValidation.INVALID_BADI_DAY);
+		Assert.assertEquals(BadiDateValidation.validateBadiDate(174, 21, 1), BadiDateValidation.INVALID_BADI_MONTH);
+		Assert.assertEquals(BadiDateValidation.validateBadiDate(501, 1, 1), BadiDateValidation.INVALID_BADI_YEAR);
+		Assert.assertEquals(BadiDateValidation.validateBadiYearAndDayOfYear(174, 0), BadiDateValidation.INVALID_DAY_OF_YEAR);
+		Assert.assertEquals(BadiDateValidation.validateBadiYearAndDayOfYear(0, 1), BadiDateValidation.INVALID_BADI_YEAR);
+		Assert.assertEquals(BadiDateValidation.validateGregorian(1843, 12, 31), BadiDateValidation.INVALID_GREGORIAN_YEAR);
+		Assert.assertEquals(BadiDateValidation.validateGregorian(2017, 13, 1), BadiDateValidation.INVALID_GREGORIAN_MONTH);
+		Assert.assertEquals(BadiDateValidation.validateGregorian(2017, 2, 29), BadiDateValidation.INVALID_GREGORIAN_DAY);
+		Assert.assertEquals(BadiDateValidation.validateGregorian(2016, 2, 29), BadiDateValidation.VALID);
+		Assert.assertEquals(BadiDateValidation.validateEpochDay(Long.MAX_VALUE), BadiDateValidation.INVALID_GREGORIAN_YEAR);
+		Assert.assertEquals(BadiDateValidation.getMessage(BadiDateValidation.INVALID_BADI_MONTH),
+				"Badi month has to be between 1 and 20.");
+	}
+
+	@Test
+	public void sameRulesAsFactories() {
+		for (int year = 1842; year <= 1845; year++) {
+			checkGregorianYear(year);
+		}
+		for (int year = BadiDate.UPPER_YEAR_LIMIT - 1; year <= BadiDate.UPPER_YEAR_LIMIT + 1; year++) {
+			checkGregorianYear(year);
+		}
+		for (int badiYear = -1; badiYear <= BadiDate.UPPER_YEAR_LIMIT_BADI + 1; badiYear += 167) {
+			for (int badiMonth = -1; badiMonth <= 21; badiMonth++) {
+				for (int badiDay = -1; badiDay <= 20; badiDay++) {
+					final int status = BadiDateValidation.validateBadiDate(badiYear, badiMonth, badiDay);
+					Assert.assertEquals(status == BadiDateValidation.VALID, isCreated(badiYear, badiMonth, badiDay));
+					final BadiDate badiDate = BadiDate.tryCreateFromBadiDate(badiYear, badiMonth, badiDay);
+					Assert.assertEquals(badiDate != null, status == BadiDateValidation.VALID);
+					if (badiDate != null) {
+						Assert.assertSame(badiDate, BadiDate.createFromBadiDate(badiYear, badiMonth, badiDay));
+						Assert.assertEquals(PackedBadiDate.tryFromBadiDate(badiYear, badiMonth, badiDay),
+								PackedBadiDate.fromBadiDate(badiYear, badiMonth, badiDay));
+					} else {
+						Assert.assertEquals(PackedBadiDate.tryFromBadiDate(badiYear, badiMonth, badiDay),
+								PackedBadiDate.INVALID);
+					}
+				}
+			}
+		}
+		for (long epochDay = BadiConversionTables.FIRST_EPOCH_DAY - 1; epochDay <= BadiConversionTables.MIN_EPOCH_DAY + 1; epochDay++) {
+			checkEpochDay(epochDay);
+		}
+		for (long epochDay = BadiConversionTables.MAX_EPOCH_DAY - 1; epochDay <= BadiConversionTables.MAX_EPOCH_DAY + 1; epochDay++) {
+			checkEpochDay(epochDay);
+		}
+	}
+
+	@Test
+	public void tryFactories() {
+		final BadiDate badiDate = BadiDate.createFromGregorian(2017, 10, 21);
+		Assert.assertSame(BadiDate.tryCreateFromGregorian(2017, 10, 21), badiDate);
+		Assert.assertSame(BadiDate.tryCreateFromLocalDate(LocalDate.of(2017, 10, 21)), badiDate);
+		Assert.assertSame(BadiDate.tryCreateFromEpochDay(badiDate.toEpochDay()), badiDate);
+		Assert.assertSame(BadiDate.tryCreateFromBadiYearAndDayOfYear(174, 216), badiDate);
+		Assert.assertSame(BadiDate.tryCreateFromGregorianCalendar(badiDate.getCalendar()), badiDate);
+		Assert.assertSame(BadiDate.tryCreateFromDateTime(badiDate.getDateTime()), badiDate);
+		Assert.assertNull(BadiDate.tryCreateFromGregorian(2017, 2, 29));
+		Assert.assertNull(BadiDate.tryCreateFromLocalDate(LocalDate.of(1843, 10, 21)));
+		Assert.assertNull(BadiDate.tryCreateFromEpochDay(Long.MIN_VALUE));
+		Assert.assertNull(BadiDate.tryCreateFromBadiYearAndDayOfYear(174, 367));
+		Assert.assertEquals(PackedBadiDate.tryFromGregorian(2017, 10, 21), PackedBadiDate.fromGregorian(2017, 10, 21));
+		Assert.assertEquals(PackedBadiDate.tryFromEpochDay((int) badiDate.toEpochDay()),
+				PackedBadiDate.fromEpochDay((int) badiDate.toEpochDay()));
+		Assert.assertEquals(PackedBadiDate.tryFromBadiYearAndDayOfYear(174, 216), PackedBadiDate.fromBadiDate(badiDate));
+		Assert.assertEquals(PackedBadiDate.tryFromGregorian(2344, 1, 1), PackedBadiDate.INVALID);
+		Assert.assertEquals(PackedBadiDate.tryFromBadiYearAndDayOfYear(0, 1), PackedBadiDate.INVALID);
+	}
+
+	@Test
+	public void batches() {
+		final int[] years = { 2017, 1843, 2017, 2017, 2016 };
+		final int[] months = { 10, 1, 0, 2, 2 };
+		final int[] days = { 21, 1, 1, 29, 29 };
+		final byte[] statuses = new byte[5];
+		Assert.assertEquals(BadiDateValidation.validateGregorian(years, months, days, statuses), 3);
+		Assert.assertEquals(statuses, new byte[] { BadiDateValidation.VALID, BadiDateValidation.INVALID_GREGORIAN_YEAR,
+				BadiDateValidation.INVALID_GREGORIAN_MONTH, BadiDateValidation.INVALID_GREGORIAN_DAY,
+				BadiDateValidation.VALID });
+
+		final int[] badiYears = { 174, 174, 0 };
+		final int[] badiMonths = { 12, 12, 1 };
+		final int[] badiDays = { 7, 0, 1 };
+		Assert.assertEquals(BadiDateValidation.validateBadiDates(badiYears, badiMonths, badiDays, statuses), 2);
+		Assert.assertEquals(statuses[0], BadiDateValidation.VALID);
+		Assert.assertEquals(statuses[1], BadiDateValidation.INVALID_BADI_DAY);
+		Assert.assertEquals(statuses[2], BadiDateValidation.INVALID_BADI_YEAR);
+
+		final int[] epochDays = { BadiConversionTables.MIN_EPOCH_DAY - 1, BadiConversionTables.MIN_EPOCH_DAY };
+		Assert.assertEquals(BadiDateValidation.validateEpochDays(epochDays, statuses), 1);
+		Assert.assertEquals(statuses[0], BadiDateValidation.INVALID_GREGORIAN_YEAR);
+		Assert.assertEquals(statuses[1], BadiDateValidation.VALID);
+
+		try {
+			BadiDateValidation.validateEpochDays(epochDays, new byte[1]);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertEquals(e.getMessage(), "Columns have to be at least as long as the input.");
+		}
+	}
+
+	private static void checkGregorianYear(final int year) {
+		for (int month = 0; month <= 13; month++) {
+			for (int day = 0; day <= 32; day++) {
+				boolean valid;
+				try {
+					BadiDate.createFromGregorian(year, month, day);
+					valid = true;
+				} catch (final IllegalArgumentException e) {
+					valid = false;
+				}
+				Assert.assertEquals(BadiDateValidation.validateGregorian(year, month, day) == BadiDateValidation.VALID,
+						valid, year + "-" + month + "-" + day);
+				Assert.assertEquals(BadiDate.tryCreateFromGregorian(year, month, day) != null, valid);
+			}
+		}
+	}
+
+	private static void checkEpochDay(final long epochDay) {
+		boolean valid;
+		try {
+			BadiDate.createFromEpochDay(epochDay);
+			valid = true;
+		} catch (final IllegalArgumentException e) {
+			valid = false;
+		}
+		Assert.assertEquals(BadiDateValidation.validateEpochDay(epochDay) == BadiDateValidation.VALID, valid);
+		Assert.assertEquals(BadiDate.tryCreateFromEpochDay(epochDay) != null, valid);
+	}
+
+	private static boolean isCreated(final int badiYear, final int badiMonth, final int badiDay) {
+		try {
+			BadiDate.createFromBadiDate(badiYear, badiMonth, badiDay);
+			return true;
+		} catch (final IllegalArgumentException e) {
+			return false;
+		}
+	}
+}
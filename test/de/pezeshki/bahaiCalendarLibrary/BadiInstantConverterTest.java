@@ -0,0 +1,109 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiInstantConverterTest {
+
+	private static final String[] ZONES = { "UTC", "Europe/Berlin", "America/New_York", "America/Sao_Paulo",
+			"Asia/Tehran", "Australia/Lord_Howe", "Pacific/Apia", "+05:45" };
+
+	@Test
+	public void convertMatchesZoneRules() {
+		final Random random = new Random(21);
+		final long first = LocalDate.of(1845, 1, 1).toEpochDay() * SunsetCalculator.MILLIS_PER_DAY;
+		final long last = LocalDate.of(2300, 1, 1).toEpochDay() * SunsetCalculator.MILLIS_PER_DAY;
+		for (final String zoneName : ZONES) {
+			final ZoneId zone = ZoneId.of(zoneName);
+			final BadiInstantConverter converter = BadiInstantConverter.forZone(zone);
+			Assert.assertSame(BadiInstantConverter.forZone(zone), converter);
+			final long[] epochMillis = new long[5000];
+			for (int i = 0; i < epochMillis.length; i++) {
+				epochMillis[i] = first + (long) (random.nextDouble() * (last - first));
+			}
+			final BadiDate[] badiDates = new BadiDate[epochMillis.length];
+			converter.convert(epochMillis, badiDates);
+			for (int i = 0; i < epochMillis.length; i++) {
+				final BadiDate expected = BadiDate.createFromLocalDate(Instant.ofEpochMilli(epochMillis[i]).atZone(zone).toLocalDate());
+				Assert.assertSame(badiDates[i], expected, zoneName + " " + epochMillis[i]);
+				Assert.assertSame(converter.convert(epochMillis[i]), expected, zoneName + " " + epochMillis[i]);
+			}
+		}
+	}
+
+	@Test
+	public void convertAroundTransitions() {
+		// one instant per quarter hour over the years with changing offsets
+		for (final String zoneName : ZONES) {
+			final ZoneId zone = ZoneId.of(zoneName);
+			final long start = LocalDate.of(2010, 1, 1).toEpochDay() * SunsetCalculator.MILLIS_PER_DAY;
+			final long[] epochMillis = LongStream.range(0, 4 * 24 * 366 * 3).map(i -> start + i * 900000L).toArray();
+			final int[] packedDates = new int[epochMillis.length];
+			BadiInstantConverter.forZone(zone).toPacked(epochMillis, packedDates);
+			for (int i = 0; i < epochMillis.length; i++) {
+				final LocalDate localDate = Instant.ofEpochMilli(epochMillis[i]).atZone(zone).toLocalDate();
+				Assert.assertEquals(PackedBadiDate.toEpochDay(packedDates[i]), localDate.toEpochDay(), zoneName + " " + epochMillis[i]);
+			}
+		}
+	}
+
+	@Test
+	public void convertStream() {
+		final ZoneId zone = ZoneId.of("Asia/Tehran");
+		final long nawRuz = LocalDate.of(2017, 3, 20).atStartOfDay(zone).toInstant().toEpochMilli();
+		Assert.assertEquals(BadiInstantConverter.forZone(zone).convert(LongStream.of(nawRuz - 1, nawRuz, nawRuz + 1))
+				.collect(Collectors.toList()),
+				Arrays.asList(BadiDate.createFromBadiDate(173, 20, 19), BadiDate.createFromBadiDate(174, 1, 1),
+						BadiDate.createFromBadiDate(174, 1, 1)));
+		Assert.assertSame(BadiDate.createFromInstant(nawRuz, zone), BadiDate.createFromBadiDate(174, 1, 1));
+		Assert.assertSame(BadiDate.createFromInstant(nawRuz - 1, ZoneOffset.UTC), BadiDate.createFromBadiDate(173, 20, 19));
+	}
+
+	@Test
+	public void convertParallelStream() {
+		final ZoneId zone = ZoneId.of("Europe/Berlin");
+		final long start = LocalDate.of(2017, 1, 1).toEpochDay() * SunsetCalculator.MILLIS_PER_DAY;
+		final long[] epochMillis = LongStream.range(0, 200000).map(i -> start + i * 3599999L).toArray();
+		final BadiDate[] expected = new BadiDate[epochMillis.length];
+		BadiInstantConverter.forZone(zone).convert(epochMillis, expected);
+		final BadiDate[] actual = BadiInstantConverter.forZone(zone).convert(LongStream.of(epochMillis).parallel())
+				.toArray(BadiDate[]::new);
+		Assert.assertEquals(actual, expected);
+	}
+
+	@Test
+	public void convertWithSunset() {
+		final BadiInstantConverter converter = BadiInstantConverter.forLocation(35.69, 51.42);
+		final long start = LocalDate.of(2017, 3, 1).toEpochDay() * SunsetCalculator.MILLIS_PER_DAY;
+		final long[] epochMillis = LongStream.range(0, 24 * 60).map(i -> start + i * 1800000L).toArray();
+		final BadiDate[] badiDates = new BadiDate[epochMillis.length];
+		converter.convert(epochMillis, badiDates);
+		for (int i = 0; i < epochMillis.length; i++) {
+			Assert.assertSame(badiDates[i], BadiDate.createFromInstant(epochMillis[i], 35.69, 51.42));
+		}
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Year has to be greater than or equal to 1844.")
+	public void throwsExceptionOnInstantBefore1844() throws IllegalArgumentException {
+		BadiInstantConverter.forZone(ZoneOffset.UTC).convert(LocalDate.of(1843, 12, 31).toEpochDay() * SunsetCalculator.MILLIS_PER_DAY);
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Output arrays have to be at least as long as the input.")
+	public void throwsExceptionOnShortOutput() throws IllegalArgumentException {
+		BadiInstantConverter.forZone(ZoneOffset.UTC).convert(new long[2], new BadiDate[1]);
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Latitude has to be between -90 and 90.")
+	public void throwsExceptionOnInvalidLocation() throws IllegalArgumentException {
+		BadiInstantConverter.forLocation(91, 0);
+	}
+}
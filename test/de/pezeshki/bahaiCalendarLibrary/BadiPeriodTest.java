@@ -0,0 +1,37 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiPeriodTest {
+
+	@Test
+	public void periodBetweenDates() {
+		final BadiDate start = BadiDate.createFromBadiDate(174, 3, 10);
+		Assert.assertEquals(BadiPeriod.between(start, BadiDate.createFromBadiDate(176, 5, 12)), BadiPeriod.of(2, 2, 2));
+		Assert.assertEquals(BadiPeriod.between(start, BadiDate.createFromBadiDate(174, 4, 9)), BadiPeriod.of(0, 0, 18));
+		Assert.assertEquals(BadiPeriod.between(start, BadiDate.createFromBadiDate(175, 3, 9)), BadiPeriod.of(0, 19, 18));
+		Assert.assertEquals(BadiPeriod.between(start, BadiDate.createFromBadiDate(173, 2, 11)), BadiPeriod.of(-1, -0, -18));
+		Assert.assertSame(BadiPeriod.between(start, start), BadiPeriod.ZERO);
+		Assert.assertEquals(BadiPeriod.of(2, 2, 2).toString(), "P2Y2M2D");
+		Assert.assertEquals(BadiPeriod.ZERO.toString(), "P0D");
+	}
+
+	@Test
+	public void addingThePeriodReturnsTheEndDate() {
+		final Random random = new Random(19);
+		for (int i = 0; i < 10000; i++) {
+			final BadiDate start = BadiDate.createFromBadiYearAndDayOfYear(30 + random.nextInt(400), 1 + random.nextInt(365));
+			final BadiDate end = start.plusDays(random.nextInt(20000) - 10000);
+			if (end.getBadiYear() < 1) {
+				continue;
+			}
+			final BadiPeriod period = BadiPeriod.between(start, end);
+			Assert.assertSame(period.addTo(start), end);
+			Assert.assertTrue(period.getMonths() > -20 && period.getMonths() < 20);
+		}
+	}
+
+}
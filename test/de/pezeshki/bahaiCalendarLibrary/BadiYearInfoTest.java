@@ -0,0 +1,55 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.LocalDate;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BadiYearInfoTest {
+
+	@Test
+	public void yearInfo() {
+		final BadiYearInfo info = BadiYearInfo.of(174);
+		Assert.assertSame(BadiYearInfo.of(174), info);
+		Assert.assertEquals(info.getBadiYear(), 174);
+		Assert.assertEquals(info.getNawRuz().toLocalDate(), LocalDate.of(2017, 3, 20));
+		Assert.assertEquals(info.getNawRuzEpochDay(), LocalDate.of(2017, 3, 20).toEpochDay());
+		Assert.assertEquals(info.getDaysInYear(), 366);
+		Assert.assertEquals(info.getAyyamIHaDays(), 5);
+		Assert.assertEquals(info.getAlaStartDayOfYear(), 348);
+		Assert.assertEquals(info.getFeastDates()[18].toLocalDate(), LocalDate.of(2018, 3, 2));
+		Assert.assertEquals(info.getHolydayDayOfYear(BahaiHolyday.BIRTH_OF_THE_BAB), 216);
+		Assert.assertEquals(info.getHolydayDates()[8].toLocalDate(), LocalDate.of(2017, 10, 22));
+	}
+
+	@Test
+	public void feastsAndHolydaysOfAllYears() {
+		for (int badiYear = 1; badiYear <= BadiDate.UPPER_YEAR_LIMIT_BADI; badiYear++) {
+			final BadiYearInfo info = BadiYearInfo.of(badiYear);
+			Assert.assertEquals(info.getDaysInYear(), BadiConversionTables.daysInYear(badiYear));
+			final int[] feasts = info.getFeastEpochDays();
+			final BadiDate[] feastDates = info.getFeastDates();
+			for (int feast = 0; feast < BadiYearInfo.FEASTS_IN_YEAR; feast++) {
+				final BadiDate feastDate = BadiDate.createFromBadiDate(badiYear, feast < 18 ? feast + 1 : 20, 1);
+				Assert.assertSame(feastDates[feast], feastDate);
+				Assert.assertEquals(feasts[feast], feastDate.toEpochDay());
+			}
+			final int[] holydays = info.getHolydayEpochDays();
+			for (final BahaiHolyday holyday : BahaiHolyday.values()) {
+				Assert.assertEquals(holydays[holyday.getIndex()], holyday.getEpochDays(badiYear, badiYear)[0]);
+				Assert.assertSame(info.getHolydayDates()[holyday.getIndex()].getHolyday(), holyday);
+			}
+		}
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be greater than or equal to 1.")
+	public void throwsExceptionBeforeFirstYear() {
+		BadiYearInfo.of(0);
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  500")
+	public void throwsExceptionAfterLastYear() {
+		BadiYearInfo.of(501);
+	}
+
+}
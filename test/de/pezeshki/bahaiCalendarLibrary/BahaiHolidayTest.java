@@ -137,14 +137,36 @@ public class BahaiHolidayTest {
 	  Assert.assertEquals(BirthOfBahaullah170, 237);  
   }
   
-  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  221")
+  @Test
+  public void computedBirthOfBabMatchesPublishedDates() {
+	  for (int badiYear = 172; badiYear <= 221; badiYear++) {
+		  Assert.assertEquals(BahaiHolyday.computeBirthOfBabDoy(badiYear), BahaiHolyday.getDayOfYear(badiYear, 7), "Birth of the Bab " + badiYear);
+	  }
+  }
+
+  @Test
+  public void twinHolyBirthdaysAfter221() {
+	  for (int badiYear = 222; badiYear <= BahaiHolyday.UPPER_YEAR_LIMIT_BADI; badiYear++) {
+		  final int birthOfBab = BahaiHolyday.getDayOfYear(badiYear, 7);
+		  // the first new moon is within a month after Naw-Ruz, seven lunations
+		  // take 205 to 209 days
+		  Assert.assertTrue(birthOfBab >= 207 && birthOfBab <= 242, "Birth of the Bab " + badiYear + " on " + birthOfBab);
+		  Assert.assertEquals(BahaiHolyday.getDayOfYear(badiYear, 8), birthOfBab + 1);
+		  Assert.assertEquals(BahaiHolyday.getHolyday(birthOfBab, badiYear), BahaiHolyday.BIRTH_OF_THE_BAB);
+		  Assert.assertEquals(BahaiHolyday.getHolyday(birthOfBab + 1, badiYear), BahaiHolyday.BIRTH_OF_BAHAULLAH);
+		  final BadiDate dayBefore = BadiDate.createFromBadiYearAndDayOfYear(badiYear, birthOfBab - 1);
+		  Assert.assertEquals(dayBefore.getNextHolydayDate().getHolyday(), BahaiHolyday.BIRTH_OF_THE_BAB);
+	  }
+  }
+
+  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  500")
   public void throwsExceptionOnBadiYearBiggerThanLimmit() throws Exception {
-	  BahaiHolyday.getDayOfYear(222, 7);
+	  BahaiHolyday.getDayOfYear(501, 7);
   }
   
-  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  221")
+  @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi year has to be less than  500")
   public void throwsExceptionOnBadiYearBiggerThanLimmit2() throws Exception {
-	  BahaiHolyday.getHolyday(2, 222);
+	  BahaiHolyday.getHolyday(2, 501);
   }
   
   @Test
@@ -162,4 +184,57 @@ public class BahaiHolidayTest {
 	  Assert.assertNull(notHolyday);
   }
 
+  @Test
+  public void oldBirthdayDatesAreNoHolydaysFrom172() {
+	  Assert.assertNull(BahaiHolyday.getHolyday(214, 174));
+	  Assert.assertNull(BahaiHolyday.getHolyday(237, 174));
+	  Assert.assertEquals(BahaiHolyday.getHolyday(216, 174), BahaiHolyday.BIRTH_OF_THE_BAB);
+	  Assert.assertEquals(BahaiHolyday.getHolyday(217, 174), BahaiHolyday.BIRTH_OF_BAHAULLAH);
+
+	  final BadiDate date = BadiDate.createFromBadiYearAndDayOfYear(174, 214);
+	  Assert.assertEquals(BahaiHolyday.getNextHolydayDate(date).getBadiDayOfYear(), 216);
+	  final BadiDate late = BadiDate.createFromBadiYearAndDayOfYear(185, 214);
+	  Assert.assertEquals(BahaiHolyday.getNextHolydayDate(late).getHolyday(), BahaiHolyday.BIRTH_OF_BAHAULLAH);
+  }
+
+  @Test
+  public void getHolydaysBetweenDates() {
+	  final BadiDate start = BadiDate.createFromBadiDate(173, 18, 1);
+	  final BadiDate end = BadiDate.createFromBadiDate(180, 1, 1);
+	  final HolydayList holydays = BahaiHolyday.getHolydays(start, end, false);
+	  Assert.assertEquals(holydays.size(), 6 * 11);
+	  BadiDate expected = start.getNextHolydayDate();
+	  for (int i = 0; i < holydays.size(); i++) {
+		  Assert.assertEquals(holydays.getEpochDay(i), expected.toEpochDay());
+		  Assert.assertEquals(holydays.getHolyday(i), expected.getHolyday());
+		  Assert.assertFalse(holydays.isFeast(i));
+		  expected = expected.getNextHolydayDate();
+	  }
+	  Assert.assertSame(expected, end);
+
+	  final HolydayList withFeasts = BahaiHolyday.getHolydays(start, end, true);
+	  Assert.assertEquals(withFeasts.size(), 6 * 11 + 6 * 20 + 3);
+	  Assert.assertEquals(withFeasts.getFeastMonth(0), 18);
+	  Assert.assertEquals(withFeasts.getBadiDate(0), start);
+	  Assert.assertEquals(withFeasts.getFeastMonth(1), 19);
+	  Assert.assertEquals(withFeasts.getFeastMonth(2), 20);
+	  Assert.assertEquals(withFeasts.getHolyday(3), BahaiHolyday.NAW_RUZ);
+	  Assert.assertEquals(withFeasts.getFeastMonth(4), 1);
+	  Assert.assertEquals(withFeasts.getEpochDay(4), withFeasts.getEpochDay(3));
+	  Assert.assertEquals(withFeasts.stream().count(), withFeasts.size());
+  }
+
+  @Test
+  public void getEpochDaysOfHolyday() {
+	  final int[] birthOfBab = BahaiHolyday.BIRTH_OF_THE_BAB.getEpochDays(170, 176);
+	  Assert.assertEquals(birthOfBab.length, 7);
+	  for (int i = 0; i < birthOfBab.length; i++) {
+		  final BadiDate date = BadiDate.createFromEpochDay(birthOfBab[i]);
+		  Assert.assertEquals(date.getBadiYear(), 170 + i);
+		  Assert.assertEquals(date.getHolyday(), BahaiHolyday.BIRTH_OF_THE_BAB);
+	  }
+	  Assert.assertEquals(BadiDate.createFromEpochDay(birthOfBab[4]).getGregorianDay(), 21);
+	  Assert.assertEquals(BadiDate.createFromEpochDay(birthOfBab[4]).getGregorianMonth(), 10);
+  }
+
 }
@@ -0,0 +1,62 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import org.joda.time.DateTime;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PackedBadiDateTest {
+
+	@Test
+	public void matchesBadiDate() {
+		for (int badiYear = 1; badiYear < BahaiHolyday.UPPER_YEAR_LIMIT_BADI; badiYear++) {
+			for (int doy = 1; doy <= 365; doy++) {
+				final BadiDate badiDate = BadiDate.createFromBadiYearAndDayOfYear(badiYear, doy);
+				final int packed = PackedBadiDate.fromBadiYearAndDayOfYear(badiYear, doy);
+				Assert.assertEquals(PackedBadiDate.getBadiYear(packed), badiDate.getBadiYear());
+				Assert.assertEquals(PackedBadiDate.getBadiMonth(packed), badiDate.getBadiMonth());
+				Assert.assertEquals(PackedBadiDate.getBadiDay(packed), badiDate.getBadiDay());
+				Assert.assertEquals(PackedBadiDate.getBadiDayOfYear(packed), badiDate.getBadiDayOfYear());
+				Assert.assertEquals(PackedBadiDate.getHolyday(packed), badiDate.getHolyday());
+				Assert.assertEquals(PackedBadiDate.getGregorianYear(packed), badiDate.getGregorianYear());
+				Assert.assertEquals(PackedBadiDate.getGregorianMonth(packed), badiDate.getGregorianMonth());
+				Assert.assertEquals(PackedBadiDate.getGregorianDay(packed), badiDate.getGregorianDay());
+				Assert.assertEquals(PackedBadiDate.fromBadiDate(badiDate), packed);
+				Assert.assertEquals(PackedBadiDate.fromEpochDay(PackedBadiDate.toEpochDay(packed)), packed);
+			}
+		}
+	}
+
+	@Test
+	public void fromGregorian() {
+		final int nawRuz = PackedBadiDate.fromGregorian(2017, 3, 20);
+		Assert.assertEquals(PackedBadiDate.getBadiYear(nawRuz), 174);
+		Assert.assertEquals(PackedBadiDate.getBadiMonth(nawRuz), 1);
+		Assert.assertEquals(PackedBadiDate.getBadiDay(nawRuz), 1);
+		Assert.assertEquals(PackedBadiDate.getHolyday(nawRuz), BahaiHolyday.NAW_RUZ);
+		Assert.assertEquals(PackedBadiDate.getHolydayIndex(nawRuz), 0);
+
+		final int ala = PackedBadiDate.fromGregorian(2017, 3, 2);
+		Assert.assertEquals(PackedBadiDate.getBadiYear(ala), 173);
+		Assert.assertEquals(PackedBadiDate.getBadiMonth(ala), 20);
+		Assert.assertEquals(PackedBadiDate.getBadiDay(ala), 2);
+		Assert.assertNull(PackedBadiDate.getHolyday(ala));
+		Assert.assertEquals(PackedBadiDate.getHolydayIndex(ala), -1);
+		Assert.assertEquals(PackedBadiDate.toBadiDate(ala).getDateTime(), new DateTime(2017, 3, 2, 0, 0));
+
+		// Holydays with an index above 7 use the sign bit
+		final int ascension = PackedBadiDate.fromBadiYearAndDayOfYear(174, 253);
+		Assert.assertEquals(PackedBadiDate.getHolyday(ascension), BahaiHolyday.ASCENSION_OF_ABDUL_BAHA);
+		Assert.assertEquals(PackedBadiDate.getBadiYear(ascension), 174);
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Gregorian day has to be less than or equal to  28.")
+	public void throwsExceptionOnFebruary29InCommonYear() {
+		PackedBadiDate.fromGregorian(2017, 2, 29);
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Badi month has to be less than or equal to  20.")
+	public void throwsExceptionOnBadiMonthBigger20() {
+		PackedBadiDate.fromBadiDate(174, 21, 1);
+	}
+
+}
@@ -0,0 +1,127 @@
+package de.pezeshki.bahaiCalendarLibrary;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SunsetCalculatorTest {
+
+	private static final long TWO_MINUTES = 120000;
+
+	private static long sunset(final int year, final int month, final int day, final double latitude, final double longitude) {
+		return SunsetCalculator.getSunset(LocalDate.of(year, month, day).toEpochDay(), latitude, longitude);
+	}
+
+	private static long utc(final int year, final int month, final int day, final int hour, final int minute) {
+		return ZonedDateTime.of(year, month, day, hour, minute, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+	}
+
+	private static void assertAbout(final long actual, final long expected) {
+		Assert.assertTrue(Math.abs(actual - expected) <= TWO_MINUTES, actual + " is not within two minutes of " + expected);
+	}
+
+	@Test
+	public void sunsetMatchesAlmanac() {
+		// Tehran, 18:16 IRST
+		assertAbout(sunset(2017, 3, 20, 35.6892, 51.389), utc(2017, 3, 20, 14, 46));
+		// Haifa, 17:51 IST
+		assertAbout(sunset(2017, 3, 20, 32.794, 34.9896), utc(2017, 3, 20, 15, 51));
+		// London, 21:21 BST
+		assertAbout(sunset(2017, 6, 21, 51.5074, -0.1278), utc(2017, 6, 21, 20, 21));
+		// Honolulu, 19:16 HST
+		assertAbout(sunset(2017, 6, 21, 21.3069, -157.8583), utc(2017, 6, 22, 5, 16));
+		// Sydney, 16:54 AEST
+		assertAbout(sunset(2017, 6, 21, -33.8688, 151.2093), utc(2017, 6, 21, 6, 54));
+	}
+
+	@Test
+	public void polarDayUsesSixPmLocalMeanTime() {
+		final long sunset = sunset(2017, 6, 21, 69.6492, 0);
+		Assert.assertEquals(sunset, utc(2017, 6, 21, 18, 0));
+	}
+
+	@Test
+	public void cachedSunsetEqualsComputedSunset() {
+		SunsetCalculator.clearCache();
+		final long epochDay = LocalDate.of(2020, 2, 29).toEpochDay();
+		final long computed = epochDay * SunsetCalculator.MILLIS_PER_DAY + 1000L * SunsetCalculator.computeSunsetSeconds(epochDay, 52.52, 13.4);
+		Assert.assertEquals(SunsetCalculator.getSunset(epochDay, 52.52, 13.4), computed);
+		Assert.assertEquals(SunsetCalculator.getSunset(epochDay, 52.5201, 13.4001), computed);
+	}
+
+	@Test
+	public void cacheIsBoundedUnderConcurrentMisses() throws Exception {
+		SunsetCalculator.clearCache();
+		final int threads = 8;
+		final int locationsPerThread = SunsetCalculator.MAX_CACHED_YEARS / 4;
+		final long epochDay = LocalDate.of(2017, 3, 20).toEpochDay();
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int t = 0; t < threads; t++) {
+				final int thread = t;
+				results.add(executor.submit(() -> {
+					int maxSize = 0;
+					for (int i = 0; i < locationsPerThread; i++) {
+						final double latitude = -60 + (thread * locationsPerThread + i) * 0.01;
+						SunsetCalculator.getSunset(epochDay, latitude, 10);
+						maxSize = Math.max(maxSize, SunsetCalculator.cachedYears());
+					}
+					return maxSize;
+				}));
+			}
+			for (final Future<Integer> result : results) {
+				Assert.assertTrue(result.get() <= SunsetCalculator.MAX_CACHED_YEARS, result.get().toString());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Assert.assertEquals(SunsetCalculator.cachedYears(), SunsetCalculator.MAX_CACHED_YEARS);
+		SunsetCalculator.clearCache();
+	}
+
+	@Test
+	public void tablesInUseStayCached() {
+		SunsetCalculator.clearCache();
+		final long epochDay = LocalDate.of(2017, 3, 20).toEpochDay();
+		SunsetCalculator.getSunset(epochDay, 35.69, 51.39);
+		for (int i = 0; i < 3 * SunsetCalculator.MAX_CACHED_YEARS; i++) {
+			SunsetCalculator.getSunset(epochDay, 35.69, 51.39);
+			SunsetCalculator.getSunset(epochDay + 366 * (i % 300), -40 + (i / 300) * 0.01, 20);
+		}
+		Assert.assertTrue(SunsetCalculator.isCached(epochDay, 35.69, 51.39));
+		Assert.assertFalse(SunsetCalculator.isCached(epochDay, -40, 20));
+		Assert.assertEquals(SunsetCalculator.cachedYears(), SunsetCalculator.MAX_CACHED_YEARS);
+		SunsetCalculator.clearCache();
+	}
+
+	@Test
+	public void badiDayStartsAtSunset() {
+		final long sunset = sunset(2017, 3, 19, 35.6892, 51.389);
+		Assert.assertFalse(SunsetCalculator.hasSunSet(sunset - 1, 35.6892, 51.389));
+		Assert.assertTrue(SunsetCalculator.hasSunSet(sunset, 35.6892, 51.389));
+		Assert.assertSame(BadiDate.createFromInstant(sunset - 1, 35.6892, 51.389), BadiDate.createFromBadiDate(173, 20, 19));
+		Assert.assertSame(BadiDate.createFromInstant(sunset, 35.6892, 51.389), BadiDate.createFromBadiDate(174, 1, 1));
+		// 23:30 UTC on March 19th is already March 20th in Tehran
+		Assert.assertSame(BadiDate.createFromInstant(utc(2017, 3, 19, 23, 30), 35.6892, 51.389), BadiDate.createFromBadiDate(174, 1, 1));
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Latitude has to be between -90 and 90.")
+	public void throwsExceptionOnInvalidLatitude() {
+		SunsetCalculator.hasSunSet(0, 90.5, 0);
+	}
+
+	@Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Longitude has to be between -180 and 180.")
+	public void throwsExceptionOnInvalidLongitude() {
+		SunsetCalculator.hasSunSet(0, 0, Double.NaN);
+	}
+
+}